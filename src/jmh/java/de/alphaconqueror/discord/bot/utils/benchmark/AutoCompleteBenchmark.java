@@ -0,0 +1,98 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.alphaconqueror.discord.bot.utils.benchmark;
+
+import de.alphaconqueror.discord.bot.utils.command.autocomplete.PrefixIndex;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import net.dv8tion.jda.api.interactions.commands.Command;
+import net.dv8tion.jda.api.interactions.commands.build.OptionData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Prefix lookups of autocomplete choices in large domains.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AutoCompleteBenchmark {
+
+    @Param({"1000", "100000", "500000"})
+    public int size;
+
+    private PrefixIndex index;
+
+    @Setup
+    public void setup() {
+        final PrefixIndex.Builder builder = PrefixIndex.builder();
+        final Random random = new Random(42);
+
+        for (int i = 0; i < this.size; i++) {
+            final StringBuilder name = new StringBuilder(12);
+
+            for (int j = 0; j < 12; j++) {
+                name.append((char) ('a' + random.nextInt(26)));
+            }
+
+            builder.add(name.toString(), i);
+        }
+
+        this.index = builder.build();
+    }
+
+    @Benchmark
+    public List<Command.Choice> empty() {
+        return this.index.search("", OptionData.MAX_CHOICES);
+    }
+
+    @Benchmark
+    public List<Command.Choice> shortPrefix() {
+        return this.index.search("K", OptionData.MAX_CHOICES);
+    }
+
+    @Benchmark
+    public List<Command.Choice> longPrefix() {
+        return this.index.search("kqz", OptionData.MAX_CHOICES);
+    }
+
+    @Benchmark
+    public List<Command.Choice> noMatch() {
+        return this.index.search("kqz!", OptionData.MAX_CHOICES);
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.alphaconqueror.discord.bot.utils.benchmark;
+
+import de.alphaconqueror.discord.bot.utils.DiscordBotClient;
+import de.alphaconqueror.discord.bot.utils.command.abstraction.AbstractCommand;
+import de.alphaconqueror.discord.bot.utils.command.builder.Commands;
+import de.alphaconqueror.discord.bot.utils.command.builder.RootCommandBuilder;
+import de.alphaconqueror.discord.bot.utils.command.builder.node.RootCommandNode;
+import de.alphaconqueror.discord.bot.utils.permission.DiscordPermission;
+import de.alphaconqueror.discord.bot.utils.simulator.SimulatedClient;
+import de.alphaconqueror.discord.bot.utils.simulator.SimulatedConfig;
+import de.alphaconqueror.discord.bot.utils.simulator.Stubs;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import net.dv8tion.jda.api.entities.Message;
+import net.dv8tion.jda.api.interactions.commands.OptionType;
+import net.dv8tion.jda.api.interactions.commands.build.CommandData;
+import net.dv8tion.jda.api.requests.restaction.WebhookMessageCreateAction;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.jetbrains.annotations.NotNull;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Creating the data of a command with subcommand groups, subcommands, options and choices.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CommandDataBenchmark {
+
+    private AbstractCommand command;
+
+    @Setup
+    public void setup() {
+        this.command = new SampleCommand(
+                new SimulatedClient(new SimulatedConfig(Collections.emptyMap(), 0)));
+    }
+
+    @Benchmark
+    public CommandData createData() {
+        return this.command.createData();
+    }
+
+    private static class SampleCommand extends AbstractCommand {
+
+        private static final WebhookMessageCreateAction<Message> ACTION = Stubs.messageAction();
+
+        private SampleCommand(@NonNull final DiscordBotClient client) {
+            super(client, "sample", "A sample command.");
+        }
+
+        @NonNull
+        @Override
+        protected RootCommandNode build(@NotNull final RootCommandBuilder data) {
+            return data.requires(DiscordPermission.TEST).then(
+                            Commands.subGroupCommand("group", "A group.").then(
+                                    Commands.subCommand("first", "A subcommand.").then(
+                                            Commands.option("type", "An option.",
+                                                            OptionType.STRING).required()
+                                                    .addChoice("A", context -> ACTION)
+                                                    .addChoice("B", context -> ACTION)))
+                                    .then(Commands.subCommand("second", "A subcommand.")
+                                            .executes(context -> ACTION)))
+                    .then(Commands.subCommand("third", "A subcommand.").then(
+                            Commands.option("count", "An option.", OptionType.INTEGER)
+                                    .executes(context -> ACTION))).build();
+        }
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.alphaconqueror.discord.bot.utils.benchmark;
+
+import de.alphaconqueror.discord.bot.utils.command.InteractionContext;
+import de.alphaconqueror.discord.bot.utils.command.abstraction.CommandResult;
+import de.alphaconqueror.discord.bot.utils.command.builder.Commands;
+import de.alphaconqueror.discord.bot.utils.command.builder.node.RootCommandNode;
+import de.alphaconqueror.discord.bot.utils.command.builder.node.SubcommandNode;
+import de.alphaconqueror.discord.bot.utils.simulator.SimulatedClient;
+import de.alphaconqueror.discord.bot.utils.simulator.SimulatedConfig;
+import de.alphaconqueror.discord.bot.utils.simulator.Stubs;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import net.dv8tion.jda.api.entities.Message;
+import net.dv8tion.jda.api.events.interaction.command.SlashCommandInteractionEvent;
+import net.dv8tion.jda.api.interactions.commands.OptionType;
+import net.dv8tion.jda.api.requests.restaction.WebhookMessageCreateAction;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Dispatching interactions through flat and deep command trees.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CommandTreeBenchmark {
+
+    private SimulatedClient client;
+    private RootCommandNode flat;
+    private RootCommandNode deep;
+    private SubcommandNode subcommand;
+    private SlashCommandInteractionEvent flatEvent;
+    private SlashCommandInteractionEvent deepEvent;
+
+    @Setup
+    public void setup() {
+        final WebhookMessageCreateAction<Message> action = Stubs.messageAction();
+
+        this.client = new SimulatedClient(new SimulatedConfig(Collections.emptyMap(), 0));
+        this.flat = Commands.slash("flat", "A flat command.").executes(context -> action)
+                .build();
+        this.deep = Commands.slash("deep", "A deep command.").then(
+                Commands.subGroupCommand("group", "A group.").then(
+                        Commands.subCommand("sub", "A subcommand.").then(
+                                Commands.option("type", "An option.", OptionType.STRING)
+                                        .required().addChoice("A", context -> action)
+                                        .addChoice("B", context -> action)
+                                        .addChoice("C", context -> action)))).build();
+        this.subcommand = this.deep.getSubcommandGroups().get("group").getSubcommands().get("sub");
+        this.flatEvent = Stubs.event("flat", null, null, null);
+        this.deepEvent = Stubs.event("deep", "group", "sub", null,
+                Stubs.option("type", OptionType.STRING, "c"));
+    }
+
+    @Benchmark
+    public CommandResult interactFlat() {
+        return this.flat.interact(new InteractionContext(this.client, this.flatEvent));
+    }
+
+    @Benchmark
+    public CommandResult interactDeep() {
+        return this.deep.interact(new InteractionContext(this.client, this.deepEvent));
+    }
+
+    @Benchmark
+    public CommandResult interactOptions() {
+        return this.subcommand.interactOptions(
+                new InteractionContext(this.client, this.deepEvent));
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.alphaconqueror.discord.bot.utils.benchmark;
+
+import de.alphaconqueror.discord.bot.utils.permission.DiscordPermission;
+import de.alphaconqueror.discord.bot.utils.permission.Permission;
+import de.alphaconqueror.discord.bot.utils.permission.PermissionManager;
+import de.alphaconqueror.discord.bot.utils.simulator.SimulatedClient;
+import de.alphaconqueror.discord.bot.utils.simulator.SimulatedConfig;
+import de.alphaconqueror.discord.bot.utils.simulator.Stubs;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import net.dv8tion.jda.api.entities.Guild;
+import net.dv8tion.jda.api.entities.Member;
+import net.dv8tion.jda.api.entities.Role;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Checking permissions of a member with many roles, of which only the last one grants the
+ * permission.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PermissionBenchmark {
+
+    @Param({"1", "16", "128"})
+    public int roles;
+
+    private PermissionManager cached;
+    private PermissionManager uncached;
+    private Guild guild;
+    private Member member;
+
+    @Setup
+    public void setup() {
+        final Map<Long, Set<Permission>> permissions = new HashMap<>();
+        final List<Role> roles = new ArrayList<>();
+
+        for (int i = 0; i < this.roles; i++) {
+            roles.add(Stubs.role(1000 + i));
+            permissions.put(1000L + i, Collections.singleton(
+                    i == this.roles - 1 ? DiscordPermission.SYNC : DiscordPermission.TEST));
+        }
+
+        this.cached = new SimulatedClient(new SimulatedConfig(permissions, 10_000))
+                .getPermissionManager();
+        this.uncached = new SimulatedClient(new SimulatedConfig(permissions, 0))
+                .getPermissionManager();
+        this.guild = Stubs.guild();
+        this.member = Stubs.member(this.guild, 42, roles);
+    }
+
+    @Benchmark
+    public boolean hasPermissionCached() {
+        return this.cached.hasPermission(this.guild, this.member, DiscordPermission.SYNC);
+    }
+
+    @Benchmark
+    public boolean hasPermissionUncached() {
+        return this.uncached.hasPermission(this.guild, this.member, DiscordPermission.SYNC);
+    }
+
+    @Benchmark
+    public boolean hasPermissionDenied() {
+        return this.uncached.hasPermission(this.guild, this.member, DiscordPermission.SHUTDOWN);
+    }
+}
@@ -27,15 +27,24 @@ package de.alphaconqueror.discord.bot.utils;
 import de.alphaconqueror.discord.bot.utils.config.ConfigFactory;
 import de.alphaconqueror.discord.bot.utils.logging.LoggerFactory;
 import de.alphaconqueror.discord.bot.utils.manager.DiscordManager;
+import de.alphaconqueror.discord.bot.utils.metrics.MetricsServer;
 import de.alphaconqueror.discord.bot.utils.permission.PermissionManager;
+import java.io.IOException;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
 import net.dv8tion.jda.api.JDA;
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.jetbrains.annotations.NotNull;
 
 public abstract class DiscordBotClient {
 
+    @Nullable
+    private volatile StartupTimings startupTimings;
+    @Nullable
+    private MetricsServer metricsServer;
+
     @NonNull
     public abstract PermissionManager getPermissionManager();
 
@@ -48,30 +57,53 @@ public abstract class DiscordBotClient {
     @NotNull
     public abstract ConfigFactory getConfig();
 
-    public void enable() {
+    /**
+     * Enables the bot. The commands are constructed while logging in and synchronized once
+     * both completed, the duration of each phase is recorded in the startup timings.
+     *
+     * @return the future completing once enabled
+     */
+    @NonNull
+    public CompletableFuture<Void> enable() {
         final Instant startupTime = Instant.now();
+        final StartupTimings timings = new StartupTimings();
+
+        this.startupTimings = timings;
         this.getLogger().info("Starting discord bot...");
 
-        this.onEnable();
+        timings.time(StartupPhase.CONFIG, this::onEnable);
+        this.startMetricsServer();
+
+        return this.getDiscordManager().start(timings).whenComplete((ignored, throwable) -> {
+            if (throwable != null) {
+                this.getLogger().severe("Could not enable.", throwable);
+                return;
+            }
 
-        final Duration timeTaken = Duration.between(startupTime, Instant.now());
-        this.getLogger().info("Successfully enabled. (took " + timeTaken.toMillis() + "ms)");
+            final Duration timeTaken = Duration.between(startupTime, Instant.now());
+            this.getLogger().info("Successfully enabled. (took {}ms; {})", timeTaken.toMillis(),
+                    timings);
+        });
     }
 
     public void disable() {
         this.getLogger().info("Starting shutdown process...");
+        this.stopMetricsServer();
         this.onDisable();
         this.getLogger().info("Goodbye!");
     }
 
-    public void restart() {
+    @NonNull
+    public CompletableFuture<Void> restart() {
         this.getLogger().info("Restarting...");
         this.disable();
-        this.enable();
+        return this.enable();
     }
 
     public void shutdown() {
         this.disable();
+        this.getDiscordManager().getCommandExecutor().shutdown();
+        this.getDiscordManager().getScheduler().shutdown();
 
         if (this.getDiscordManager().isJDAReady()) {
             this.getLogger().info("Shutting down JDA...");
@@ -93,7 +125,42 @@ public abstract class DiscordBotClient {
         }
     }
 
+    /**
+     * Gets the timings of the last startup.
+     *
+     * @return the startup timings, or null if not enabled yet
+     */
+    @Nullable
+    public StartupTimings getStartupTimings() {
+        return this.startupTimings;
+    }
+
     protected void onEnable() {}
 
+    protected void startMetricsServer() {
+        final ConfigFactory config = this.getConfig();
+
+        if (!config.isMetricsEnabled() || this.metricsServer != null) {
+            return;
+        }
+
+        try {
+            this.metricsServer =
+                    new MetricsServer(this, config.getMetricsHost(), config.getMetricsPort());
+            this.metricsServer.start();
+            this.getLogger().info("Serving metrics at http://{}:{}/metrics",
+                    config.getMetricsHost(), config.getMetricsPort());
+        } catch (final IOException e) {
+            this.getLogger().severe("Could not start the metrics server.", e);
+        }
+    }
+
+    protected void stopMetricsServer() {
+        if (this.metricsServer != null) {
+            this.metricsServer.stop();
+            this.metricsServer = null;
+        }
+    }
+
     protected void onDisable() {}
 }
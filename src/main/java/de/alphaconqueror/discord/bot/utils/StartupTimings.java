@@ -0,0 +1,100 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.alphaconqueror.discord.bot.utils;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * Records the duration of each {@link StartupPhase}.
+ */
+public class StartupTimings {
+
+    @NonNull
+    private final Map<StartupPhase, Duration> durations = new EnumMap<>(StartupPhase.class);
+
+    /**
+     * Runs a synchronous phase and records its duration.
+     *
+     * @param phase    the phase
+     * @param runnable the phase
+     */
+    public void time(@NonNull final StartupPhase phase, @NonNull final Runnable runnable) {
+        final long start = System.nanoTime();
+
+        try {
+            runnable.run();
+        } finally {
+            this.record(phase, Duration.ofNanos(System.nanoTime() - start));
+        }
+    }
+
+    /**
+     * Starts an asynchronous phase and records its duration once completed.
+     *
+     * @param phase    the phase
+     * @param supplier starts the phase
+     * @param <T>      the type of the result
+     * @return the future of the phase
+     */
+    @NonNull
+    public <T> CompletableFuture<T> time(@NonNull final StartupPhase phase,
+            @NonNull final Supplier<CompletableFuture<T>> supplier) {
+        final long start = System.nanoTime();
+
+        return supplier.get().whenComplete((result, throwable) -> this.record(phase,
+                Duration.ofNanos(System.nanoTime() - start)));
+    }
+
+    public synchronized void record(@NonNull final StartupPhase phase,
+            @NonNull final Duration duration) {
+        this.durations.put(phase, duration);
+    }
+
+    @NonNull
+    public synchronized Optional<Duration> get(@NonNull final StartupPhase phase) {
+        return Optional.ofNullable(this.durations.get(phase));
+    }
+
+    @NonNull
+    public synchronized Map<StartupPhase, Duration> getDurations() {
+        return new EnumMap<>(this.durations);
+    }
+
+    @Override
+    public synchronized String toString() {
+        return this.durations.entrySet().stream().map(entry ->
+                        entry.getKey().name().toLowerCase(Locale.ROOT) + ": "
+                                + entry.getValue().toMillis() + "ms")
+                .collect(Collectors.joining(", "));
+    }
+}
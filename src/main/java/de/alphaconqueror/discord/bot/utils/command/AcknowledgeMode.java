@@ -0,0 +1,48 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.alphaconqueror.discord.bot.utils.command;
+
+/**
+ * How slash command interactions are acknowledged.
+ */
+public enum AcknowledgeMode {
+
+    /**
+     * Every interaction is deferred immediately and answered through its hook.
+     */
+    DEFER,
+    /**
+     * Interactions are answered directly if the command completes within the acknowledge
+     * budget, otherwise they are deferred once the budget runs out.
+     * Direct replies keep the content, embeds, components, files and mention settings of the
+     * message, but not TTS or suppressed notifications.
+     */
+    ADAPTIVE,
+    /**
+     * Like {@link #ADAPTIVE}, but commands whose recent latency exceeds the acknowledge budget
+     * are deferred immediately.
+     */
+    PREDICTIVE
+}
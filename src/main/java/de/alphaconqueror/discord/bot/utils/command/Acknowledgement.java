@@ -0,0 +1,197 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.alphaconqueror.discord.bot.utils.command;
+
+import de.alphaconqueror.discord.bot.utils.metrics.CommandMetrics;
+import de.alphaconqueror.discord.bot.utils.metrics.CommandStage;
+import java.time.Duration;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import net.dv8tion.jda.api.entities.Message;
+import net.dv8tion.jda.api.entities.MessageEmbed;
+import net.dv8tion.jda.api.events.interaction.command.SlashCommandInteractionEvent;
+import net.dv8tion.jda.api.requests.RestAction;
+import net.dv8tion.jda.api.requests.restaction.WebhookMessageCreateAction;
+import net.dv8tion.jda.api.utils.messages.MessageCreateBuilder;
+import net.dv8tion.jda.api.utils.messages.MessageCreateData;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Acknowledges a slash command interaction exactly once.
+ * The response is either sent as a direct reply or, once the interaction has been deferred,
+ * through the interaction hook. All responses are ephemeral.
+ */
+public class Acknowledgement {
+
+    private static final int PENDING = 0;
+    private static final int REPLIED = 1;
+    private static final int DEFERRED = 2;
+
+    @NonNull
+    private final SlashCommandInteractionEvent event;
+    @Nullable
+    private final CommandMetrics metrics;
+    @NonNull
+    private final AtomicInteger state = new AtomicInteger(PENDING);
+    @Nullable
+    private volatile Future<?> deferral;
+
+    public Acknowledgement(@NonNull final SlashCommandInteractionEvent event) {
+        this(event, null);
+    }
+
+    /**
+     * Creates an acknowledgement recording the latencies of deferring and responding.
+     *
+     * @param event   the interaction event
+     * @param metrics the metrics of the command path, or null if not instrumented
+     */
+    public Acknowledgement(@NonNull final SlashCommandInteractionEvent event,
+            @Nullable final CommandMetrics metrics) {
+        this.event = event;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Defers the interaction, unless it has already been acknowledged.
+     */
+    public void defer() {
+        if (this.state.compareAndSet(PENDING, DEFERRED)) {
+            this.queue(this.event.deferReply(true), CommandStage.DEFER);
+        }
+    }
+
+    /**
+     * Defers the interaction once the budget runs out, unless a response has been sent until
+     * then.
+     *
+     * @param budget    the time to wait for a direct response
+     * @param scheduler the scheduler
+     */
+    public void deferAfter(@NonNull final Duration budget,
+            @NonNull final ScheduledExecutorService scheduler) {
+        this.deferral = scheduler.schedule(this::defer, budget.toNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Sends the response of a command function.
+     *
+     * @param message the message, created through the interaction hook
+     */
+    public void send(@NonNull final WebhookMessageCreateAction<Message> message) {
+        if (this.reply()) {
+            // same as IReplyCallback#reply, without casting to JDA's implementation
+            this.queue(this.event.deferReply(true).applyData(toData(message)),
+                    CommandStage.QUEUE);
+        } else {
+            this.queue(message, CommandStage.QUEUE);
+        }
+    }
+
+    /**
+     * Sends an embed as the response.
+     *
+     * @param embed the embed
+     */
+    public void sendEmbed(@NonNull final MessageEmbed embed) {
+        if (this.reply()) {
+            this.queue(this.event.replyEmbeds(embed).setEphemeral(true), CommandStage.QUEUE);
+        } else {
+            this.queue(this.event.getHook().sendMessageEmbeds(embed).setEphemeral(true),
+                    CommandStage.QUEUE);
+        }
+    }
+
+    /**
+     * If the interaction has been deferred.
+     *
+     * @return true, if deferred
+     */
+    public boolean isDeferred() {
+        return this.state.get() == DEFERRED;
+    }
+
+    @NonNull
+    public SlashCommandInteractionEvent getEvent() {
+        return this.event;
+    }
+
+    @Nullable
+    public CommandMetrics getMetrics() {
+        return this.metrics;
+    }
+
+    private void queue(@NonNull final RestAction<?> action, @NonNull final CommandStage stage) {
+        final CommandMetrics metrics = this.metrics;
+
+        if (metrics == null) {
+            action.queue();
+            return;
+        }
+
+        final long start = System.nanoTime();
+
+        action.queue(success -> metrics.recordSince(stage, start), failure -> {
+            metrics.recordSince(stage, start);
+            RestAction.getDefaultFailure().accept(failure);
+        });
+    }
+
+    private boolean reply() {
+        if (!this.state.compareAndSet(PENDING, REPLIED)) {
+            return false;
+        }
+
+        final Future<?> deferral = this.deferral;
+
+        if (deferral != null) {
+            deferral.cancel(false);
+        }
+
+        return true;
+    }
+
+    /**
+     * Copies the message of a command function to be sent as a direct reply.
+     * TTS and suppressed notifications cannot be read from the action and are not copied.
+     *
+     * @param message the message, created through the interaction hook
+     * @return the message data
+     */
+    @NonNull
+    private static MessageCreateData toData(
+            @NonNull final WebhookMessageCreateAction<Message> message) {
+        return new MessageCreateBuilder().setContent(message.getContent())
+                .setEmbeds(message.getEmbeds()).setComponents(message.getComponents())
+                .setFiles(message.getAttachments()).setSuppressEmbeds(message.isSuppressEmbeds())
+                .setAllowedMentions(message.getAllowedMentions())
+                .mentionUsers(message.getMentionedUsers())
+                .mentionRoles(message.getMentionedRoles())
+                .mentionRepliedUser(message.isMentionRepliedUser()).build();
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.alphaconqueror.discord.bot.utils.command;
+
+import de.alphaconqueror.discord.bot.utils.DiscordBotClient;
+import de.alphaconqueror.discord.bot.utils.metrics.CommandMetrics;
+import net.dv8tion.jda.api.entities.Member;
+import net.dv8tion.jda.api.events.interaction.command.CommandAutoCompleteInteractionEvent;
+import net.dv8tion.jda.api.interactions.commands.OptionMapping;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+public class AutoCompleteContext {
+
+    @NonNull
+    private final DiscordBotClient client;
+    @NonNull
+    private final CommandAutoCompleteInteractionEvent event;
+    @Nullable
+    private final CommandMetrics metrics;
+    @Nullable
+    private Member member;
+    private boolean memberResolved;
+
+    public AutoCompleteContext(@NonNull final DiscordBotClient client,
+            @NonNull final CommandAutoCompleteInteractionEvent event,
+            @Nullable final CommandMetrics metrics) {
+        this.client = client;
+        this.event = event;
+        this.metrics = metrics;
+    }
+
+    @NonNull
+    public DiscordBotClient getClient() {
+        return this.client;
+    }
+
+    @NonNull
+    public CommandAutoCompleteInteractionEvent getEvent() {
+        return this.event;
+    }
+
+    /**
+     * Gets the metrics of the command path.
+     *
+     * @return the metrics, or null if not instrumented
+     */
+    @Nullable
+    public CommandMetrics getMetrics() {
+        return this.metrics;
+    }
+
+    /**
+     * Gets the name of the option the user is typing in.
+     *
+     * @return the name of the focused option
+     */
+    @NonNull
+    public String getOptionName() {
+        return this.event.getFocusedOption().getName();
+    }
+
+    /**
+     * Gets what the user has typed so far.
+     *
+     * @return the value of the focused option
+     */
+    @NonNull
+    public String getValue() {
+        return this.event.getFocusedOption().getValue();
+    }
+
+    /**
+     * Gets another option the user has already filled in.
+     *
+     * @param name the name of the option
+     * @return the option mapping, or null if not filled in
+     */
+    @Nullable
+    public OptionMapping getOption(@NonNull final String name) {
+        return this.event.getOption(name);
+    }
+
+    /**
+     * Gets the member of the configured guild who is typing.
+     * The member is resolved on first access.
+     *
+     * @return the member, or null if the configured guild could not be found
+     */
+    @Nullable
+    public Member getMember() {
+        if (!this.memberResolved) {
+            this.member = this.client.getPermissionManager().resolveMember(this.event);
+            this.memberResolved = true;
+        }
+
+        return this.member;
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.alphaconqueror.discord.bot.utils.command;
+
+import com.google.common.collect.ImmutableMap;
+import de.alphaconqueror.discord.bot.utils.command.abstraction.AbstractCommand;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import net.dv8tion.jda.api.events.interaction.command.CommandAutoCompleteInteractionEvent;
+import net.dv8tion.jda.api.events.interaction.command.SlashCommandInteractionEvent;
+import net.dv8tion.jda.api.hooks.ListenerAdapter;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * The single listener routing slash command and autocomplete interactions to their commands.
+ * Registered commands are held in an immutable table which is swapped on every change, so
+ * routing an interaction is a single lock-free lookup.
+ */
+public class CommandRouter extends ListenerAdapter {
+
+    @NonNull
+    private volatile Map<String, AbstractCommand> commands = ImmutableMap.of();
+
+    @Override
+    public void onSlashCommandInteraction(@NotNull final SlashCommandInteractionEvent event) {
+        final AbstractCommand command = this.commands.get(event.getName());
+
+        if (command != null) {
+            command.onSlashCommandInteraction(event);
+        }
+    }
+
+    @Override
+    public void onCommandAutoCompleteInteraction(
+            @NotNull final CommandAutoCompleteInteractionEvent event) {
+        final AbstractCommand command = this.commands.get(event.getName());
+
+        if (command != null) {
+            command.onCommandAutoCompleteInteraction(event);
+        }
+    }
+
+    /**
+     * Adds commands to the routing table.
+     *
+     * @param commands the commands to add
+     */
+    public synchronized void register(@NonNull final Collection<AbstractCommand> commands) {
+        final Map<String, AbstractCommand> table = new HashMap<>(this.commands);
+
+        for (final AbstractCommand command : commands) {
+            table.put(command.getName(), command);
+        }
+
+        this.commands = ImmutableMap.copyOf(table);
+    }
+
+    /**
+     * Removes commands from the routing table.
+     *
+     * @param commands the commands to remove
+     */
+    public synchronized void unregister(@NonNull final Collection<AbstractCommand> commands) {
+        final Map<String, AbstractCommand> table = new HashMap<>(this.commands);
+
+        for (final AbstractCommand command : commands) {
+            table.remove(command.getName(), command);
+        }
+
+        this.commands = ImmutableMap.copyOf(table);
+    }
+
+    /**
+     * Gets the command registered for a name.
+     *
+     * @param name the name
+     * @return the command, or null if none is registered
+     */
+    @Nullable
+    public AbstractCommand getCommand(@NonNull final String name) {
+        return this.commands.get(name);
+    }
+
+    /**
+     * Gets a snapshot of the routing table.
+     *
+     * @return the registered commands by name
+     */
+    @NonNull
+    public Map<String, AbstractCommand> getCommands() {
+        return this.commands;
+    }
+}
@@ -25,9 +25,12 @@
 package de.alphaconqueror.discord.bot.utils.command;
 
 import de.alphaconqueror.discord.bot.utils.DiscordBotClient;
+import de.alphaconqueror.discord.bot.utils.metrics.CommandMetrics;
+import net.dv8tion.jda.api.entities.Member;
 import net.dv8tion.jda.api.events.interaction.command.SlashCommandInteractionEvent;
 import net.dv8tion.jda.api.interactions.commands.OptionMapping;
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.jetbrains.annotations.NotNull;
 
 public class InteractionContext {
@@ -36,11 +39,25 @@ public class InteractionContext {
     private final DiscordBotClient client;
     @NonNull
     private final SlashCommandInteractionEvent event;
+    @Nullable
+    private final CommandMetrics metrics;
+    @Nullable
+    private Member member;
+    private boolean memberResolved;
+    // read once the response has been created or the deadline expired, on another thread
+    private volatile long @Nullable [] circuitPermits;
 
     public InteractionContext(@NotNull final DiscordBotClient client,
             final @NotNull SlashCommandInteractionEvent event) {
+        this(client, event, null);
+    }
+
+    public InteractionContext(@NotNull final DiscordBotClient client,
+            final @NotNull SlashCommandInteractionEvent event,
+            @Nullable final CommandMetrics metrics) {
         this.client = client;
         this.event = event;
+        this.metrics = metrics;
     }
 
     public @NonNull DiscordBotClient getClient() {
@@ -52,6 +69,45 @@ public class InteractionContext {
         return this.event;
     }
 
+    /**
+     * Gets the metrics of the invoked command path.
+     *
+     * @return the metrics, or null if not instrumented
+     */
+    @Nullable
+    public CommandMetrics getMetrics() {
+        return this.metrics;
+    }
+
+    /**
+     * Gets the member of the configured guild who triggered the interaction.
+     * The member is resolved on first access and reused for every further permission check.
+     *
+     * @return the member, or null if the configured guild could not be found
+     */
+    @Nullable
+    public Member getMember() {
+        if (!this.memberResolved) {
+            this.member = this.client.getPermissionManager().resolveMember(this.event);
+            this.memberResolved = true;
+        }
+
+        return this.member;
+    }
+
+    /**
+     * Gets the permits the circuit breakers of the invoked path granted the interaction.
+     *
+     * @return the permits, or null if the circuit breakers have not been acquired
+     */
+    public long @Nullable [] getCircuitPermits() {
+        return this.circuitPermits;
+    }
+
+    public void setCircuitPermits(final long @Nullable [] circuitPermits) {
+        this.circuitPermits = circuitPermits;
+    }
+
     @NonNull
     public OptionMapping getOption(@NonNull final String name) {
         final OptionMapping option = this.event.getOption(name);
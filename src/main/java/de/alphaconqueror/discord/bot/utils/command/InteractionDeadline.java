@@ -0,0 +1,174 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.alphaconqueror.discord.bot.utils.command;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * The deadline of a command interaction. Either the command completes or the deadline expires,
+ * whichever comes first, the other one is discarded.
+ * On expiry, the thread applying a command function is interrupted and the response future of
+ * an asynchronous command function is cancelled, which interrupts the function on the command
+ * executor and cancels the future it returned. Work which ignores both keeps running, but its
+ * result is discarded.
+ * In {@link de.alphaconqueror.discord.bot.utils.concurrent.ExecutionMode#EVENT_THREAD} mode,
+ * synchronous functions run on the JDA event thread, which is never interrupted, so they always
+ * run to completion.
+ */
+public class InteractionDeadline {
+
+    /**
+     * The time an interaction can be responded to, after which its token expires.
+     */
+    public static final Duration TOKEN_LIFETIME = Duration.ofMinutes(15);
+
+    private static final int PENDING = 0;
+    private static final int COMPLETED = 1;
+    private static final int EXPIRED = 2;
+
+    @NonNull
+    private final AtomicInteger state = new AtomicInteger(PENDING);
+    private final boolean interruptible;
+    // the thread applying a command function, guarded by this
+    @Nullable
+    private Thread worker;
+    @Nullable
+    private volatile Future<?> work;
+    @Nullable
+    private volatile Future<?> timer;
+
+    /**
+     * Creates a deadline.
+     *
+     * @param interruptible if the thread applying a command function may be interrupted, i.e.
+     *                      it is not a JDA thread
+     */
+    public InteractionDeadline(final boolean interruptible) {
+        this.interruptible = interruptible;
+    }
+
+    /**
+     * Starts the deadline.
+     *
+     * @param timeout   the time until the deadline expires
+     * @param scheduler the scheduler
+     * @param onExpiry  executed on the scheduler if the deadline expires
+     */
+    public void start(@NonNull final Duration timeout,
+            @NonNull final ScheduledExecutorService scheduler,
+            @NonNull final Runnable onExpiry) {
+        this.timer = scheduler.schedule(() -> {
+            if (this.expire()) {
+                onExpiry.run();
+            }
+        }, timeout.toNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Marks the current thread as applying the command function.
+     */
+    public synchronized void enter() {
+        if (this.interruptible) {
+            this.worker = Thread.currentThread();
+        }
+    }
+
+    /**
+     * Marks the current thread as done applying the command function. An interrupt caused by
+     * the deadline is cleared, so it does not leak into the next task of the thread.
+     */
+    public void exit() {
+        synchronized (this) {
+            this.worker = null;
+        }
+
+        if (this.state.get() == EXPIRED) {
+            Thread.interrupted();
+        }
+    }
+
+    /**
+     * Watches the response future of the command function, which is cancelled on expiry.
+     *
+     * @param work the response future
+     */
+    public void watch(@NonNull final CompletableFuture<?> work) {
+        this.work = work;
+
+        if (this.state.get() == EXPIRED) {
+            work.cancel(true);
+        }
+    }
+
+    /**
+     * Completes the interaction before the deadline.
+     *
+     * @return true, if completed in time, false if the deadline has already expired
+     */
+    public boolean complete() {
+        if (!this.state.compareAndSet(PENDING, COMPLETED)) {
+            return false;
+        }
+
+        final Future<?> timer = this.timer;
+
+        if (timer != null) {
+            timer.cancel(false);
+        }
+
+        return true;
+    }
+
+    public boolean isExpired() {
+        return this.state.get() == EXPIRED;
+    }
+
+    private boolean expire() {
+        if (!this.state.compareAndSet(PENDING, EXPIRED)) {
+            return false;
+        }
+
+        synchronized (this) {
+            if (this.worker != null) {
+                this.worker.interrupt();
+            }
+        }
+
+        final Future<?> work = this.work;
+
+        if (work != null) {
+            work.cancel(true);
+        }
+
+        return true;
+    }
+}
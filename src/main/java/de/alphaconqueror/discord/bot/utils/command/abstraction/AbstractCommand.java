@@ -25,20 +25,51 @@
 package de.alphaconqueror.discord.bot.utils.command.abstraction;
 
 import de.alphaconqueror.discord.bot.utils.DiscordBotClient;
+import de.alphaconqueror.discord.bot.utils.command.AcknowledgeMode;
+import de.alphaconqueror.discord.bot.utils.command.Acknowledgement;
+import de.alphaconqueror.discord.bot.utils.command.AutoCompleteContext;
 import de.alphaconqueror.discord.bot.utils.command.CommandErrorException;
 import de.alphaconqueror.discord.bot.utils.command.InteractionContext;
+import de.alphaconqueror.discord.bot.utils.command.InteractionDeadline;
+import de.alphaconqueror.discord.bot.utils.command.breaker.CircuitOpenException;
 import de.alphaconqueror.discord.bot.utils.command.builder.Commands;
 import de.alphaconqueror.discord.bot.utils.command.builder.RootCommandBuilder;
+import de.alphaconqueror.discord.bot.utils.command.builder.node.DispatchTable;
 import de.alphaconqueror.discord.bot.utils.command.builder.node.RootCommandNode;
+import de.alphaconqueror.discord.bot.utils.command.ratelimit.RateLimitedException;
+import de.alphaconqueror.discord.bot.utils.concurrent.AdmissionLimit;
+import de.alphaconqueror.discord.bot.utils.concurrent.ExecutionMode;
+import de.alphaconqueror.discord.bot.utils.config.ConfigFactory;
+import de.alphaconqueror.discord.bot.utils.manager.DiscordManager;
+import de.alphaconqueror.discord.bot.utils.metrics.CommandMetrics;
+import de.alphaconqueror.discord.bot.utils.metrics.CommandStage;
 import de.alphaconqueror.discord.bot.utils.permission.NoPermissionException;
 import de.alphaconqueror.discord.bot.utils.util.Embeds;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import net.dv8tion.jda.api.events.interaction.command.CommandAutoCompleteInteractionEvent;
 import net.dv8tion.jda.api.events.interaction.command.SlashCommandInteractionEvent;
 import net.dv8tion.jda.api.exceptions.PermissionException;
 import net.dv8tion.jda.api.hooks.ListenerAdapter;
+import net.dv8tion.jda.api.interactions.commands.Command;
 import net.dv8tion.jda.api.interactions.commands.build.CommandData;
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.jetbrains.annotations.NotNull;
 
+/**
+ * A slash command. Commands are dispatched by the
+ * {@link de.alphaconqueror.discord.bot.utils.command.CommandRouter} and are not registered as
+ * JDA listeners themselves anymore.
+ *
+ * <p>The class still extends {@link ListenerAdapter} so that existing subclasses keep
+ * compiling. Using a command as a listener is deprecated: other callbacks are only invoked if
+ * the command is added to JDA by hand, and a command added that way must not also be routed,
+ * or its slash interactions run twice.
+ */
 public abstract class AbstractCommand extends ListenerAdapter {
 
     @NonNull
@@ -50,6 +81,10 @@ public abstract class AbstractCommand extends ListenerAdapter {
     @NonNull
     protected final RootCommandNode rootCommandNode;
     protected final boolean keep;
+    @NonNull
+    protected final AdmissionLimit admission;
+    // average latency of the command in nanoseconds
+    private volatile long averageLatency;
 
     public AbstractCommand(final @NonNull DiscordBotClient client, @NonNull final String name,
             @NonNull final String description) {
@@ -63,31 +98,92 @@ public abstract class AbstractCommand extends ListenerAdapter {
         this.description = description;
         this.rootCommandNode = this.build(Commands.slash(this.name, this.description));
         this.keep = keep;
+        this.admission = new AdmissionLimit(this.rootCommandNode.getMaxPending() > 0
+                ? this.rootCommandNode.getMaxPending()
+                : client.getConfig().getMaxPendingInteractionsPerCommand());
     }
 
+    /**
+     * Executed on slash interaction. Interactions are routed to their command by the
+     * {@link de.alphaconqueror.discord.bot.utils.command.CommandRouter}.
+     * Off the event thread, the interactions of a guild start in the order they were received,
+     * unless the command is stateless. Asynchronous command functions may still complete in
+     * any order. Interactions exceeding the admission limits or guarded by an open circuit
+     * breaker are rejected right away.
+     *
+     * @param event the interaction event
+     */
     @Override
     public void onSlashCommandInteraction(@NotNull final SlashCommandInteractionEvent event) {
-        if (event.getName().equals(this.name)) {
-            // acknowledge interaction
-            event.deferReply(true).submit();
+        if (!event.getName().equals(this.name)) {
+            return;
+        }
 
-            try {
-                final CommandResult result = this.rootCommandNode.interact(
-                        new InteractionContext(this.client, event));
+        final DiscordManager discordManager = this.client.getDiscordManager();
+        final Acknowledgement acknowledgement = new Acknowledgement(event,
+                discordManager.getMetrics().getCommand(DispatchTable.path(event)));
 
-                result.getMessage().queue();
-                result.executeAfter();
-            } catch (final CommandErrorException e) {
-                event.getHook().sendMessageEmbeds(Embeds.AN_ERROR_OCCURRED.get()).setEphemeral(true)
-                        .queue();
-                this.client.getLogger().severe("Caught an exception during command execution. ", e);
-            } catch (final NoPermissionException e) {
-                event.getHook().sendMessageEmbeds(Embeds.NO_PERMISSION.apply(e.getPermission()))
-                        .setEphemeral(true).queue();
-            } catch (final PermissionException e) {
-                event.getHook().sendMessageEmbeds(Embeds.BOT_NO_PERMISSION.apply(e.getPermission()))
-                        .setEphemeral(true).queue();
+        if (!this.admit(acknowledgement)) {
+            return;
+        }
+
+        if (this.isShortCircuited(acknowledgement)) {
+            this.release();
+            this.handleException(acknowledgement, new CircuitOpenException());
+            return;
+        }
+
+        // acknowledge interaction
+        this.acknowledge(acknowledgement);
+
+        if (discordManager.getExecutionMode() == ExecutionMode.EVENT_THREAD) {
+            this.interact(acknowledgement);
+            return;
+        }
+
+        final Runnable task = () -> this.interact(acknowledgement);
+
+        try {
+            if (this.rootCommandNode.isStateless()) {
+                discordManager.getCommandExecutor().execute(task);
+            } else {
+                // interactions of a guild, or of a user in direct messages, run in order
+                discordManager.getCommandStripes().execute(event.getGuild() == null
+                        ? event.getUser().getIdLong() : event.getGuild().getIdLong(), task);
             }
+        } catch (final RejectedExecutionException e) {
+            this.release();
+            this.handleException(acknowledgement, e);
+        }
+    }
+
+    /**
+     * Executed on autocomplete interaction, routed by the
+     * {@link de.alphaconqueror.discord.bot.utils.command.CommandRouter} as well.
+     * The choices are computed in the same execution mode as slash interactions.
+     *
+     * @param event the autocomplete event
+     */
+    @Override
+    public void onCommandAutoCompleteInteraction(
+            @NotNull final CommandAutoCompleteInteractionEvent event) {
+        if (!event.getName().equals(this.name)) {
+            return;
+        }
+
+        final DiscordManager discordManager = this.client.getDiscordManager();
+        final AutoCompleteContext context = new AutoCompleteContext(this.client, event,
+                discordManager.getMetrics().getCommand(DispatchTable.path(event)));
+
+        if (discordManager.getExecutionMode() == ExecutionMode.EVENT_THREAD) {
+            this.complete(context);
+            return;
+        }
+
+        try {
+            discordManager.getCommandExecutor().execute(() -> this.complete(context));
+        } catch (final RejectedExecutionException e) {
+            event.replyChoices(Collections.emptyList()).queue();
         }
     }
 
@@ -101,10 +197,364 @@ public abstract class AbstractCommand extends ListenerAdapter {
         return this.name;
     }
 
+    @NonNull
+    public RootCommandNode getRootCommandNode() {
+        return this.rootCommandNode;
+    }
+
     public boolean keep() {
         return this.keep;
     }
 
+    /**
+     * Gets the limit of pending interactions of the command.
+     *
+     * @return the admission limit
+     */
+    @NonNull
+    public AdmissionLimit getAdmission() {
+        return this.admission;
+    }
+
+    protected void acknowledge(@NonNull final Acknowledgement acknowledgement) {
+        final ConfigFactory config = this.client.getConfig();
+        final AcknowledgeMode mode = config.getAcknowledgeMode();
+        final Duration budget = config.getAcknowledgeBudget();
+
+        if (mode == AcknowledgeMode.DEFER || (mode == AcknowledgeMode.PREDICTIVE
+                && this.averageLatency > budget.toNanos())) {
+            acknowledgement.defer();
+        } else {
+            acknowledgement.deferAfter(budget, this.client.getDiscordManager().getScheduler());
+        }
+    }
+
+    protected void interact(@NonNull final Acknowledgement acknowledgement) {
+        final long start = System.nanoTime();
+        final InteractionContext context = new InteractionContext(this.client,
+                acknowledgement.getEvent(), acknowledgement.getMetrics());
+        final DispatchTable.Entry entry;
+        final InteractionDeadline deadline;
+
+        try {
+            entry = this.resolveGuarded(acknowledgement);
+            deadline = entry == null ? null
+                    : this.startDeadline(acknowledgement, context, entry, start);
+        } catch (final RuntimeException e) {
+            this.release();
+            this.handleException(acknowledgement, e);
+            return;
+        }
+
+        try {
+            final CommandResult result = this.apply(context, deadline);
+            final InteractionDeadline expiry = deadline != null
+                    || result.getMessageFuture().isDone() ? deadline
+                    : this.startExpiry(acknowledgement, context, entry, result, start);
+
+            result.getMessageFuture().whenComplete((message, throwable) -> {
+                // the timeout has been responded to, the late result is discarded
+                if (expiry != null && !expiry.complete()) {
+                    return;
+                }
+
+                final long latency = System.nanoTime() - start;
+                final Throwable cause =
+                        throwable instanceof CompletionException && throwable.getCause() != null
+                                ? throwable.getCause() : throwable;
+
+                this.recordLatency(acknowledgement, latency);
+                this.release();
+
+                if (entry != null) {
+                    entry.record(context, cause, latency);
+                }
+
+                if (cause != null) {
+                    this.handleException(acknowledgement, cause);
+                    return;
+                }
+
+                acknowledgement.send(message);
+                result.executeAfter();
+            });
+        } catch (final RuntimeException e) {
+            if (deadline != null && !deadline.complete()) {
+                return;
+            }
+
+            this.release();
+
+            if (entry != null) {
+                entry.record(context, e, System.nanoTime() - start);
+            }
+
+            this.handleException(acknowledgement, e);
+        }
+    }
+
+    /**
+     * Responds to an interaction whose deadline expired.
+     * Executed on the scheduler, so it must not block.
+     *
+     * @param acknowledgement the acknowledgement of the interaction
+     * @param start           the start of the interaction, as of {@link System#nanoTime()}
+     */
+    protected void handleTimeout(@NonNull final Acknowledgement acknowledgement,
+            final long start) {
+        final CommandMetrics metrics = acknowledgement.getMetrics();
+        final long latency = System.nanoTime() - start;
+
+        if (metrics != null) {
+            metrics.record(CommandStage.TIMEOUT, latency);
+        }
+
+        this.recordLatency(acknowledgement, latency);
+        this.release();
+        acknowledgement.sendEmbed(Embeds.TIMED_OUT.get());
+    }
+
+    /**
+     * Admits an interaction if neither the limit of the command nor the global limit has been
+     * reached, otherwise responds that the bot is overloaded.
+     * Admitted interactions are released once their response has been created, or at the
+     * latest once their interaction token expired.
+     *
+     * @param acknowledgement the acknowledgement of the interaction
+     * @return true, if admitted
+     */
+    protected boolean admit(@NonNull final Acknowledgement acknowledgement) {
+        final AdmissionLimit global = this.client.getDiscordManager().getAdmission();
+        final CommandMetrics metrics = acknowledgement.getMetrics();
+
+        if (this.admission.tryAcquire()) {
+            if (global.tryAcquire()) {
+                if (metrics != null) {
+                    metrics.incrementAdmitted();
+                }
+
+                return true;
+            }
+
+            this.admission.release();
+        }
+
+        if (metrics != null) {
+            metrics.incrementRejected();
+        }
+
+        acknowledgement.sendEmbed(Embeds.OVERLOADED.get());
+        return false;
+    }
+
+    /**
+     * Checks if a circuit breaker of the path of an interaction is open, before acknowledging
+     * it. Unresolvable interactions are reported once interacted with.
+     *
+     * @param acknowledgement the acknowledgement of the interaction
+     * @return true, if the interaction fails fast
+     */
+    private boolean isShortCircuited(@NonNull final Acknowledgement acknowledgement) {
+        final DispatchTable dispatchTable = this.rootCommandNode.getDispatchTable();
+
+        if (!dispatchTable.hasCircuitBreakers()) {
+            return false;
+        }
+
+        try {
+            return !dispatchTable.resolve(acknowledgement.getEvent())
+                    .isCallPermitted(System.nanoTime());
+        } catch (final CommandErrorException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Resolves the entry of an interaction, if the command has paths guarded by a timeout or
+     * circuit breaker.
+     *
+     * @param acknowledgement the acknowledgement of the interaction
+     * @return the entry, or null if the command has no guarded paths
+     */
+    private DispatchTable.Entry resolveGuarded(@NonNull final Acknowledgement acknowledgement) {
+        final DispatchTable dispatchTable = this.rootCommandNode.getDispatchTable();
+
+        return dispatchTable.hasTimeouts() || dispatchTable.hasCircuitBreakers()
+                ? dispatchTable.resolve(acknowledgement.getEvent()) : null;
+    }
+
+    /**
+     * Starts the deadline of an interaction, if its path has a timeout.
+     *
+     * @param acknowledgement the acknowledgement of the interaction
+     * @param context         the context of the interaction
+     * @param entry           the entry of the interaction
+     * @param start           the start of the interaction, as of {@link System#nanoTime()}
+     * @return the deadline, or null if the path has no timeout
+     */
+    @Nullable
+    private InteractionDeadline startDeadline(@NonNull final Acknowledgement acknowledgement,
+            @NonNull final InteractionContext context, final DispatchTable.Entry entry,
+            final long start) {
+        final Duration timeout = entry.getTimeout();
+
+        if (timeout == null) {
+            return null;
+        }
+
+        final DiscordManager discordManager = this.client.getDiscordManager();
+        // the event thread belongs to JDA and must not be interrupted
+        final InteractionDeadline deadline = new InteractionDeadline(
+                discordManager.getExecutionMode() != ExecutionMode.EVENT_THREAD);
+
+        deadline.start(timeout, discordManager.getScheduler(), () -> {
+            entry.recordTimeout(context);
+            this.handleTimeout(acknowledgement, start);
+        });
+        return deadline;
+    }
+
+    /**
+     * Starts a deadline at the expiry of the interaction token for an asynchronous response
+     * without a timeout, so the permits of the interaction are released even if its response
+     * never completes. The response cannot be sent anymore once the token expired.
+     *
+     * @param acknowledgement the acknowledgement of the interaction
+     * @param context         the context of the interaction
+     * @param entry           the entry of the interaction, if resolved
+     * @param result          the pending result of the interaction
+     * @param start           the start of the interaction, as of {@link System#nanoTime()}
+     * @return the deadline
+     */
+    @NonNull
+    private InteractionDeadline startExpiry(@NonNull final Acknowledgement acknowledgement,
+            @NonNull final InteractionContext context, final DispatchTable.Entry entry,
+            @NonNull final CommandResult result, final long start) {
+        final InteractionDeadline expiry = new InteractionDeadline(false);
+
+        expiry.start(InteractionDeadline.TOKEN_LIFETIME,
+                this.client.getDiscordManager().getScheduler(), () -> {
+                    final CommandMetrics metrics = acknowledgement.getMetrics();
+
+                    if (metrics != null) {
+                        metrics.record(CommandStage.TIMEOUT, System.nanoTime() - start);
+                    }
+
+                    if (entry != null) {
+                        entry.recordTimeout(context);
+                    }
+
+                    this.release();
+                    this.client.getLogger().warn("Response of /{} did not complete before "
+                            + "the interaction expired.", DispatchTable.path(context.getEvent()));
+                });
+        expiry.watch(result.getMessageFuture());
+        return expiry;
+    }
+
+    @NonNull
+    private CommandResult apply(@NonNull final InteractionContext context,
+            @Nullable final InteractionDeadline deadline) {
+        if (deadline == null) {
+            return this.rootCommandNode.interact(context);
+        }
+
+        final CommandResult result;
+
+        deadline.enter();
+
+        try {
+            result = this.rootCommandNode.interact(context);
+        } finally {
+            deadline.exit();
+        }
+
+        deadline.watch(result.getMessageFuture());
+        return result;
+    }
+
+    private void release() {
+        this.admission.release();
+        this.client.getDiscordManager().getAdmission().release();
+    }
+
+    protected void complete(@NonNull final AutoCompleteContext context) {
+        final CommandMetrics metrics = context.getMetrics();
+        final long start = System.nanoTime();
+        List<Command.Choice> choices;
+
+        try {
+            choices = this.rootCommandNode.getDispatchTable().complete(context);
+        } catch (final RuntimeException e) {
+            choices = Collections.emptyList();
+
+            if (metrics != null) {
+                metrics.incrementErrors();
+            }
+
+            this.client.getLogger().severe("Caught an exception during autocompletion. ", e);
+        }
+
+        if (metrics != null) {
+            metrics.recordSince(CommandStage.AUTOCOMPLETE, start);
+        }
+
+        context.getEvent().replyChoices(choices).queue();
+    }
+
+    protected void handleException(@NonNull final Acknowledgement acknowledgement,
+            @NonNull final Throwable throwable) {
+        final CommandMetrics metrics = acknowledgement.getMetrics();
+
+        if (metrics != null) {
+            if (throwable instanceof NoPermissionException) {
+                metrics.incrementDenied();
+            } else if (throwable instanceof RateLimitedException) {
+                metrics.incrementRateLimited();
+            } else if (throwable instanceof CircuitOpenException) {
+                metrics.incrementShortCircuited();
+            } else if (throwable instanceof RejectedExecutionException) {
+                metrics.incrementRejected();
+            } else {
+                metrics.incrementErrors();
+            }
+        }
+
+        if (throwable instanceof NoPermissionException) {
+            acknowledgement.sendEmbed(Embeds.NO_PERMISSION.apply(
+                    ((NoPermissionException) throwable).getPermission()));
+        } else if (throwable instanceof RateLimitedException) {
+            acknowledgement.sendEmbed(Embeds.RATE_LIMITED.apply(
+                    ((RateLimitedException) throwable).getRetryAfter()));
+        } else if (throwable instanceof CircuitOpenException) {
+            acknowledgement.sendEmbed(Embeds.UNAVAILABLE);
+        } else if (throwable instanceof RejectedExecutionException) {
+            // the executor is saturated or shutting down, not an error of the command
+            acknowledgement.sendEmbed(Embeds.OVERLOADED.get());
+        } else if (throwable instanceof PermissionException) {
+            acknowledgement.sendEmbed(Embeds.BOT_NO_PERMISSION.apply(
+                    ((PermissionException) throwable).getPermission()));
+        } else {
+            acknowledgement.sendEmbed(Embeds.AN_ERROR_OCCURRED.get());
+            this.client.getLogger()
+                    .severe("Caught an exception during command execution. ", throwable);
+        }
+    }
+
+    private void recordLatency(@NonNull final Acknowledgement acknowledgement,
+            final long latency) {
+        final CommandMetrics metrics = acknowledgement.getMetrics();
+
+        if (metrics != null) {
+            metrics.record(CommandStage.INTERACT, latency);
+        }
+
+        // exponentially weighted moving average, races only lose single samples
+        final long average = this.averageLatency;
+
+        this.averageLatency = average == 0 ? latency : average + (latency - average) / 8;
+    }
+
     @NonNull
     protected RootCommandNode build(@NotNull final RootCommandBuilder data) {
         return data.build();
@@ -0,0 +1,42 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.alphaconqueror.discord.bot.utils.command.abstraction;
+
+import de.alphaconqueror.discord.bot.utils.command.AutoCompleteContext;
+import java.util.List;
+import net.dv8tion.jda.api.interactions.commands.Command;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * Computes the choices suggested for an autocompletable option while the user is typing.
+ * It is invoked on every keystroke and has to answer within Discord's deadline of three
+ * seconds, see {@link de.alphaconqueror.discord.bot.utils.command.autocomplete.PrefixIndex}
+ * for large domains. Only the first 25 choices are sent.
+ */
+@FunctionalInterface
+public interface AutoCompleteFunction {
+
+    @NonNull List<Command.Choice> complete(@NonNull AutoCompleteContext context);
+}
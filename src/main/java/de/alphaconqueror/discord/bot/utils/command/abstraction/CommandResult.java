@@ -24,6 +24,7 @@
 
 package de.alphaconqueror.discord.bot.utils.command.abstraction;
 
+import java.util.concurrent.CompletableFuture;
 import net.dv8tion.jda.api.entities.Message;
 import net.dv8tion.jda.api.requests.restaction.WebhookMessageCreateAction;
 import org.checkerframework.checker.nullness.qual.NonNull;
@@ -33,21 +34,41 @@ import org.jetbrains.annotations.NotNull;
 public class CommandResult {
 
     @NonNull
-    private final WebhookMessageCreateAction<Message> message;
+    private final CompletableFuture<WebhookMessageCreateAction<Message>> message;
     @Nullable
     private Runnable executeAfter;
 
     public CommandResult(@NonNull final WebhookMessageCreateAction<Message> message,
             @Nullable final Runnable executeAfter) {
-        this.message = message;
-        this.executeAfter = executeAfter;
+        this(CompletableFuture.completedFuture(message), executeAfter);
     }
 
     public CommandResult(@NonNull final WebhookMessageCreateAction<Message> message) {
+        this.message = CompletableFuture.completedFuture(message);
+    }
+
+    public CommandResult(
+            @NonNull final CompletableFuture<WebhookMessageCreateAction<Message>> message,
+            @Nullable final Runnable executeAfter) {
         this.message = message;
+        this.executeAfter = executeAfter;
     }
 
+    /**
+     * Gets the resulting message, waits for the function to complete if it is asynchronous.
+     *
+     * @return the message
+     */
     public @NotNull WebhookMessageCreateAction<Message> getMessage() {
+        return this.message.join();
+    }
+
+    /**
+     * Gets the resulting message, which completes once the function completed.
+     *
+     * @return the future message
+     */
+    public @NotNull CompletableFuture<WebhookMessageCreateAction<Message>> getMessageFuture() {
         return this.message;
     }
 
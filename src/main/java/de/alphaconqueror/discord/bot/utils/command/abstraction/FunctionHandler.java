@@ -24,7 +24,12 @@
 
 package de.alphaconqueror.discord.bot.utils.command.abstraction;
 
+import de.alphaconqueror.discord.bot.utils.command.InteractionContext;
 import de.alphaconqueror.discord.bot.utils.util.Embeds;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import net.dv8tion.jda.api.entities.Message;
+import net.dv8tion.jda.api.requests.restaction.WebhookMessageCreateAction;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
@@ -48,6 +53,16 @@ public interface FunctionHandler {
      */
     @NonNull CommandFunction getFunction();
 
+    /**
+     * The asynchronous function to be executed instead of {@link #getFunction()}.
+     *
+     * @return the asynchronous function, or null if the function is synchronous
+     */
+    @Nullable
+    default AsyncCommandFunction getAsyncFunction() {
+        return null;
+    }
+
     /**
      * The runnable to be executed after the main function.
      *
@@ -60,4 +75,56 @@ public interface FunctionHandler {
         return context -> context.getEvent().getHook()
                 .sendMessageEmbeds(Embeds.THIS_SHOULDNT_HAVE_HAPPENED.get()).setEphemeral(true);
     }
+
+    /**
+     * Executes the function. An asynchronous function is submitted to the command executor and
+     * the result completes once the future returned by the function completes.
+     * Cancelling the response future of the result interrupts the function if it is still
+     * running and cancels the future it returned.
+     *
+     * @param context the context
+     * @return the resulting action
+     */
+    @NonNull
+    default CommandResult execute(@NonNull final InteractionContext context) {
+        final AsyncCommandFunction asyncFunction = this.getAsyncFunction();
+
+        if (asyncFunction == null) {
+            return new CommandResult(this.getFunction().apply(context), this.getExecuteAfter());
+        }
+
+        final CompletableFuture<WebhookMessageCreateAction<Message>> message =
+                new CompletableFuture<>();
+        final Future<?> task = context.getClient().getDiscordManager().getCommandExecutor()
+                .submit(() -> {
+                    final CompletableFuture<WebhookMessageCreateAction<Message>> response;
+
+                    try {
+                        response = asyncFunction.apply(context);
+                    } catch (final RuntimeException e) {
+                        message.completeExceptionally(e);
+                        return;
+                    }
+
+                    response.whenComplete((action, throwable) -> {
+                        if (throwable == null) {
+                            message.complete(action);
+                        } else {
+                            message.completeExceptionally(throwable);
+                        }
+                    });
+                    message.whenComplete((action, throwable) -> {
+                        if (message.isCancelled()) {
+                            response.cancel(true);
+                        }
+                    });
+                });
+
+        message.whenComplete((action, throwable) -> {
+            if (message.isCancelled()) {
+                task.cancel(true);
+            }
+        });
+        return new CommandResult(message, this.getExecuteAfter());
+    }
 }
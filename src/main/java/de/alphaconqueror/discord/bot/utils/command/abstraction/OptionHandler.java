@@ -58,7 +58,7 @@ public interface OptionHandler extends FunctionHandler {
     @NonNull
     default CommandResult interactOptions(@NonNull final InteractionContext context) {
         if (this.getOptions().size() != 1) {
-            return new CommandResult(this.getFunction().apply(context), this.getExecuteAfter());
+            return this.execute(context);
         }
 
         for (final OptionMapping optionMapping : context.getEvent().getOptions()) {
@@ -0,0 +1,250 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.alphaconqueror.discord.bot.utils.command.autocomplete;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import de.alphaconqueror.discord.bot.utils.command.AutoCompleteContext;
+import de.alphaconqueror.discord.bot.utils.command.abstraction.AutoCompleteFunction;
+import de.alphaconqueror.discord.bot.utils.command.builder.node.DispatchTable;
+import de.alphaconqueror.discord.bot.utils.metrics.CommandMetrics;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import net.dv8tion.jda.api.entities.Guild;
+import net.dv8tion.jda.api.interactions.commands.Command;
+import net.dv8tion.jda.api.interactions.commands.build.OptionData;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Caches the choices of autocompletable options by (option path, guild, typed prefix), so
+ * the same prefix typed by many users is computed once. Entries are evicted by least recent
+ * use and expire after their time to live.
+ * If the choices of a shorter prefix are cached and complete, i.e. less than
+ * {@value OptionData#MAX_CHOICES}, the choices of a longer prefix are refined from them instead
+ * of being computed. Hence, cached functions have to match the names of their choices by
+ * prefix, ignoring case, like a {@link PrefixIndex} does.
+ */
+public class AutoCompleteCache {
+
+    @NonNull
+    private final Cache<Key, Entry> entries;
+
+    public AutoCompleteCache(final long maximumSize, @NonNull final Duration ttl) {
+        this.entries = CacheBuilder.newBuilder().maximumSize(maximumSize).expireAfterWrite(ttl)
+                .build();
+    }
+
+    /**
+     * Wraps an autocomplete function, caching its choices in the cache of the client.
+     *
+     * @param function the function
+     * @param scope    the scope of the cached choices
+     * @return the cached function, or the function itself if not cached
+     */
+    @NonNull
+    public static AutoCompleteFunction cached(@NonNull final AutoCompleteFunction function,
+            @NonNull final CacheScope scope) {
+        if (scope == CacheScope.NONE) {
+            return function;
+        }
+
+        return context -> context.getClient().getDiscordManager().getAutoCompleteCache()
+                .complete(context, function, scope);
+    }
+
+    /**
+     * Gets the cached choices of the typed value, computing them if needed.
+     * Hits and misses are counted in the metrics of the command path.
+     *
+     * @param context  the autocomplete context
+     * @param function the function computing the choices
+     * @param scope    the scope of the cached choices
+     * @return the choices
+     */
+    @NonNull
+    public List<Command.Choice> complete(@NonNull final AutoCompleteContext context,
+            @NonNull final AutoCompleteFunction function, @NonNull final CacheScope scope) {
+        final Guild guild = scope == CacheScope.GUILD ? context.getEvent().getGuild() : null;
+        final String path =
+                DispatchTable.path(context.getEvent()) + '/' + context.getOptionName();
+        final Key key = new Key(path, guild == null ? 0 : guild.getIdLong(),
+                context.getValue().toLowerCase(Locale.ROOT));
+        final CommandMetrics metrics = context.getMetrics();
+        final Entry cached = this.entries.getIfPresent(key);
+
+        if (cached != null) {
+            if (metrics != null) {
+                metrics.incrementCompletionHits();
+            }
+
+            return cached.choices;
+        }
+
+        // concurrent requests of the same prefix wait for a single computation
+        final boolean[] computed = new boolean[1];
+        final Entry entry;
+
+        try {
+            entry = this.entries.get(key, () -> {
+                final Entry refined = this.refine(key);
+
+                if (refined != null) {
+                    return refined;
+                }
+
+                computed[0] = true;
+                return Entry.of(function.complete(context));
+            });
+        } catch (final ExecutionException | UncheckedExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+
+            throw new IllegalStateException(e.getCause());
+        }
+
+        if (metrics != null) {
+            if (computed[0]) {
+                metrics.incrementCompletionMisses();
+            } else {
+                metrics.incrementCompletionHits();
+            }
+        }
+
+        return entry.choices;
+    }
+
+    /**
+     * Discards all cached choices, e.g. after the underlying data changed.
+     */
+    public void invalidateAll() {
+        this.entries.invalidateAll();
+    }
+
+    public long size() {
+        return this.entries.size();
+    }
+
+    /**
+     * Refines the choices of the longest cached shorter prefix.
+     *
+     * @param key the key of the prefix
+     * @return the refined choices, or null if no complete choices of a shorter prefix are cached
+     */
+    @Nullable
+    private Entry refine(@NonNull final Key key) {
+        for (int length = key.prefix.length() - 1; length >= 0; length--) {
+            final Entry shorter = this.entries.getIfPresent(
+                    new Key(key.path, key.guild, key.prefix.substring(0, length)));
+
+            if (shorter == null) {
+                continue;
+            }
+
+            // shorter prefixes have at least as many choices
+            if (!shorter.complete) {
+                return null;
+            }
+
+            final List<Command.Choice> choices = new ArrayList<>();
+
+            for (final Command.Choice choice : shorter.choices) {
+                if (choice.getName().toLowerCase(Locale.ROOT).startsWith(key.prefix)) {
+                    choices.add(choice);
+                }
+            }
+
+            return new Entry(Collections.unmodifiableList(choices), true);
+        }
+
+        return null;
+    }
+
+    private static final class Key {
+
+        @NonNull
+        private final String path;
+        private final long guild;
+        @NonNull
+        private final String prefix;
+
+        private Key(@NonNull final String path, final long guild,
+                @NonNull final String prefix) {
+            this.path = path;
+            this.guild = guild;
+            this.prefix = prefix;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+
+            if (!(o instanceof Key)) {
+                return false;
+            }
+
+            final Key key = (Key) o;
+
+            return this.guild == key.guild && this.path.equals(key.path)
+                    && this.prefix.equals(key.prefix);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * (31 * this.path.hashCode() + Long.hashCode(this.guild))
+                    + this.prefix.hashCode();
+        }
+    }
+
+    private static final class Entry {
+
+        @NonNull
+        private final List<Command.Choice> choices;
+        // if the choices are all matches of the prefix
+        private final boolean complete;
+
+        private Entry(@NonNull final List<Command.Choice> choices, final boolean complete) {
+            this.choices = choices;
+            this.complete = complete;
+        }
+
+        @NonNull
+        private static Entry of(@NonNull final List<Command.Choice> choices) {
+            final List<Command.Choice> limited = choices.size() > OptionData.MAX_CHOICES
+                    ? choices.subList(0, OptionData.MAX_CHOICES) : choices;
+
+            return new Entry(Collections.unmodifiableList(new ArrayList<>(limited)),
+                    choices.size() < OptionData.MAX_CHOICES);
+        }
+    }
+}
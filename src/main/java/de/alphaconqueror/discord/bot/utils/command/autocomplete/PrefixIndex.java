@@ -0,0 +1,195 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.alphaconqueror.discord.bot.utils.command.autocomplete;
+
+import com.google.common.collect.Maps;
+import de.alphaconqueror.discord.bot.utils.command.AutoCompleteContext;
+import de.alphaconqueror.discord.bot.utils.command.abstraction.AutoCompleteFunction;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import net.dv8tion.jda.api.interactions.commands.Command;
+import net.dv8tion.jda.api.interactions.commands.build.OptionData;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * An immutable index of choices, matched case-insensitively by the prefix of their names.
+ * The names are kept in a sorted array, so a lookup is a binary search for the first match
+ * followed by a scan of at most {@code limit} entries, independent of the size of the domain.
+ * Matches are returned in the lexicographic order of their names.
+ */
+public final class PrefixIndex implements AutoCompleteFunction {
+
+    private static final PrefixIndex EMPTY = new PrefixIndex(new String[0], new Command.Choice[0]);
+
+    // lower case names, sorted
+    private final String @NonNull [] keys;
+    private final Command.Choice @NonNull [] choices;
+
+    private PrefixIndex(final String @NonNull [] keys, final Command.Choice @NonNull [] choices) {
+        this.keys = keys;
+        this.choices = choices;
+    }
+
+    /**
+     * Creates an index of string choices named by their values.
+     *
+     * @param values the values
+     * @return the index
+     */
+    @NonNull
+    public static PrefixIndex of(@NonNull final Collection<String> values) {
+        final Builder builder = builder();
+
+        for (final String value : values) {
+            builder.add(value, value);
+        }
+
+        return builder.build();
+    }
+
+    @NonNull
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    @NonNull
+    public static PrefixIndex empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Finds the choices whose names start with the prefix, ignoring case.
+     *
+     * @param prefix the prefix
+     * @param limit  the maximum number of choices
+     * @return the matching choices
+     */
+    @NonNull
+    public List<Command.Choice> search(@NonNull final String prefix, final int limit) {
+        final String key = normalize(prefix);
+        final int from = this.lowerBound(key);
+        int to = from;
+
+        while (to < this.keys.length && to - from < limit && this.keys[to].startsWith(key)) {
+            to++;
+        }
+
+        if (from == to) {
+            return Collections.emptyList();
+        }
+
+        return Collections.unmodifiableList(
+                Arrays.asList(Arrays.copyOfRange(this.choices, from, to)));
+    }
+
+    /**
+     * Suggests the first {@value OptionData#MAX_CHOICES} choices starting with what the user
+     * has typed so far.
+     *
+     * @param context the autocomplete context
+     * @return the matching choices
+     */
+    @NonNull
+    @Override
+    public List<Command.Choice> complete(@NonNull final AutoCompleteContext context) {
+        return this.search(context.getValue(), OptionData.MAX_CHOICES);
+    }
+
+    public int size() {
+        return this.keys.length;
+    }
+
+    private int lowerBound(@NonNull final String key) {
+        int low = 0;
+        int high = this.keys.length;
+
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+
+            if (this.keys[mid].compareTo(key) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+
+        return low;
+    }
+
+    @NonNull
+    private static String normalize(@NonNull final String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    public static class Builder {
+
+        private final List<Map.Entry<String, Command.Choice>> entries = new ArrayList<>();
+
+        private Builder() {}
+
+        @NonNull
+        public Builder add(@NonNull final String name, @NonNull final String value) {
+            return this.add(new Command.Choice(name, value));
+        }
+
+        @NonNull
+        public Builder add(@NonNull final String name, final long value) {
+            return this.add(new Command.Choice(name, value));
+        }
+
+        @NonNull
+        public Builder add(@NonNull final String name, final double value) {
+            return this.add(new Command.Choice(name, value));
+        }
+
+        @NonNull
+        public Builder add(final Command.Choice choice) {
+            this.entries.add(Maps.immutableEntry(normalize(choice.getName()), choice));
+            return this;
+        }
+
+        @NonNull
+        public PrefixIndex build() {
+            final List<Map.Entry<String, Command.Choice>> sorted = new ArrayList<>(this.entries);
+
+            sorted.sort(Map.Entry.comparingByKey());
+
+            final String[] keys = new String[sorted.size()];
+            final Command.Choice[] choices = new Command.Choice[sorted.size()];
+
+            for (int i = 0; i < keys.length; i++) {
+                keys[i] = sorted.get(i).getKey();
+                choices[i] = sorted.get(i).getValue();
+            }
+
+            return new PrefixIndex(keys, choices);
+        }
+    }
+}
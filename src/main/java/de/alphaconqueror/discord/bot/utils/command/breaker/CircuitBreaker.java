@@ -0,0 +1,244 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.alphaconqueror.discord.bot.utils.command.breaker;
+
+import de.alphaconqueror.discord.bot.utils.command.CommandErrorException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Stops executing a command whose interactions keep failing, e.g. because a backing service is
+ * down. Failures are {@link CommandErrorException}s, timeouts and calls slower than the slow
+ * call threshold, other exceptions are not recorded.
+ * Outcomes are counted in windows of a fixed number of calls. If the failure rate of a window
+ * reaches the threshold, the breaker opens and interactions fail fast. Once the half-open
+ * interval passed, a single interaction probes the command, closing the breaker on success
+ * and opening it again on failure.
+ * <p>
+ * Every executed interaction holds a permit of the state it has been admitted in. Outcomes
+ * only count for that state, so interactions finishing after a transition do not affect the
+ * next one and only the probe decides whether a half-open breaker closes.
+ */
+public class CircuitBreaker {
+
+    /**
+     * The permit of interactions which are not permitted.
+     */
+    public static final long REJECTED = -1;
+
+    private static final CircuitState[] STATES = CircuitState.values();
+    // the outcomes of the current window are packed into a single long
+    private static final long CALL = 1L << 32;
+    private static final long FAILURES = CALL - 1;
+
+    private final double failureRateThreshold;
+    private final long slowCallThreshold;
+    private final int windowSize;
+    private final long halfOpenInterval;
+    // the state and the number of transitions so far, which is the permit of the state
+    @NonNull
+    private final AtomicLong status = new AtomicLong(status(0, CircuitState.CLOSED));
+    // the time of the last transition, or of the last probe while half-open
+    @NonNull
+    private final AtomicLong since = new AtomicLong(System.nanoTime());
+    @NonNull
+    private final AtomicLong window = new AtomicLong();
+    @NonNull
+    private final LongAdder trips = new LongAdder();
+
+    /**
+     * Creates a circuit breaker opening if half of 20 calls fail or take longer than 5 seconds,
+     * probing again after 30 seconds.
+     */
+    public CircuitBreaker() {
+        this(0.5, Duration.ofSeconds(5), 20, Duration.ofSeconds(30));
+    }
+
+    /**
+     * Creates a circuit breaker.
+     *
+     * @param failureRateThreshold the rate of failed calls of a window opening the breaker
+     * @param slowCallThreshold    the latency from which on calls count as failed
+     * @param windowSize           the number of calls of a window
+     * @param halfOpenInterval     the time until an open breaker is probed
+     */
+    public CircuitBreaker(final double failureRateThreshold,
+            @NonNull final Duration slowCallThreshold, final int windowSize,
+            @NonNull final Duration halfOpenInterval) {
+        if (failureRateThreshold <= 0 || failureRateThreshold > 1) {
+            throw new IllegalArgumentException("The failure rate has to be in (0, 1].");
+        }
+
+        if (windowSize < 1) {
+            throw new IllegalArgumentException("The window has to contain at least one call.");
+        }
+
+        this.failureRateThreshold = failureRateThreshold;
+        this.slowCallThreshold = slowCallThreshold.toNanos();
+        this.windowSize = windowSize;
+        this.halfOpenInterval = halfOpenInterval.toNanos();
+    }
+
+    /**
+     * If an interaction would be executed, without acquiring a probe.
+     *
+     * @param now the current time, as of {@link System#nanoTime()}
+     * @return true, if closed or a probe is due
+     */
+    public boolean isCallPermitted(final long now) {
+        return state(this.status.get()) == CircuitState.CLOSED
+                || now - this.since.get() >= this.halfOpenInterval;
+    }
+
+    /**
+     * Acquires the permission to execute an interaction. While half-open, only a single
+     * interaction is permitted, another one once it did not report back within the interval.
+     *
+     * @param now the current time, as of {@link System#nanoTime()}
+     * @return the permit to record the outcome with, or {@link #REJECTED} if not permitted
+     */
+    public long tryAcquire(final long now) {
+        final long status = this.status.get();
+
+        if (state(status) == CircuitState.CLOSED) {
+            return status;
+        }
+
+        final long since = this.since.get();
+
+        if (now - since < this.halfOpenInterval || !this.since.compareAndSet(since, now)) {
+            return REJECTED;
+        }
+
+        // a new probe replaces the previous one, whose outcome is not recorded anymore
+        final long probe = next(status, CircuitState.HALF_OPEN);
+
+        return this.status.compareAndSet(status, probe) ? probe : REJECTED;
+    }
+
+    /**
+     * Gives back a permit whose interaction has not been executed, e.g. because another
+     * breaker rejected it. A released probe can be acquired again right away.
+     *
+     * @param permit the permit
+     */
+    public void release(final long permit) {
+        if (state(permit) == CircuitState.HALF_OPEN && this.status.get() == permit) {
+            this.since.set(System.nanoTime() - this.halfOpenInterval);
+        }
+    }
+
+    /**
+     * Records the outcome of an executed interaction.
+     *
+     * @param permit    the permit of the interaction
+     * @param throwable the exception the interaction failed with, or null if successful
+     * @param latency   the latency in nanoseconds
+     */
+    public void record(final long permit, @Nullable final Throwable throwable,
+            final long latency) {
+        if (throwable instanceof CommandErrorException) {
+            this.record(permit, true);
+        } else if (throwable == null) {
+            this.record(permit, latency >= this.slowCallThreshold);
+        }
+    }
+
+    /**
+     * Records an interaction which timed out.
+     *
+     * @param permit the permit of the interaction
+     */
+    public void recordTimeout(final long permit) {
+        this.record(permit, true);
+    }
+
+    @NonNull
+    public CircuitState getState() {
+        return state(this.status.get());
+    }
+
+    /**
+     * Gets how often the breaker opened.
+     *
+     * @return the number of trips
+     */
+    public long getTrips() {
+        return this.trips.sum();
+    }
+
+    private void record(final long permit, final boolean failure) {
+        // outcomes of interactions admitted before the last transition
+        if (permit == REJECTED || this.status.get() != permit) {
+            return;
+        }
+
+        if (state(permit) == CircuitState.HALF_OPEN) {
+            if (failure) {
+                this.open(permit);
+            } else {
+                this.since.set(System.nanoTime());
+                this.window.set(0);
+                this.status.compareAndSet(permit, next(permit, CircuitState.CLOSED));
+            }
+
+            return;
+        }
+
+        final long outcomes = this.window.addAndGet(failure ? CALL + 1 : CALL);
+        final long calls = outcomes >>> 32;
+
+        // the window is evaluated by the call completing it
+        if (calls >= this.windowSize && this.window.compareAndSet(outcomes, 0)
+                && (outcomes & FAILURES) >= this.failureRateThreshold * calls) {
+            this.open(permit);
+        }
+    }
+
+    private void open(final long expected) {
+        // set before opening, so the interval does not start at the previous transition
+        this.since.set(System.nanoTime());
+
+        if (this.status.compareAndSet(expected, next(expected, CircuitState.OPEN))) {
+            this.trips.increment();
+        }
+    }
+
+    private static long status(final long transitions, @NonNull final CircuitState state) {
+        return transitions << 2 | state.ordinal();
+    }
+
+    private static long next(final long status, @NonNull final CircuitState state) {
+        return status((status >>> 2) + 1, state);
+    }
+
+    @NonNull
+    private static CircuitState state(final long status) {
+        return STATES[(int) status & 3];
+    }
+}
@@ -24,11 +24,19 @@
 
 package de.alphaconqueror.discord.bot.utils.command.builder;
 
+import de.alphaconqueror.discord.bot.utils.command.breaker.CircuitBreaker;
 import de.alphaconqueror.discord.bot.utils.command.builder.node.AbstractCommandNode;
+import de.alphaconqueror.discord.bot.utils.command.builder.node.NodePolicy;
+import de.alphaconqueror.discord.bot.utils.command.ratelimit.RateLimitScope;
+import de.alphaconqueror.discord.bot.utils.command.ratelimit.RateLimiter;
 import de.alphaconqueror.discord.bot.utils.permission.DiscordPermission;
 import de.alphaconqueror.discord.bot.utils.permission.Permission;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import javax.annotation.CheckReturnValue;
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 public abstract class AbstractCommandBuilder<T extends AbstractCommandNode<?>,
         B extends AbstractCommandBuilder<T, B>> {
@@ -39,6 +47,12 @@ public abstract class AbstractCommandBuilder<T extends AbstractCommandNode<?>,
     protected final String description;
     @NonNull
     protected Permission permission = DiscordPermission.NONE;
+    @NonNull
+    protected final List<RateLimiter> rateLimiters = new ArrayList<>();
+    @Nullable
+    protected Duration timeout;
+    @Nullable
+    protected CircuitBreaker circuitBreaker;
 
     protected AbstractCommandBuilder(@NonNull final String name,
             @NonNull final String description) {
@@ -57,4 +71,94 @@ public abstract class AbstractCommandBuilder<T extends AbstractCommandNode<?>,
         this.permission = permission;
         return this.getThis();
     }
+
+    /**
+     * Limits how often the node can be used, e.g. {@code ratelimit(USER, 3, ofMinutes(1))}
+     * for three uses per minute and user. The limit applies to all paths through the node,
+     * further limits can be added.
+     *
+     * @param scope   who shares the permits
+     * @param permits the permits per period
+     * @param period  the period
+     * @return the builder
+     */
+    @NonNull
+    @CheckReturnValue
+    public B ratelimit(@NonNull final RateLimitScope scope, final int permits,
+            @NonNull final Duration period) {
+        return this.ratelimit(new RateLimiter(scope, permits, period));
+    }
+
+    /**
+     * Limits how often the node can be used by a rate limiter, which may be shared with other
+     * nodes.
+     *
+     * @param rateLimiter the rate limiter
+     * @return the builder
+     */
+    @NonNull
+    @CheckReturnValue
+    public B ratelimit(@NonNull final RateLimiter rateLimiter) {
+        this.rateLimiters.add(rateLimiter);
+        return this.getThis();
+    }
+
+    /**
+     * Limits the time the command functions of all paths through the node may take to create
+     * their response. Once it passes, the function is interrupted and its response future
+     * cancelled, a timeout response is sent and the late response is discarded. Synchronous
+     * functions executed on the JDA event thread are not interrupted.
+     * The shortest timeout of a path applies.
+     *
+     * @param timeout the timeout
+     * @return the builder
+     */
+    @NonNull
+    @CheckReturnValue
+    public B timeout(@NonNull final Duration timeout) {
+        if (timeout.isNegative() || timeout.isZero()) {
+            throw new IllegalArgumentException("The timeout has to be positive.");
+        }
+
+        this.timeout = timeout;
+        return this.getThis();
+    }
+
+    /**
+     * Guards the node by a circuit breaker with the default thresholds.
+     *
+     * @return the builder
+     * @see CircuitBreaker#CircuitBreaker()
+     */
+    @NonNull
+    @CheckReturnValue
+    public B circuitBreaker() {
+        return this.circuitBreaker(new CircuitBreaker());
+    }
+
+    /**
+     * Guards the node by a circuit breaker. While open, interactions of all paths through the
+     * node fail fast instead of executing their command function.
+     *
+     * @param circuitBreaker the circuit breaker
+     * @return the builder
+     */
+    @NonNull
+    @CheckReturnValue
+    public B circuitBreaker(@NonNull final CircuitBreaker circuitBreaker) {
+        this.circuitBreaker = circuitBreaker;
+        return this.getThis();
+    }
+
+    /**
+     * Creates the policy of the node.
+     *
+     * @return the policy
+     */
+    @NonNull
+    protected NodePolicy policy() {
+        return this.rateLimiters.isEmpty() && this.timeout == null && this.circuitBreaker == null
+                ? NodePolicy.NONE
+                : new NodePolicy(this.rateLimiters, this.timeout, this.circuitBreaker);
+    }
 }
@@ -24,6 +24,10 @@
 
 package de.alphaconqueror.discord.bot.utils.command.builder;
 
+import de.alphaconqueror.discord.bot.utils.command.abstraction.AsyncCommandFunction;
+import de.alphaconqueror.discord.bot.utils.command.abstraction.AutoCompleteFunction;
+import de.alphaconqueror.discord.bot.utils.command.autocomplete.AutoCompleteCache;
+import de.alphaconqueror.discord.bot.utils.command.autocomplete.CacheScope;
 import de.alphaconqueror.discord.bot.utils.command.abstraction.CommandFunction;
 import de.alphaconqueror.discord.bot.utils.command.builder.node.ChoiceNode;
 import de.alphaconqueror.discord.bot.utils.command.builder.node.OptionNode;
@@ -46,7 +50,11 @@ public class OptionBuilder extends AbstractCommandBuilder<OptionNode, OptionBuil
     @Nullable
     private CommandFunction function;
     @Nullable
+    private AsyncCommandFunction asyncFunction;
+    @Nullable
     private Runnable executeAfter;
+    @Nullable
+    private AutoCompleteFunction autoCompleteFunction;
 
     protected OptionBuilder(@NonNull final String name, @NonNull final String description,
             @NonNull final OptionType type) {
@@ -60,7 +68,7 @@ public class OptionBuilder extends AbstractCommandBuilder<OptionNode, OptionBuil
     public OptionNode build() {
         return new OptionNode(this.name, this.description, this.permission, this.type,
                 this.isRequired, this.isAutoComplete, this.choices, this.function,
-                this.executeAfter);
+                this.asyncFunction, this.executeAfter, this.autoCompleteFunction, this.policy());
     }
 
     @NonNull
@@ -77,6 +85,39 @@ public class OptionBuilder extends AbstractCommandBuilder<OptionNode, OptionBuil
         return this;
     }
 
+    /**
+     * Makes the option autocompletable, suggesting the choices computed by the function while
+     * the user is typing, e.g. the matches of a
+     * {@link de.alphaconqueror.discord.bot.utils.command.autocomplete.PrefixIndex}.
+     *
+     * @param function the autocomplete function
+     * @return the builder
+     */
+    @NonNull
+    @CheckReturnValue
+    public OptionBuilder autoCompletes(@NonNull final AutoCompleteFunction function) {
+        this.isAutoComplete = true;
+        this.autoCompleteFunction = function;
+        return this;
+    }
+
+    /**
+     * Makes the option autocompletable, caching the computed choices by the typed prefix.
+     * The function has to match the names of its choices by prefix, ignoring case, and must
+     * not depend on anything but the typed value and, if scoped by guild, the guild.
+     *
+     * @param function the autocomplete function
+     * @param scope    the scope of the cached choices
+     * @return the builder
+     * @see AutoCompleteCache
+     */
+    @NonNull
+    @CheckReturnValue
+    public OptionBuilder autoCompletes(@NonNull final AutoCompleteFunction function,
+            @NonNull final CacheScope scope) {
+        return this.autoCompletes(AutoCompleteCache.cached(function, scope));
+    }
+
     @NonNull
     @CheckReturnValue
     public OptionBuilder addChoice(@NonNull final String name, @NonNull final Permission permission,
@@ -85,10 +126,7 @@ public class OptionBuilder extends AbstractCommandBuilder<OptionNode, OptionBuil
             throw new IllegalArgumentException("Node already has choice with name '" + name + "'.");
         }
 
-        final ChoiceNode choice = new ChoiceNode(name, permission, function, this.executeAfter);
-
-        this.choices.put(choice.getValue(), choice);
-        return this;
+        return this.addChoice(new ChoiceNode(name, permission, function, null, this.executeAfter));
     }
 
     @NonNull
@@ -98,10 +136,51 @@ public class OptionBuilder extends AbstractCommandBuilder<OptionNode, OptionBuil
         return this.addChoice(name, DiscordPermission.NONE, function);
     }
 
+    /**
+     * Adds a choice whose function is executed off the JDA event thread.
+     *
+     * @param name       the name
+     * @param permission the required permission
+     * @param function   the asynchronous function
+     * @return the builder
+     */
+    @NonNull
+    @CheckReturnValue
+    public OptionBuilder addChoiceAsync(@NonNull final String name,
+            @NonNull final Permission permission, @NonNull final AsyncCommandFunction function) {
+        if (this.choices.containsKey(name)) {
+            throw new IllegalArgumentException("Node already has choice with name '" + name + "'.");
+        }
+
+        return this.addChoice(new ChoiceNode(name, permission, null, function, this.executeAfter));
+    }
+
+    @NonNull
+    @CheckReturnValue
+    public OptionBuilder addChoiceAsync(@NonNull final String name,
+            @NonNull final AsyncCommandFunction function) {
+        return this.addChoiceAsync(name, DiscordPermission.NONE, function);
+    }
+
     @NonNull
     @CheckReturnValue
     public OptionBuilder executes(@NonNull final CommandFunction function) {
         this.function = function;
+        this.asyncFunction = null;
+        return this;
+    }
+
+    /**
+     * Sets a function which is executed off the JDA event thread, on the command executor.
+     *
+     * @param function the asynchronous function
+     * @return the builder
+     */
+    @NonNull
+    @CheckReturnValue
+    public OptionBuilder executesAsync(@NonNull final AsyncCommandFunction function) {
+        this.asyncFunction = function;
+        this.function = null;
         return this;
     }
 
@@ -112,6 +191,12 @@ public class OptionBuilder extends AbstractCommandBuilder<OptionNode, OptionBuil
         return this;
     }
 
+    @NonNull
+    private OptionBuilder addChoice(@NonNull final ChoiceNode choice) {
+        this.choices.put(choice.getValue(), choice);
+        return this;
+    }
+
     @Override
     protected OptionBuilder getThis() {
         return this;
@@ -24,6 +24,7 @@
 
 package de.alphaconqueror.discord.bot.utils.command.builder;
 
+import de.alphaconqueror.discord.bot.utils.command.abstraction.AsyncCommandFunction;
 import de.alphaconqueror.discord.bot.utils.command.abstraction.CommandFunction;
 import de.alphaconqueror.discord.bot.utils.command.builder.node.OptionNode;
 import de.alphaconqueror.discord.bot.utils.command.builder.node.RootCommandNode;
@@ -48,21 +49,31 @@ public class RootCommandBuilder extends AbstractCommandBuilder<RootCommandNode,
     @NonNull
     private DefaultMemberPermissions defaultPermissions = DefaultMemberPermissions.ENABLED;
     private boolean guildOnly;
+    private boolean stateless;
+    private int maxPending;
     @Nullable
     private CommandFunction function;
     @Nullable
+    private AsyncCommandFunction asyncFunction;
+    @Nullable
     private Runnable executeAfter;
 
     protected RootCommandBuilder(@NonNull final String name, @NonNull final String description) {
         super(name, description);
     }
 
+    /**
+     * Builds the command tree and compiles its dispatch table.
+     *
+     * @return the root node
+     */
     @Override
     @NonNull
     public RootCommandNode build() {
         return new RootCommandNode(this.name, this.description, this.defaultPermissions,
                 this.guildOnly, this.permission, this.subGroupCommands, this.subCommands,
-                this.options, this.function, this.executeAfter);
+                this.options, this.function, this.asyncFunction, this.executeAfter,
+                this.stateless, this.maxPending, this.policy());
     }
 
     @NonNull
@@ -121,10 +132,57 @@ public class RootCommandBuilder extends AbstractCommandBuilder<RootCommandNode,
         return this;
     }
 
+    /**
+     * Marks the command as stateless. By default, the interactions of a guild are executed in
+     * the order they were received, interactions of stateless commands skip that queue and run
+     * as soon as a thread is free.
+     *
+     * @return the builder
+     */
+    @NonNull
+    @CheckReturnValue
+    public RootCommandBuilder stateless() {
+        this.stateless = true;
+        return this;
+    }
+
+    /**
+     * Limits the number of pending interactions of the command, overriding the configured
+     * limit. Interactions exceeding it are rejected with an overload response.
+     *
+     * @param maxPending the maximum number of pending interactions
+     * @return the builder
+     */
+    @NonNull
+    @CheckReturnValue
+    public RootCommandBuilder maxPending(final int maxPending) {
+        if (maxPending < 1) {
+            throw new IllegalArgumentException("The limit has to be positive.");
+        }
+
+        this.maxPending = maxPending;
+        return this;
+    }
+
     @NonNull
     @CheckReturnValue
     public RootCommandBuilder executes(@NonNull final CommandFunction function) {
         this.function = function;
+        this.asyncFunction = null;
+        return this;
+    }
+
+    /**
+     * Sets a function which is executed off the JDA event thread, on the command executor.
+     *
+     * @param function the asynchronous function
+     * @return the builder
+     */
+    @NonNull
+    @CheckReturnValue
+    public RootCommandBuilder executesAsync(@NonNull final AsyncCommandFunction function) {
+        this.asyncFunction = function;
+        this.function = null;
         return this;
     }
 
@@ -24,6 +24,7 @@
 
 package de.alphaconqueror.discord.bot.utils.command.builder;
 
+import de.alphaconqueror.discord.bot.utils.command.abstraction.AsyncCommandFunction;
 import de.alphaconqueror.discord.bot.utils.command.abstraction.CommandFunction;
 import de.alphaconqueror.discord.bot.utils.command.builder.node.OptionNode;
 import de.alphaconqueror.discord.bot.utils.command.builder.node.SubcommandNode;
@@ -40,6 +41,8 @@ public class SubcommandBuilder extends AbstractCommandBuilder<SubcommandNode, Su
     @Nullable
     private CommandFunction function;
     @Nullable
+    private AsyncCommandFunction asyncFunction;
+    @Nullable
     private Runnable executeAfter;
 
     protected SubcommandBuilder(@NonNull final String name, @NonNull final String description) {
@@ -49,7 +52,7 @@ public class SubcommandBuilder extends AbstractCommandBuilder<SubcommandNode, Su
     @Override
     public @NotNull SubcommandNode build() {
         return new SubcommandNode(this.name, this.description, this.permission, this.options,
-                this.function, this.executeAfter);
+                this.function, this.asyncFunction, this.executeAfter, this.policy());
     }
 
     @NonNull
@@ -70,6 +73,21 @@ public class SubcommandBuilder extends AbstractCommandBuilder<SubcommandNode, Su
     @CheckReturnValue
     public SubcommandBuilder executes(@NonNull final CommandFunction function) {
         this.function = function;
+        this.asyncFunction = null;
+        return this;
+    }
+
+    /**
+     * Sets a function which is executed off the JDA event thread, on the command executor.
+     *
+     * @param function the asynchronous function
+     * @return the builder
+     */
+    @NonNull
+    @CheckReturnValue
+    public SubcommandBuilder executesAsync(@NonNull final AsyncCommandFunction function) {
+        this.asyncFunction = function;
+        this.function = null;
         return this;
     }
 
@@ -24,6 +24,7 @@
 
 package de.alphaconqueror.discord.bot.utils.command.builder;
 
+import de.alphaconqueror.discord.bot.utils.command.abstraction.AsyncCommandFunction;
 import de.alphaconqueror.discord.bot.utils.command.abstraction.CommandFunction;
 import de.alphaconqueror.discord.bot.utils.command.builder.node.SubcommandGroupNode;
 import de.alphaconqueror.discord.bot.utils.command.builder.node.SubcommandNode;
@@ -41,6 +42,8 @@ public class SubcommandGroupBuilder extends AbstractCommandBuilder<SubcommandGro
     @Nullable
     private CommandFunction function;
     @Nullable
+    private AsyncCommandFunction asyncFunction;
+    @Nullable
     private Runnable executeAfter;
 
     protected SubcommandGroupBuilder(@NonNull final String name,
@@ -51,7 +54,7 @@ public class SubcommandGroupBuilder extends AbstractCommandBuilder<SubcommandGro
     @Override
     public @NotNull SubcommandGroupNode build() {
         return new SubcommandGroupNode(this.name, this.description, this.permission, this.children,
-                this.function, this.executeAfter);
+                this.function, this.asyncFunction, this.executeAfter, this.policy());
     }
 
     @NonNull
@@ -72,6 +75,21 @@ public class SubcommandGroupBuilder extends AbstractCommandBuilder<SubcommandGro
     @CheckReturnValue
     public SubcommandGroupBuilder executes(@NonNull final CommandFunction function) {
         this.function = function;
+        this.asyncFunction = null;
+        return this;
+    }
+
+    /**
+     * Sets a function which is executed off the JDA event thread, on the command executor.
+     *
+     * @param function the asynchronous function
+     * @return the builder
+     */
+    @NonNull
+    @CheckReturnValue
+    public SubcommandGroupBuilder executesAsync(@NonNull final AsyncCommandFunction function) {
+        this.asyncFunction = function;
+        this.function = null;
         return this;
     }
 
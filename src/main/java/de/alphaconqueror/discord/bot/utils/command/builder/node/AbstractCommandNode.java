@@ -41,12 +41,20 @@ public abstract class AbstractCommandNode<T> {
     protected final String description;
     @NonNull
     protected final Permission permission;
+    @NonNull
+    protected final NodePolicy policy;
 
     protected AbstractCommandNode(@NonNull final String name, @NonNull final String description,
             @NonNull final Permission permission) {
+        this(name, description, permission, NodePolicy.NONE);
+    }
+
+    protected AbstractCommandNode(@NonNull final String name, @NonNull final String description,
+            @NonNull final Permission permission, @NonNull final NodePolicy policy) {
         this.name = name;
         this.description = description;
         this.permission = permission;
+        this.policy = policy;
     }
 
     @NonNull
@@ -60,7 +68,7 @@ public abstract class AbstractCommandNode<T> {
     protected abstract CommandResult onInteraction(@NonNull final InteractionContext context);
 
     public CommandResult interact(@NonNull final InteractionContext context) {
-        this.checkPermission(context.getClient(), context.getEvent().getUser(), this.permission);
+        this.checkPermission(context, this.permission);
         return this.onInteraction(context);
     }
 
@@ -79,6 +87,11 @@ public abstract class AbstractCommandNode<T> {
         return this.permission;
     }
 
+    @NonNull
+    public NodePolicy getPolicy() {
+        return this.policy;
+    }
+
     protected void checkPermission(final @NonNull DiscordBotClient client, @NonNull final User user,
             final Permission permission) throws NoPermissionException {
         if (!this.canUse(client, user, permission)) {
@@ -90,4 +103,25 @@ public abstract class AbstractCommandNode<T> {
             final Permission permission) {
         return client.getPermissionManager().hasPermission(user, permission);
     }
+
+    protected void checkPermission(@NonNull final InteractionContext context,
+            final Permission permission) throws NoPermissionException {
+        if (!this.canUse(context, permission)) {
+            throw new NoPermissionException(permission);
+        }
+    }
+
+    /**
+     * Checks if the member of the interaction can use this node.
+     * The member is taken from the interaction payload, so no REST request is needed for
+     * interactions in the configured guild.
+     *
+     * @param context    the interaction context
+     * @param permission the permission
+     * @return true, if permitted
+     */
+    protected boolean canUse(@NonNull final InteractionContext context,
+            final Permission permission) {
+        return context.getClient().getPermissionManager().hasPermission(context, permission);
+    }
 }
@@ -25,6 +25,7 @@
 package de.alphaconqueror.discord.bot.utils.command.builder.node;
 
 import de.alphaconqueror.discord.bot.utils.command.InteractionContext;
+import de.alphaconqueror.discord.bot.utils.command.abstraction.AsyncCommandFunction;
 import de.alphaconqueror.discord.bot.utils.command.abstraction.CommandFunction;
 import de.alphaconqueror.discord.bot.utils.command.abstraction.CommandResult;
 import de.alphaconqueror.discord.bot.utils.command.abstraction.FunctionHandler;
@@ -42,13 +43,23 @@ public class ChoiceNode extends AbstractCommandNode<Command.Choice> implements F
     @Nullable
     private final CommandFunction function;
     @Nullable
+    private final AsyncCommandFunction asyncFunction;
+    @Nullable
     private final Runnable executeAfter;
 
     public ChoiceNode(@NonNull final String name, @NonNull final Permission permission,
             @Nullable final CommandFunction function, @Nullable final Runnable executeAfter) {
+        this(name, permission, function, null, executeAfter);
+    }
+
+    public ChoiceNode(@NonNull final String name, @NonNull final Permission permission,
+            @Nullable final CommandFunction function,
+            @Nullable final AsyncCommandFunction asyncFunction,
+            @Nullable final Runnable executeAfter) {
         super(name, "A choice node.", permission);
         this.value = name.toLowerCase(Locale.ROOT);
         this.function = function;
+        this.asyncFunction = asyncFunction;
         this.executeAfter = executeAfter;
     }
 
@@ -65,7 +76,7 @@ public class ChoiceNode extends AbstractCommandNode<Command.Choice> implements F
 
     @Override
     public boolean hasFunction() {
-        return this.function != null;
+        return this.function != null || this.asyncFunction != null;
     }
 
     @Override
@@ -73,6 +84,11 @@ public class ChoiceNode extends AbstractCommandNode<Command.Choice> implements F
         return this.function == null ? this.getAlternativeFunction() : this.function;
     }
 
+    @Override
+    public @Nullable AsyncCommandFunction getAsyncFunction() {
+        return this.asyncFunction;
+    }
+
     @Override
     public @Nullable Runnable getExecuteAfter() {
         return this.executeAfter;
@@ -80,6 +96,6 @@ public class ChoiceNode extends AbstractCommandNode<Command.Choice> implements F
 
     @Override
     protected CommandResult onInteraction(@NonNull final InteractionContext context) {
-        return new CommandResult(this.getFunction().apply(context), this.executeAfter);
+        return this.execute(context);
     }
 }
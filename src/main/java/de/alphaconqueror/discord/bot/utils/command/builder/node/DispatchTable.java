@@ -0,0 +1,622 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.alphaconqueror.discord.bot.utils.command.builder.node;
+
+import com.google.common.collect.ImmutableMap;
+import de.alphaconqueror.discord.bot.utils.command.AutoCompleteContext;
+import de.alphaconqueror.discord.bot.utils.command.CommandErrorException;
+import de.alphaconqueror.discord.bot.utils.command.InteractionContext;
+import de.alphaconqueror.discord.bot.utils.command.abstraction.AutoCompleteFunction;
+import de.alphaconqueror.discord.bot.utils.command.abstraction.CommandResult;
+import de.alphaconqueror.discord.bot.utils.command.abstraction.FunctionHandler;
+import de.alphaconqueror.discord.bot.utils.command.abstraction.OptionHandler;
+import de.alphaconqueror.discord.bot.utils.command.breaker.CircuitBreaker;
+import de.alphaconqueror.discord.bot.utils.command.breaker.CircuitOpenException;
+import de.alphaconqueror.discord.bot.utils.command.breaker.CircuitState;
+import de.alphaconqueror.discord.bot.utils.command.ratelimit.RateLimitedException;
+import de.alphaconqueror.discord.bot.utils.metrics.CommandMetrics;
+import de.alphaconqueror.discord.bot.utils.metrics.CommandStage;
+import de.alphaconqueror.discord.bot.utils.permission.DiscordPermission;
+import de.alphaconqueror.discord.bot.utils.permission.PermissionManager;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import net.dv8tion.jda.api.entities.Member;
+import net.dv8tion.jda.api.events.interaction.command.SlashCommandInteractionEvent;
+import net.dv8tion.jda.api.interactions.commands.Command;
+import net.dv8tion.jda.api.interactions.commands.CommandInteractionPayload;
+import net.dv8tion.jda.api.interactions.commands.OptionMapping;
+import net.dv8tion.jda.api.interactions.commands.build.OptionData;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A flat dispatch table compiled from a command tree.
+ * Every invocable path ({@code root/group/sub[/option=choice]}) is mapped to its resolved
+ * handler and the chain of nodes whose permissions have to be checked, so an interaction
+ * is dispatched without walking the tree. Autocompletable options are compiled the same way,
+ * by the path of their option ({@code root/group/sub/option}).
+ */
+public class DispatchTable {
+
+    private static final char SEPARATOR = '/';
+    private static final char CHOICE_SEPARATOR = '=';
+
+    @NonNull
+    private final Map<String, Entry> entries;
+    @NonNull
+    private final Map<String, Completion> completions;
+    private final boolean timeouts;
+    private final boolean circuitBreakers;
+
+    private DispatchTable(@NonNull final Map<String, Entry> entries,
+            @NonNull final Map<String, Completion> completions) {
+        this.entries = ImmutableMap.copyOf(entries);
+        this.completions = ImmutableMap.copyOf(completions);
+        this.timeouts = entries.values().stream().anyMatch(entry -> entry.timeout != null);
+        this.circuitBreakers = entries.values().stream()
+                .anyMatch(entry -> entry.circuitBreakers.length != 0);
+    }
+
+    /**
+     * Compiles the dispatch table of a command tree.
+     *
+     * @param root the root node
+     * @return the dispatch table
+     */
+    @NonNull
+    public static DispatchTable compile(@NonNull final RootCommandNode root) {
+        final Map<String, Entry> entries = new LinkedHashMap<>();
+        final Map<String, Completion> completions = new LinkedHashMap<>();
+        final List<AbstractCommandNode<?>> chain = Collections.singletonList(root);
+
+        compileOptions(entries, completions, root.getName(), chain, root);
+
+        root.getSubcommands().values().forEach(
+                subcommand -> compileOptions(entries, completions, root.getName() + SEPARATOR
+                        + subcommand.getName(), append(chain, subcommand), subcommand));
+        root.getSubcommandGroups().values().forEach(group -> {
+            final List<AbstractCommandNode<?>> groupChain = append(chain, group);
+
+            group.getSubcommands().values().forEach(
+                    subcommand -> compileOptions(entries, completions,
+                            root.getName() + SEPARATOR + group.getName() + SEPARATOR
+                                    + subcommand.getName(), append(groupChain, subcommand),
+                            subcommand));
+        });
+
+        return new DispatchTable(entries, completions);
+    }
+
+    private static void compileOptions(@NonNull final Map<String, Entry> entries,
+            @NonNull final Map<String, Completion> completions, @NonNull final String path,
+            @NonNull final List<AbstractCommandNode<?>> chain,
+            @NonNull final OptionHandler handler) {
+        handler.getOptions().values().forEach(option -> {
+            final AutoCompleteFunction function = option.getAutoCompleteFunction();
+
+            if (function != null) {
+                final String optionPath = path + SEPARATOR + option.getName();
+
+                completions.put(optionPath,
+                        new Completion(optionPath, append(chain, option), function));
+            }
+        });
+
+        // the node handles its options itself
+        if (handler.getOptions().size() != 1) {
+            entries.put(path, new Entry(path, chain, handler, null, null, ImmutableMap.of()));
+            return;
+        }
+
+        final OptionNode option = handler.getOptions().values().iterator().next();
+        final String optionPath = path + SEPARATOR + option.getName();
+        final List<AbstractCommandNode<?>> optionChain = append(chain, option);
+        final Entry optionEntry = new Entry(optionPath, optionChain, option, null, null,
+                ImmutableMap.of());
+        final Map<String, Entry> choices = new LinkedHashMap<>();
+
+        option.getChoices().values().forEach(choice -> {
+            final String choicePath = optionPath + CHOICE_SEPARATOR + choice.getValue();
+            final Entry choiceEntry = new Entry(choicePath, append(optionChain, choice), choice,
+                    null, null, ImmutableMap.of());
+
+            choices.put(choice.getValue(), choiceEntry);
+            entries.put(choicePath, choiceEntry);
+        });
+
+        entries.put(path,
+                new Entry(path, chain, handler, option.getName(), optionEntry, choices));
+        entries.put(optionPath, optionEntry);
+    }
+
+    @NonNull
+    private static List<AbstractCommandNode<?>> append(
+            @NonNull final List<AbstractCommandNode<?>> chain,
+            @NonNull final AbstractCommandNode<?> node) {
+        final List<AbstractCommandNode<?>> appended = new ArrayList<>(chain);
+
+        appended.add(node);
+        return appended;
+    }
+
+    /**
+     * Resolves the entry of an interaction.
+     *
+     * @param event the interaction event
+     * @return the entry
+     * @throws CommandErrorException if the interaction does not match a compiled path
+     */
+    @NonNull
+    public Entry resolve(@NonNull final SlashCommandInteractionEvent event)
+            throws CommandErrorException {
+        final String path = path(event);
+        final Entry entry = this.entries.get(path);
+
+        if (entry == null) {
+            throw new CommandErrorException("Could not find command path '" + path + "'.");
+        }
+
+        if (entry.option == null) {
+            return entry;
+        }
+
+        final OptionMapping mapping = event.getOption(entry.option);
+
+        if (mapping == null) {
+            throw new CommandErrorException("Could not find option.");
+        }
+
+        final Entry choice = entry.choices.get(mapping.getAsString());
+
+        return choice == null ? entry.optionEntry : choice;
+    }
+
+    /**
+     * Gets the command path of an interaction, without options.
+     *
+     * @param event the interaction event
+     * @return the path, {@code root[/group][/sub]}
+     */
+    @NonNull
+    public static String path(@NonNull final CommandInteractionPayload event) {
+        final String group = event.getSubcommandGroup();
+        final String subcommand = event.getSubcommandName();
+
+        if (group == null && subcommand == null) {
+            return event.getName();
+        }
+
+        final StringBuilder path = new StringBuilder(event.getName());
+
+        if (group != null) {
+            path.append(SEPARATOR).append(group);
+        }
+
+        if (subcommand != null) {
+            path.append(SEPARATOR).append(subcommand);
+        }
+
+        return path.toString();
+    }
+
+    /**
+     * Resolves and executes an interaction.
+     *
+     * @param context the interaction context
+     * @return the resulting action
+     */
+    @NonNull
+    public CommandResult dispatch(@NonNull final InteractionContext context) {
+        return this.resolve(context.getEvent()).execute(context);
+    }
+
+    /**
+     * Computes the choices of an autocomplete interaction.
+     * No choices are suggested if the focused option is not autocompletable or the member
+     * lacks a permission of its path.
+     *
+     * @param context the autocomplete context
+     * @return the choices, at most {@value OptionData#MAX_CHOICES}
+     */
+    @NonNull
+    public List<Command.Choice> complete(@NonNull final AutoCompleteContext context) {
+        final Completion completion = this.completions.get(
+                path(context.getEvent()) + SEPARATOR + context.getOptionName());
+
+        return completion == null ? Collections.emptyList() : completion.complete(context);
+    }
+
+    /**
+     * If any path has a timeout, so interactions without one do not have to be resolved twice.
+     *
+     * @return true, if any path has a timeout
+     */
+    public boolean hasTimeouts() {
+        return this.timeouts;
+    }
+
+    /**
+     * If any path is guarded by a circuit breaker.
+     *
+     * @return true, if any path has a circuit breaker
+     */
+    public boolean hasCircuitBreakers() {
+        return this.circuitBreakers;
+    }
+
+    /**
+     * Gets all compiled entries by their path.
+     *
+     * @return the entries
+     */
+    @NonNull
+    public Map<String, Entry> getEntries() {
+        return this.entries;
+    }
+
+    /**
+     * Gets all compiled completions by the path of their option.
+     *
+     * @return the completions
+     */
+    @NonNull
+    public Map<String, Completion> getCompletions() {
+        return this.completions;
+    }
+
+    public static class Entry {
+
+        @NonNull
+        private final String path;
+        @NonNull
+        private final AbstractCommandNode<?>[] permissionChain;
+        @NonNull
+        private final NodePolicy[] policies;
+        // the shortest timeout of the chain
+        @Nullable
+        private final Duration timeout;
+        @NonNull
+        private final CircuitBreaker[] circuitBreakers;
+        @NonNull
+        private final FunctionHandler handler;
+        @Nullable
+        private final Runnable executeAfter;
+        // the single option this path delegates to, if any
+        @Nullable
+        private final String option;
+        @Nullable
+        private final Entry optionEntry;
+        @NonNull
+        private final Map<String, Entry> choices;
+
+        private Entry(@NonNull final String path,
+                @NonNull final List<AbstractCommandNode<?>> chain,
+                @NonNull final FunctionHandler handler, @Nullable final String option,
+                @Nullable final Entry optionEntry, @NonNull final Map<String, Entry> choices) {
+            this.path = path;
+            // nodes without a required permission do not have to be checked
+            this.permissionChain = chain.stream()
+                    .filter(node -> node.getPermission() != DiscordPermission.NONE)
+                    .toArray(AbstractCommandNode<?>[]::new);
+            this.policies = chain.stream().map(AbstractCommandNode::getPolicy)
+                    .filter(policy -> !policy.isEmpty()).toArray(NodePolicy[]::new);
+            this.timeout = Arrays.stream(this.policies).map(NodePolicy::getTimeout)
+                    .filter(Objects::nonNull).min(Comparator.naturalOrder()).orElse(null);
+            this.circuitBreakers = Arrays.stream(this.policies)
+                    .map(NodePolicy::getCircuitBreaker).filter(Objects::nonNull)
+                    .toArray(CircuitBreaker[]::new);
+            this.handler = handler;
+            this.executeAfter = handler.getExecuteAfter();
+            this.option = option;
+            this.optionEntry = optionEntry;
+            this.choices = ImmutableMap.copyOf(choices);
+        }
+
+        /**
+         * Checks the permissions of the chain, enforces the policies of its nodes and executes
+         * the handler. If the context is instrumented, the latencies of both are recorded.
+         *
+         * @param context the interaction context
+         * @return the resulting action
+         */
+        @NonNull
+        public CommandResult execute(@NonNull final InteractionContext context) {
+            final CommandMetrics metrics = context.getMetrics();
+
+            if (metrics == null) {
+                for (final AbstractCommandNode<?> node : this.permissionChain) {
+                    node.checkPermission(context, node.getPermission());
+                }
+
+                this.enforcePolicies(context);
+                return this.handler.execute(context);
+            }
+
+            if (this.permissionChain.length != 0) {
+                final long start = System.nanoTime();
+
+                try {
+                    for (final AbstractCommandNode<?> node : this.permissionChain) {
+                        node.checkPermission(context, node.getPermission());
+                    }
+                } finally {
+                    metrics.recordSince(CommandStage.PERMISSION, start);
+                }
+            }
+
+            this.enforcePolicies(context);
+
+            final long start = System.nanoTime();
+            final CommandResult result = this.handler.execute(context);
+            final CompletableFuture<?> message = result.getMessageFuture();
+
+            // asynchronous functions are applied once their response is created
+            if (message.isDone()) {
+                metrics.recordSince(CommandStage.APPLY, start);
+            } else {
+                message.whenComplete(
+                        (ignored, throwable) -> metrics.recordSince(CommandStage.APPLY, start));
+            }
+
+            return result;
+        }
+
+        @NonNull
+        public String getPath() {
+            return this.path;
+        }
+
+        /**
+         * Acquires the rate limits of the chain, then its circuit breakers. If any of them
+         * rejects the interaction, the permits acquired before are released, so a rejected
+         * interaction does not drain the buckets of other nodes or take their probes.
+         * The permits of the circuit breakers are kept in the context to record the outcome.
+         */
+        private void enforcePolicies(@NonNull final InteractionContext context) {
+            for (int i = 0; i < this.policies.length; i++) {
+                try {
+                    this.policies[i].acquire(context);
+                } catch (final RateLimitedException e) {
+                    this.releasePolicies(context, i);
+                    throw e;
+                }
+            }
+
+            if (this.circuitBreakers.length == 0) {
+                return;
+            }
+
+            final long now = System.nanoTime();
+            final long[] permits = new long[this.circuitBreakers.length];
+
+            for (int i = 0; i < permits.length; i++) {
+                permits[i] = this.circuitBreakers[i].tryAcquire(now);
+
+                if (permits[i] == CircuitBreaker.REJECTED) {
+                    for (int j = 0; j < i; j++) {
+                        this.circuitBreakers[j].release(permits[j]);
+                    }
+
+                    this.releasePolicies(context, this.policies.length);
+                    throw new CircuitOpenException();
+                }
+            }
+
+            context.setCircuitPermits(permits);
+        }
+
+        private void releasePolicies(@NonNull final InteractionContext context, final int count) {
+            for (int i = 0; i < count; i++) {
+                this.policies[i].release(context);
+            }
+        }
+
+        /**
+         * If the circuit breakers of the path would execute an interaction.
+         *
+         * @param now the current time, as of {@link System#nanoTime()}
+         * @return true, if no circuit breaker is open
+         */
+        public boolean isCallPermitted(final long now) {
+            for (final CircuitBreaker circuitBreaker : this.circuitBreakers) {
+                if (!circuitBreaker.isCallPermitted(now)) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+
+        /**
+         * Records the outcome of an interaction in the circuit breakers of the path.
+         * Interactions which did not acquire the circuit breakers are not recorded.
+         *
+         * @param context   the interaction context
+         * @param throwable the exception the interaction failed with, or null if successful
+         * @param latency   the latency in nanoseconds
+         */
+        public void record(@NonNull final InteractionContext context,
+                @Nullable final Throwable throwable, final long latency) {
+            final long[] permits = context.getCircuitPermits();
+
+            if (permits == null) {
+                return;
+            }
+
+            for (int i = 0; i < permits.length; i++) {
+                this.circuitBreakers[i].record(permits[i], throwable, latency);
+            }
+        }
+
+        /**
+         * Records an interaction which timed out in the circuit breakers of the path.
+         *
+         * @param context the interaction context
+         */
+        public void recordTimeout(@NonNull final InteractionContext context) {
+            final long[] permits = context.getCircuitPermits();
+
+            if (permits == null) {
+                return;
+            }
+
+            for (int i = 0; i < permits.length; i++) {
+                this.circuitBreakers[i].recordTimeout(permits[i]);
+            }
+        }
+
+        public boolean hasCircuitBreakers() {
+            return this.circuitBreakers.length != 0;
+        }
+
+        /**
+         * Gets the state of the path, i.e. the most restrictive state of its circuit breakers.
+         *
+         * @return the state, closed if the path has no circuit breaker
+         */
+        @NonNull
+        public CircuitState getCircuitState() {
+            CircuitState state = CircuitState.CLOSED;
+
+            for (final CircuitBreaker circuitBreaker : this.circuitBreakers) {
+                final CircuitState breakerState = circuitBreaker.getState();
+
+                if (breakerState == CircuitState.OPEN) {
+                    return breakerState;
+                } else if (breakerState == CircuitState.HALF_OPEN) {
+                    state = breakerState;
+                }
+            }
+
+            return state;
+        }
+
+        @NonNull
+        public List<CircuitBreaker> getCircuitBreakers() {
+            return Collections.unmodifiableList(Arrays.asList(this.circuitBreakers));
+        }
+
+        /**
+         * Gets the time the command function may take to create its response, see
+         * {@link de.alphaconqueror.discord.bot.utils.command.InteractionDeadline}.
+         *
+         * @return the timeout, or null if unlimited
+         */
+        @Nullable
+        public Duration getTimeout() {
+            return this.timeout;
+        }
+
+        @NonNull
+        public List<AbstractCommandNode<?>> getPermissionChain() {
+            return Collections.unmodifiableList(Arrays.asList(this.permissionChain));
+        }
+
+        @NonNull
+        public FunctionHandler getHandler() {
+            return this.handler;
+        }
+
+        @Nullable
+        public Runnable getExecuteAfter() {
+            return this.executeAfter;
+        }
+    }
+
+    public static class Completion {
+
+        @NonNull
+        private final String path;
+        @NonNull
+        private final AbstractCommandNode<?>[] permissionChain;
+        @NonNull
+        private final AutoCompleteFunction function;
+
+        private Completion(@NonNull final String path,
+                @NonNull final List<AbstractCommandNode<?>> chain,
+                @NonNull final AutoCompleteFunction function) {
+            this.path = path;
+            this.permissionChain = chain.stream()
+                    .filter(node -> node.getPermission() != DiscordPermission.NONE)
+                    .toArray(AbstractCommandNode<?>[]::new);
+            this.function = function;
+        }
+
+        /**
+         * Checks the permissions of the chain and computes the choices.
+         *
+         * @param context the autocomplete context
+         * @return the choices, at most {@value OptionData#MAX_CHOICES}
+         */
+        @NonNull
+        public List<Command.Choice> complete(@NonNull final AutoCompleteContext context) {
+            if (this.permissionChain.length != 0) {
+                final Member member = context.getMember();
+
+                if (member == null) {
+                    return Collections.emptyList();
+                }
+
+                final PermissionManager permissionManager =
+                        context.getClient().getPermissionManager();
+
+                for (final AbstractCommandNode<?> node : this.permissionChain) {
+                    if (!permissionManager.hasPermission(member.getGuild(), member,
+                            node.getPermission())) {
+                        return Collections.emptyList();
+                    }
+                }
+            }
+
+            final List<Command.Choice> choices = this.function.complete(context);
+
+            return choices.size() > OptionData.MAX_CHOICES
+                    ? choices.subList(0, OptionData.MAX_CHOICES) : choices;
+        }
+
+        @NonNull
+        public String getPath() {
+            return this.path;
+        }
+
+        @NonNull
+        public List<AbstractCommandNode<?>> getPermissionChain() {
+            return Collections.unmodifiableList(Arrays.asList(this.permissionChain));
+        }
+
+        @NonNull
+        public AutoCompleteFunction getFunction() {
+            return this.function;
+        }
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.alphaconqueror.discord.bot.utils.command.builder.node;
+
+import de.alphaconqueror.discord.bot.utils.command.InteractionContext;
+import de.alphaconqueror.discord.bot.utils.command.breaker.CircuitBreaker;
+import de.alphaconqueror.discord.bot.utils.command.ratelimit.RateLimitedException;
+import de.alphaconqueror.discord.bot.utils.command.ratelimit.RateLimiter;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * How the interactions of a node are executed, beside its permission, e.g. its rate limits,
+ * timeout and circuit breaker.
+ * Policies apply to all paths through the node and are enforced by the
+ * {@link DispatchTable} before the command function is applied.
+ */
+public final class NodePolicy {
+
+    /**
+     * The policy of nodes which do not restrict their execution.
+     */
+    public static final NodePolicy NONE = new NodePolicy(Collections.emptyList(), null, null);
+
+    @NonNull
+    private final RateLimiter[] rateLimiters;
+    @Nullable
+    private final Duration timeout;
+    @Nullable
+    private final CircuitBreaker circuitBreaker;
+
+    public NodePolicy(@NonNull final List<RateLimiter> rateLimiters,
+            @Nullable final Duration timeout, @Nullable final CircuitBreaker circuitBreaker) {
+        this.rateLimiters = rateLimiters.toArray(new RateLimiter[0]);
+        this.timeout = timeout;
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    /**
+     * Acquires a permit of every rate limiter. If a rate limit is exceeded, the permits which
+     * have already been acquired are released.
+     *
+     * @param context the interaction context
+     * @throws RateLimitedException if a rate limit is exceeded
+     */
+    public void acquire(@NonNull final InteractionContext context) throws RateLimitedException {
+        for (int i = 0; i < this.rateLimiters.length; i++) {
+            try {
+                this.rateLimiters[i].acquire(context.getEvent());
+            } catch (final RateLimitedException e) {
+                this.release(context, i);
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Releases the permits of every rate limiter, e.g. if another node rejected the
+     * interaction after they have been acquired.
+     *
+     * @param context the interaction context
+     */
+    public void release(@NonNull final InteractionContext context) {
+        this.release(context, this.rateLimiters.length);
+    }
+
+    private void release(@NonNull final InteractionContext context, final int count) {
+        for (int i = 0; i < count; i++) {
+            this.rateLimiters[i].release(context.getEvent());
+        }
+    }
+
+    /**
+     * If the policy restricts the execution of the node.
+     *
+     * @return true, if there is nothing to enforce
+     */
+    public boolean isEmpty() {
+        return this.rateLimiters.length == 0 && this.timeout == null
+                && this.circuitBreaker == null;
+    }
+
+    @NonNull
+    public List<RateLimiter> getRateLimiters() {
+        return Collections.unmodifiableList(Arrays.asList(this.rateLimiters));
+    }
+
+    /**
+     * Gets the time the command function of the node may take to create its response.
+     *
+     * @return the timeout, or null if unlimited
+     */
+    @Nullable
+    public Duration getTimeout() {
+        return this.timeout;
+    }
+
+    @Nullable
+    public CircuitBreaker getCircuitBreaker() {
+        return this.circuitBreaker;
+    }
+}
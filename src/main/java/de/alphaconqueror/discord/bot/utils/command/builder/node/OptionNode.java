@@ -25,6 +25,8 @@
 package de.alphaconqueror.discord.bot.utils.command.builder.node;
 
 import de.alphaconqueror.discord.bot.utils.command.InteractionContext;
+import de.alphaconqueror.discord.bot.utils.command.abstraction.AsyncCommandFunction;
+import de.alphaconqueror.discord.bot.utils.command.abstraction.AutoCompleteFunction;
 import de.alphaconqueror.discord.bot.utils.command.abstraction.CommandFunction;
 import de.alphaconqueror.discord.bot.utils.command.abstraction.CommandResult;
 import de.alphaconqueror.discord.bot.utils.command.abstraction.FunctionHandler;
@@ -48,20 +50,50 @@ public class OptionNode extends AbstractCommandNode<OptionData> implements Funct
     @Nullable
     private final CommandFunction function;
     @Nullable
+    private final AsyncCommandFunction asyncFunction;
+    @Nullable
     private final Runnable executeAfter;
+    @Nullable
+    private final AutoCompleteFunction autoCompleteFunction;
 
     public OptionNode(@NonNull final String name, @NonNull final String description,
             @NonNull final Permission requiredPermission, @NonNull final OptionType type,
             final boolean isRequired, final boolean isAutoComplete,
             @NonNull final Map<String, ChoiceNode> choices,
             @Nullable final CommandFunction function, @Nullable final Runnable executeAfter) {
-        super(name, description, requiredPermission);
+        this(name, description, requiredPermission, type, isRequired, isAutoComplete, choices,
+                function, null, executeAfter);
+    }
+
+    public OptionNode(@NonNull final String name, @NonNull final String description,
+            @NonNull final Permission requiredPermission, @NonNull final OptionType type,
+            final boolean isRequired, final boolean isAutoComplete,
+            @NonNull final Map<String, ChoiceNode> choices,
+            @Nullable final CommandFunction function,
+            @Nullable final AsyncCommandFunction asyncFunction,
+            @Nullable final Runnable executeAfter) {
+        this(name, description, requiredPermission, type, isRequired, isAutoComplete, choices,
+                function, asyncFunction, executeAfter, null, NodePolicy.NONE);
+    }
+
+    public OptionNode(@NonNull final String name, @NonNull final String description,
+            @NonNull final Permission requiredPermission, @NonNull final OptionType type,
+            final boolean isRequired, final boolean isAutoComplete,
+            @NonNull final Map<String, ChoiceNode> choices,
+            @Nullable final CommandFunction function,
+            @Nullable final AsyncCommandFunction asyncFunction,
+            @Nullable final Runnable executeAfter,
+            @Nullable final AutoCompleteFunction autoCompleteFunction,
+            @NonNull final NodePolicy policy) {
+        super(name, description, requiredPermission, policy);
         this.type = type;
         this.isRequired = isRequired;
-        this.isAutoComplete = isAutoComplete;
+        this.isAutoComplete = isAutoComplete || autoCompleteFunction != null;
         this.choices = choices;
         this.function = function;
+        this.asyncFunction = asyncFunction;
         this.executeAfter = executeAfter;
+        this.autoCompleteFunction = autoCompleteFunction;
     }
 
     @NotNull
@@ -75,7 +107,7 @@ public class OptionNode extends AbstractCommandNode<OptionData> implements Funct
 
     @Override
     public boolean hasFunction() {
-        return this.function != null;
+        return this.function != null || this.asyncFunction != null;
     }
 
     @NonNull
@@ -84,17 +116,50 @@ public class OptionNode extends AbstractCommandNode<OptionData> implements Funct
         return this.function == null ? this.getAlternativeFunction() : this.function;
     }
 
+    @Override
+    public @Nullable AsyncCommandFunction getAsyncFunction() {
+        return this.asyncFunction;
+    }
+
     @Override
     public @Nullable Runnable getExecuteAfter() {
         return this.executeAfter;
     }
 
+    @NonNull
+    public OptionType getType() {
+        return this.type;
+    }
+
+    public boolean isRequired() {
+        return this.isRequired;
+    }
+
+    public boolean isAutoComplete() {
+        return this.isAutoComplete;
+    }
+
+    /**
+     * Gets the function suggesting choices while the option is typed in.
+     *
+     * @return the autocomplete function, or null if none has been set
+     */
+    @Nullable
+    public AutoCompleteFunction getAutoCompleteFunction() {
+        return this.autoCompleteFunction;
+    }
+
+    @NonNull
+    public Map<String, ChoiceNode> getChoices() {
+        return this.choices;
+    }
+
     @Override
     protected CommandResult onInteraction(@NonNull final InteractionContext context) {
         final ChoiceNode choice = this.choices.get(context.getOption(this.name).getAsString());
 
         if (choice == null) {
-            return new CommandResult(this.getFunction().apply(context), this.executeAfter);
+            return this.execute(context);
         }
 
         return choice.interact(context);
@@ -26,6 +26,7 @@ package de.alphaconqueror.discord.bot.utils.command.builder.node;
 
 import de.alphaconqueror.discord.bot.utils.command.CommandErrorException;
 import de.alphaconqueror.discord.bot.utils.command.InteractionContext;
+import de.alphaconqueror.discord.bot.utils.command.abstraction.AsyncCommandFunction;
 import de.alphaconqueror.discord.bot.utils.command.abstraction.CommandFunction;
 import de.alphaconqueror.discord.bot.utils.command.abstraction.CommandResult;
 import de.alphaconqueror.discord.bot.utils.command.abstraction.OptionHandler;
@@ -54,7 +55,13 @@ public class RootCommandNode extends AbstractCommandNode<SlashCommandData> imple
     @Nullable
     private final CommandFunction function;
     @Nullable
+    private final AsyncCommandFunction asyncFunction;
+    @Nullable
     private final Runnable executeAfter;
+    private final boolean stateless;
+    private final int maxPending;
+    @NonNull
+    private final DispatchTable dispatchTable;
 
     public RootCommandNode(@NonNull final String name, @NonNull final String description,
             @NonNull final DefaultMemberPermissions defaultPermissions, final boolean guildOnly,
@@ -63,14 +70,46 @@ public class RootCommandNode extends AbstractCommandNode<SlashCommandData> imple
             @NonNull final Map<String, SubcommandNode> subcommands,
             @NonNull final Map<String, OptionNode> options,
             @Nullable final CommandFunction function, @Nullable final Runnable executeAfter) {
-        super(name, description, requiredPermission);
+        this(name, description, defaultPermissions, guildOnly, requiredPermission,
+                subcommandGroups, subcommands, options, function, null, executeAfter);
+    }
+
+    public RootCommandNode(@NonNull final String name, @NonNull final String description,
+            @NonNull final DefaultMemberPermissions defaultPermissions, final boolean guildOnly,
+            @NonNull final Permission requiredPermission,
+            @NonNull final Map<String, SubcommandGroupNode> subcommandGroups,
+            @NonNull final Map<String, SubcommandNode> subcommands,
+            @NonNull final Map<String, OptionNode> options,
+            @Nullable final CommandFunction function,
+            @Nullable final AsyncCommandFunction asyncFunction,
+            @Nullable final Runnable executeAfter) {
+        this(name, description, defaultPermissions, guildOnly, requiredPermission,
+                subcommandGroups, subcommands, options, function, asyncFunction, executeAfter,
+                false, 0, NodePolicy.NONE);
+    }
+
+    public RootCommandNode(@NonNull final String name, @NonNull final String description,
+            @NonNull final DefaultMemberPermissions defaultPermissions, final boolean guildOnly,
+            @NonNull final Permission requiredPermission,
+            @NonNull final Map<String, SubcommandGroupNode> subcommandGroups,
+            @NonNull final Map<String, SubcommandNode> subcommands,
+            @NonNull final Map<String, OptionNode> options,
+            @Nullable final CommandFunction function,
+            @Nullable final AsyncCommandFunction asyncFunction,
+            @Nullable final Runnable executeAfter, final boolean stateless,
+            final int maxPending, @NonNull final NodePolicy policy) {
+        super(name, description, requiredPermission, policy);
         this.defaultPermissions = defaultPermissions;
         this.guildOnly = guildOnly;
         this.subcommands = subcommands;
         this.subcommandGroups = subcommandGroups;
         this.options = options;
         this.function = function;
+        this.asyncFunction = asyncFunction;
         this.executeAfter = executeAfter;
+        this.stateless = stateless;
+        this.maxPending = maxPending;
+        this.dispatchTable = DispatchTable.compile(this);
     }
 
     @NotNull
@@ -89,7 +128,7 @@ public class RootCommandNode extends AbstractCommandNode<SlashCommandData> imple
 
     @Override
     public boolean hasFunction() {
-        return this.function != null;
+        return this.function != null || this.asyncFunction != null;
     }
 
     @Override
@@ -97,6 +136,11 @@ public class RootCommandNode extends AbstractCommandNode<SlashCommandData> imple
         return this.function == null ? this.getAlternativeFunction() : this.function;
     }
 
+    @Override
+    public @Nullable AsyncCommandFunction getAsyncFunction() {
+        return this.asyncFunction;
+    }
+
     @Override
     public @Nullable Runnable getExecuteAfter() {
         return this.executeAfter;
@@ -107,6 +151,52 @@ public class RootCommandNode extends AbstractCommandNode<SlashCommandData> imple
         return this.options;
     }
 
+    @NonNull
+    public Map<String, SubcommandGroupNode> getSubcommandGroups() {
+        return this.subcommandGroups;
+    }
+
+    @NonNull
+    public Map<String, SubcommandNode> getSubcommands() {
+        return this.subcommands;
+    }
+
+    /**
+     * If the interactions of the command may run in any order, see
+     * {@link de.alphaconqueror.discord.bot.utils.command.builder.RootCommandBuilder#stateless()}.
+     *
+     * @return true, if stateless
+     */
+    public boolean isStateless() {
+        return this.stateless;
+    }
+
+    /**
+     * Gets the maximum number of pending interactions of the command, overriding the
+     * configured limit.
+     *
+     * @return the maximum number of pending interactions, or 0 if not set
+     */
+    public int getMaxPending() {
+        return this.maxPending;
+    }
+
+    @NonNull
+    public DispatchTable getDispatchTable() {
+        return this.dispatchTable;
+    }
+
+    /**
+     * Dispatches the interaction through the compiled dispatch table.
+     *
+     * @param context the interaction context
+     * @return the resulting action
+     */
+    @Override
+    public CommandResult interact(@NonNull final InteractionContext context) {
+        return this.dispatchTable.dispatch(context);
+    }
+
     @Override
     protected CommandResult onInteraction(@NonNull final InteractionContext context) {
         final SlashCommandInteractionEvent event = context.getEvent();
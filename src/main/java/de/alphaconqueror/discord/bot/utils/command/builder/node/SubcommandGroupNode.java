@@ -26,6 +26,7 @@ package de.alphaconqueror.discord.bot.utils.command.builder.node;
 
 import de.alphaconqueror.discord.bot.utils.command.CommandErrorException;
 import de.alphaconqueror.discord.bot.utils.command.InteractionContext;
+import de.alphaconqueror.discord.bot.utils.command.abstraction.AsyncCommandFunction;
 import de.alphaconqueror.discord.bot.utils.command.abstraction.CommandFunction;
 import de.alphaconqueror.discord.bot.utils.command.abstraction.CommandResult;
 import de.alphaconqueror.discord.bot.utils.command.abstraction.FunctionHandler;
@@ -43,15 +44,38 @@ public class SubcommandGroupNode extends AbstractCommandNode<SubcommandGroupData
     @Nullable
     private final CommandFunction function;
     @Nullable
+    private final AsyncCommandFunction asyncFunction;
+    @Nullable
     private final Runnable executeAfter;
 
     public SubcommandGroupNode(@NonNull final String name, @NonNull final String description,
             @NonNull final Permission requiredPermission,
             @NonNull final Map<String, SubcommandNode> subcommands,
             @Nullable final CommandFunction function, @Nullable final Runnable executeAfter) {
-        super(name, description, requiredPermission);
+        this(name, description, requiredPermission, subcommands, function, null,
+                executeAfter);
+    }
+
+    public SubcommandGroupNode(@NonNull final String name, @NonNull final String description,
+            @NonNull final Permission requiredPermission,
+            @NonNull final Map<String, SubcommandNode> subcommands,
+            @Nullable final CommandFunction function,
+            @Nullable final AsyncCommandFunction asyncFunction,
+            @Nullable final Runnable executeAfter) {
+        this(name, description, requiredPermission, subcommands, function, asyncFunction,
+                executeAfter, NodePolicy.NONE);
+    }
+
+    public SubcommandGroupNode(@NonNull final String name, @NonNull final String description,
+            @NonNull final Permission requiredPermission,
+            @NonNull final Map<String, SubcommandNode> subcommands,
+            @Nullable final CommandFunction function,
+            @Nullable final AsyncCommandFunction asyncFunction,
+            @Nullable final Runnable executeAfter, @NonNull final NodePolicy policy) {
+        super(name, description, requiredPermission, policy);
         this.subcommands = subcommands;
         this.function = function;
+        this.asyncFunction = asyncFunction;
         this.executeAfter = executeAfter;
     }
 
@@ -63,7 +87,7 @@ public class SubcommandGroupNode extends AbstractCommandNode<SubcommandGroupData
 
     @Override
     public boolean hasFunction() {
-        return this.function != null;
+        return this.function != null || this.asyncFunction != null;
     }
 
     @Override
@@ -71,11 +95,21 @@ public class SubcommandGroupNode extends AbstractCommandNode<SubcommandGroupData
         return this.function == null ? this.getAlternativeFunction() : this.function;
     }
 
+    @Override
+    public @Nullable AsyncCommandFunction getAsyncFunction() {
+        return this.asyncFunction;
+    }
+
     @Override
     public @Nullable Runnable getExecuteAfter() {
         return this.executeAfter;
     }
 
+    @NonNull
+    public Map<String, SubcommandNode> getSubcommands() {
+        return this.subcommands;
+    }
+
     @Override
     protected CommandResult onInteraction(@NonNull final InteractionContext context) {
         final SlashCommandInteractionEvent event = context.getEvent();
@@ -90,6 +124,6 @@ public class SubcommandGroupNode extends AbstractCommandNode<SubcommandGroupData
             node.interact(context);
         }
 
-        return new CommandResult(this.getFunction().apply(context), this.executeAfter);
+        return this.execute(context);
     }
 }
@@ -25,6 +25,7 @@
 package de.alphaconqueror.discord.bot.utils.command.builder.node;
 
 import de.alphaconqueror.discord.bot.utils.command.InteractionContext;
+import de.alphaconqueror.discord.bot.utils.command.abstraction.AsyncCommandFunction;
 import de.alphaconqueror.discord.bot.utils.command.abstraction.CommandFunction;
 import de.alphaconqueror.discord.bot.utils.command.abstraction.CommandResult;
 import de.alphaconqueror.discord.bot.utils.command.abstraction.OptionHandler;
@@ -42,15 +43,37 @@ public class SubcommandNode extends AbstractCommandNode<SubcommandData> implemen
     @Nullable
     private final CommandFunction function;
     @Nullable
+    private final AsyncCommandFunction asyncFunction;
+    @Nullable
     private final Runnable executeAfter;
 
     public SubcommandNode(@NonNull final String name, @NonNull final String description,
             @NonNull final Permission requiredPermission,
             @NonNull final Map<String, OptionNode> options,
             @Nullable final CommandFunction function, @Nullable final Runnable executeAfter) {
-        super(name, description, requiredPermission);
+        this(name, description, requiredPermission, options, function, null, executeAfter);
+    }
+
+    public SubcommandNode(@NonNull final String name, @NonNull final String description,
+            @NonNull final Permission requiredPermission,
+            @NonNull final Map<String, OptionNode> options,
+            @Nullable final CommandFunction function,
+            @Nullable final AsyncCommandFunction asyncFunction,
+            @Nullable final Runnable executeAfter) {
+        this(name, description, requiredPermission, options, function, asyncFunction,
+                executeAfter, NodePolicy.NONE);
+    }
+
+    public SubcommandNode(@NonNull final String name, @NonNull final String description,
+            @NonNull final Permission requiredPermission,
+            @NonNull final Map<String, OptionNode> options,
+            @Nullable final CommandFunction function,
+            @Nullable final AsyncCommandFunction asyncFunction,
+            @Nullable final Runnable executeAfter, @NonNull final NodePolicy policy) {
+        super(name, description, requiredPermission, policy);
         this.options = options;
         this.function = function;
+        this.asyncFunction = asyncFunction;
         this.executeAfter = executeAfter;
 
         this.checkConditions();
@@ -66,7 +89,7 @@ public class SubcommandNode extends AbstractCommandNode<SubcommandData> implemen
 
     @Override
     public boolean hasFunction() {
-        return this.function != null;
+        return this.function != null || this.asyncFunction != null;
     }
 
     @Override
@@ -74,6 +97,11 @@ public class SubcommandNode extends AbstractCommandNode<SubcommandData> implemen
         return this.function == null ? this.getAlternativeFunction() : this.function;
     }
 
+    @Override
+    public @Nullable AsyncCommandFunction getAsyncFunction() {
+        return this.asyncFunction;
+    }
+
     @Override
     public @Nullable Runnable getExecuteAfter() {
         return this.executeAfter;
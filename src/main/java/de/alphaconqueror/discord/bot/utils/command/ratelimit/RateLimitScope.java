@@ -0,0 +1,66 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.alphaconqueror.discord.bot.utils.command.ratelimit;
+
+import net.dv8tion.jda.api.entities.Guild;
+import net.dv8tion.jda.api.interactions.Interaction;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * What a {@link RateLimiter} limits, i.e. who shares a token bucket.
+ */
+public enum RateLimitScope {
+    /**
+     * Every user has a bucket.
+     */
+    USER,
+    /**
+     * Every guild has a bucket, users in direct messages have their own.
+     */
+    GUILD,
+    /**
+     * All users share a single bucket.
+     */
+    COMMAND;
+
+    /**
+     * Gets the key of the bucket of an interaction.
+     *
+     * @param interaction the interaction
+     * @return the key
+     */
+    public long keyOf(@NonNull final Interaction interaction) {
+        switch (this) {
+            case USER:
+                return interaction.getUser().getIdLong();
+            case GUILD:
+                final Guild guild = interaction.getGuild();
+
+                return guild == null ? interaction.getUser().getIdLong() : guild.getIdLong();
+            default:
+                return 0;
+        }
+    }
+}
@@ -0,0 +1,181 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.alphaconqueror.discord.bot.utils.command.ratelimit;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import net.dv8tion.jda.api.interactions.Interaction;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * Limits interactions to a number of permits per period, with one token bucket per key of
+ * its {@link RateLimitScope}. A bucket holds up to all permits of a period and refills
+ * continuously.
+ * Buckets are a single theoretical arrival time updated by compare-and-set, so acquiring
+ * a permit does not lock. Buckets idle for a period are full and evicted, the number of
+ * buckets is bounded as well.
+ */
+public class RateLimiter {
+
+    /**
+     * The default maximum number of buckets.
+     */
+    public static final long DEFAULT_MAXIMUM_BUCKETS = 10_000;
+
+    @NonNull
+    private final RateLimitScope scope;
+    private final int permits;
+    @NonNull
+    private final Duration period;
+    // the time it takes to refill one permit, in nanoseconds
+    private final long interval;
+    // the time it takes to refill the whole bucket, in nanoseconds
+    private final long capacity;
+    @NonNull
+    private final LoadingCache<Long, AtomicLong> buckets;
+
+    public RateLimiter(@NonNull final RateLimitScope scope, final int permits,
+            @NonNull final Duration period) {
+        this(scope, permits, period, DEFAULT_MAXIMUM_BUCKETS);
+    }
+
+    /**
+     * Creates a rate limiter.
+     *
+     * @param scope          the scope of the buckets
+     * @param permits        the permits per period
+     * @param period         the period
+     * @param maximumBuckets the maximum number of buckets
+     */
+    public RateLimiter(@NonNull final RateLimitScope scope, final int permits,
+            @NonNull final Duration period, final long maximumBuckets) {
+        if (permits < 1 || period.isNegative() || period.isZero()) {
+            throw new IllegalArgumentException("Permits and period have to be positive.");
+        }
+
+        this.scope = scope;
+        this.permits = permits;
+        this.period = period;
+        this.interval = Math.max(1, period.toNanos() / permits);
+        this.capacity = this.interval * permits;
+        this.buckets = CacheBuilder.newBuilder().maximumSize(maximumBuckets)
+                .expireAfterAccess(period)
+                .build(CacheLoader.from(() -> new AtomicLong(Long.MIN_VALUE)));
+    }
+
+    /**
+     * Acquires a permit for an interaction.
+     *
+     * @param interaction the interaction
+     * @throws RateLimitedException if the bucket of the interaction is empty
+     */
+    public void acquire(@NonNull final Interaction interaction) throws RateLimitedException {
+        final long wait = this.tryAcquire(this.scope.keyOf(interaction), System.nanoTime());
+
+        if (wait > 0) {
+            throw new RateLimitedException(Duration.ofNanos(wait));
+        }
+    }
+
+    /**
+     * Tries to acquire a permit of a bucket.
+     *
+     * @param key the key of the bucket
+     * @param now the current time, as of {@link System#nanoTime()}
+     * @return 0 if acquired, otherwise the nanoseconds until the next permit is available
+     */
+    public long tryAcquire(final long key, final long now) {
+        AtomicLong bucket = this.buckets.getIfPresent(key);
+
+        // only a missing bucket locks a segment of the cache to be created
+        if (bucket == null) {
+            bucket = this.buckets.getUnchecked(key);
+        }
+
+        while (true) {
+            // the time the bucket is full again, after taking a permit
+            final long arrival = bucket.get();
+            final long next = Math.max(arrival, now) + this.interval;
+            final long wait = next - now - this.capacity;
+
+            if (wait > 0) {
+                return wait;
+            }
+
+            if (bucket.compareAndSet(arrival, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Gives back a permit acquired for an interaction, e.g. if another limit rejected it.
+     *
+     * @param interaction the interaction
+     */
+    public void release(@NonNull final Interaction interaction) {
+        this.release(this.scope.keyOf(interaction));
+    }
+
+    /**
+     * Gives back a permit of a bucket, which has to be acquired before.
+     *
+     * @param key the key of the bucket
+     */
+    public void release(final long key) {
+        final AtomicLong bucket = this.buckets.getIfPresent(key);
+
+        // a bucket which refilled in the meantime stays full
+        if (bucket != null) {
+            bucket.addAndGet(-this.interval);
+        }
+    }
+
+    @NonNull
+    public RateLimitScope getScope() {
+        return this.scope;
+    }
+
+    public int getPermits() {
+        return this.permits;
+    }
+
+    @NonNull
+    public Duration getPeriod() {
+        return this.period;
+    }
+
+    /**
+     * Gets the number of buckets which have not been evicted yet.
+     *
+     * @return the number of buckets
+     */
+    public long size() {
+        return this.buckets.size();
+    }
+}
@@ -29,6 +29,7 @@ import de.alphaconqueror.discord.bot.utils.command.InteractionContext;
 import de.alphaconqueror.discord.bot.utils.command.abstraction.AbstractCommand;
 import de.alphaconqueror.discord.bot.utils.command.builder.RootCommandBuilder;
 import de.alphaconqueror.discord.bot.utils.command.builder.node.RootCommandNode;
+import de.alphaconqueror.discord.bot.utils.command.registry.BotCommand;
 import de.alphaconqueror.discord.bot.utils.permission.DiscordPermission;
 import de.alphaconqueror.discord.bot.utils.util.Embeds;
 import net.dv8tion.jda.api.EmbedBuilder;
@@ -39,6 +40,7 @@ import net.dv8tion.jda.api.requests.restaction.WebhookMessageCreateAction;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.jetbrains.annotations.NotNull;
 
+@BotCommand
 public class ReloadCommand extends AbstractCommand {
 
     public ReloadCommand(final @NonNull DiscordBotClient client) {
@@ -57,6 +59,7 @@ public class ReloadCommand extends AbstractCommand {
     private WebhookMessageCreateAction<Message> reload(@NonNull final InteractionContext context) {
         try {
             this.client.getConfig().reload();
+            this.client.getPermissionManager().reload();
             return context.getEvent().getHook()
                     .sendMessageEmbeds(Embeds.SUCCESS.apply("Reload complete.")).setEphemeral(true);
         } catch (final RuntimeException e) {
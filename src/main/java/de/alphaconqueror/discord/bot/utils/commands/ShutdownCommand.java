@@ -28,6 +28,7 @@ import de.alphaconqueror.discord.bot.utils.DiscordBotClient;
 import de.alphaconqueror.discord.bot.utils.command.abstraction.AbstractCommand;
 import de.alphaconqueror.discord.bot.utils.command.builder.RootCommandBuilder;
 import de.alphaconqueror.discord.bot.utils.command.builder.node.RootCommandNode;
+import de.alphaconqueror.discord.bot.utils.command.registry.BotCommand;
 import de.alphaconqueror.discord.bot.utils.permission.DiscordPermission;
 import java.awt.Color;
 import net.dv8tion.jda.api.EmbedBuilder;
@@ -36,6 +37,7 @@ import net.dv8tion.jda.api.interactions.commands.DefaultMemberPermissions;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.jetbrains.annotations.NotNull;
 
+@BotCommand
 public class ShutdownCommand extends AbstractCommand {
 
     public ShutdownCommand(final @NonNull DiscordBotClient client) {
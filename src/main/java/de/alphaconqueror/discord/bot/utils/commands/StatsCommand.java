@@ -0,0 +1,197 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.alphaconqueror.discord.bot.utils.commands;
+
+import com.google.common.cache.CacheStats;
+import de.alphaconqueror.discord.bot.utils.DiscordBotClient;
+import de.alphaconqueror.discord.bot.utils.command.InteractionContext;
+import de.alphaconqueror.discord.bot.utils.command.abstraction.AbstractCommand;
+import de.alphaconqueror.discord.bot.utils.command.builder.RootCommandBuilder;
+import de.alphaconqueror.discord.bot.utils.command.builder.node.RootCommandNode;
+import de.alphaconqueror.discord.bot.utils.command.registry.BotCommand;
+import de.alphaconqueror.discord.bot.utils.concurrent.AdmissionLimit;
+import de.alphaconqueror.discord.bot.utils.manager.DiscordManager;
+import de.alphaconqueror.discord.bot.utils.metrics.CommandMetrics;
+import de.alphaconqueror.discord.bot.utils.metrics.CommandStage;
+import de.alphaconqueror.discord.bot.utils.metrics.HistogramSnapshot;
+import de.alphaconqueror.discord.bot.utils.permission.DiscordPermission;
+import java.awt.Color;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import net.dv8tion.jda.api.EmbedBuilder;
+import net.dv8tion.jda.api.Permission;
+import net.dv8tion.jda.api.entities.Message;
+import net.dv8tion.jda.api.interactions.commands.DefaultMemberPermissions;
+import net.dv8tion.jda.api.requests.restaction.WebhookMessageCreateAction;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Shows the runtime performance of the bot. Only recorded values are read, so the command stays
+ * cheap enough to be used during an incident.
+ */
+@BotCommand
+public class StatsCommand extends AbstractCommand {
+
+    // the number of commands listed, to stay within the embed limits
+    private static final int MAX_COMMANDS = 10;
+    // responses and deferrals are REST requests
+    private static final CommandStage[] REST_STAGES = {CommandStage.DEFER, CommandStage.QUEUE};
+
+    public StatsCommand(final @NonNull DiscordBotClient client) {
+        super(client, "stats", "Shows the runtime performance of the bot.");
+    }
+
+    @NonNull
+    @Override
+    protected RootCommandNode build(@NotNull final RootCommandBuilder data) {
+        return data.showFor(
+                        DefaultMemberPermissions.enabledFor(Permission.USE_APPLICATION_COMMANDS))
+                .requires(DiscordPermission.STATS).stateless().executes(this::stats).build();
+    }
+
+    @NonNull
+    private WebhookMessageCreateAction<Message> stats(@NonNull final InteractionContext context) {
+        final DiscordManager discordManager = this.client.getDiscordManager();
+        final double minutes =
+                Math.max(1, discordManager.getMetrics().getUptime().getSeconds()) / 60.0;
+        final List<CommandStats> commands = new ArrayList<>();
+        long restCount = 0;
+        long restSum = 0;
+        long rejected = 0;
+        long completionHits = 0;
+        long completionRequests = 0;
+
+        for (final CommandMetrics metrics : discordManager.getMetrics().getCommands()) {
+            commands.add(new CommandStats(metrics));
+            rejected += metrics.getRejected();
+            completionHits += metrics.getCompletionHits();
+            completionRequests += metrics.getCompletionHits() + metrics.getCompletionMisses();
+
+            for (final CommandStage stage : REST_STAGES) {
+                restCount += metrics.getHistogram(stage).getCount();
+                restSum += metrics.getHistogram(stage).getSum();
+            }
+        }
+
+        commands.sort(Comparator.comparingLong((CommandStats stats) -> stats.interact.getCount())
+                .reversed());
+
+        final StringBuilder description = new StringBuilder("```\n");
+
+        description.append(String.format(Locale.ROOT, "%-20s %8s %8s %8s %8s%n", "command",
+                "per min", "p50", "p99", "p999"));
+        commands.stream().limit(MAX_COMMANDS).forEach(stats -> description.append(
+                String.format(Locale.ROOT, "%-20.20s %8.1f %8s %8s %8s  %d err, %d denied%n",
+                        stats.path, stats.interact.getCount() / minutes,
+                        millis(stats.interact.getValueAtQuantile(0.5)),
+                        millis(stats.interact.getValueAtQuantile(0.99)),
+                        millis(stats.interact.getValueAtQuantile(0.999)), stats.errors,
+                        stats.denied)));
+        description.append("```");
+
+        final EmbedBuilder embed = new EmbedBuilder().setTitle("Stats").setColor(Color.CYAN)
+                .setDescription(commands.isEmpty() ? "No commands executed yet."
+                        : description.toString());
+
+        embed.addField("Gateway ping", discordManager.getJda().getGatewayPing() + "ms", true);
+        embed.addField("REST latency",
+                restCount == 0 ? "-" : millis(restSum / restCount) + " (avg)", true);
+        embed.addField("Uptime",
+                discordManager.getMetrics().getUptime().toMinutes() + "min", true);
+        embed.addField("Command executor", queue(discordManager.getCommandExecutor()), true);
+        embed.addField("Scheduler", queue(discordManager.getScheduler()), true);
+        embed.addField("Pending interactions", pending(discordManager.getAdmission()) + ", "
+                + rejected + " rejected", true);
+        embed.addField("Guild queues",
+                discordManager.getCommandStripes().getQueueDepth() + " queued, "
+                        + discordManager.getCommandStripes().getMaxQueueDepth() + " max", true);
+
+        final CacheStats permissions = this.client.getPermissionManager().getCacheStats();
+
+        embed.addField("Permission cache",
+                percent(permissions.hitRate()) + " hits (" + permissions.requestCount()
+                        + " requests)", true);
+        embed.addField("Autocomplete cache", completionRequests == 0 ? "-"
+                : percent((double) completionHits / completionRequests) + " hits ("
+                        + completionRequests + " requests)", true);
+
+        final Runtime runtime = Runtime.getRuntime();
+        final long used = runtime.totalMemory() - runtime.freeMemory();
+
+        embed.addField("Heap", (used >> 20) + " / " + (runtime.maxMemory() >> 20) + "MB", true);
+
+        return context.getEvent().getHook().sendMessageEmbeds(embed.build()).setEphemeral(true);
+    }
+
+    @NonNull
+    private static String queue(@NonNull final ExecutorService executor) {
+        if (!(executor instanceof ThreadPoolExecutor)) {
+            return "-";
+        }
+
+        final ThreadPoolExecutor pool = (ThreadPoolExecutor) executor;
+
+        return pool.getActiveCount() + "/" + pool.getMaximumPoolSize() + " active, "
+                + pool.getQueue().size() + " queued";
+    }
+
+    @NonNull
+    private static String pending(@NonNull final AdmissionLimit admission) {
+        return admission.getLimit() == 0 ? "unlimited"
+                : admission.getPending() + "/" + admission.getLimit();
+    }
+
+    @NonNull
+    private static String millis(final long nanos) {
+        return String.format(Locale.ROOT, "%.1fms", nanos / 1_000_000.0);
+    }
+
+    @NonNull
+    private static String percent(final double rate) {
+        return String.format(Locale.ROOT, "%.1f%%", rate * 100);
+    }
+
+    private static class CommandStats {
+
+        @NonNull
+        private final String path;
+        @NonNull
+        private final HistogramSnapshot interact;
+        private final long errors;
+        private final long denied;
+
+        private CommandStats(@NonNull final CommandMetrics metrics) {
+            this.path = metrics.getPath();
+            this.interact = metrics.getHistogram(CommandStage.INTERACT).snapshot();
+            this.errors = metrics.getErrors();
+            this.denied = metrics.getDenied();
+        }
+    }
+}
@@ -30,6 +30,7 @@ import de.alphaconqueror.discord.bot.utils.command.abstraction.AbstractCommand;
 import de.alphaconqueror.discord.bot.utils.command.builder.Commands;
 import de.alphaconqueror.discord.bot.utils.command.builder.RootCommandBuilder;
 import de.alphaconqueror.discord.bot.utils.command.builder.node.RootCommandNode;
+import de.alphaconqueror.discord.bot.utils.command.registry.BotCommand;
 import de.alphaconqueror.discord.bot.utils.permission.DiscordPermission;
 import de.alphaconqueror.discord.bot.utils.util.Embeds;
 import net.dv8tion.jda.api.Permission;
@@ -40,6 +41,7 @@ import net.dv8tion.jda.api.requests.restaction.WebhookMessageCreateAction;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.jetbrains.annotations.NotNull;
 
+@BotCommand
 public class SyncCommand extends AbstractCommand {
 
     public SyncCommand(final @NonNull DiscordBotClient client) {
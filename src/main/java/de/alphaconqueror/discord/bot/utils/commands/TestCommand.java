@@ -26,8 +26,10 @@ package de.alphaconqueror.discord.bot.utils.commands;
 
 import de.alphaconqueror.discord.bot.utils.DiscordBotClient;
 import de.alphaconqueror.discord.bot.utils.command.abstraction.AbstractCommand;
+import de.alphaconqueror.discord.bot.utils.command.registry.BotCommand;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
+@BotCommand
 public class TestCommand extends AbstractCommand {
 
     public TestCommand(final @NonNull DiscordBotClient client) {
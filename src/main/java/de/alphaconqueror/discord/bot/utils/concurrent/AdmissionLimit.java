@@ -0,0 +1,87 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.alphaconqueror.discord.bot.utils.concurrent;
+
+import java.util.concurrent.Semaphore;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Limits the number of pending interactions, i.e. admitted interactions which have not been
+ * responded to yet. Interactions exceeding the limit are rejected right away instead of being
+ * queued until they miss their acknowledgement deadline.
+ */
+public class AdmissionLimit {
+
+    private final int limit;
+    @Nullable
+    private final Semaphore permits;
+
+    /**
+     * Creates an admission limit.
+     *
+     * @param limit the maximum number of pending interactions, unlimited if not positive
+     */
+    public AdmissionLimit(final int limit) {
+        this.limit = Math.max(0, limit);
+        this.permits = limit > 0 ? new Semaphore(limit) : null;
+    }
+
+    /**
+     * Admits an interaction if the limit has not been reached. Every admitted interaction has
+     * to be released exactly once.
+     *
+     * @return true, if admitted
+     */
+    public boolean tryAcquire() {
+        return this.permits == null || this.permits.tryAcquire();
+    }
+
+    /**
+     * Releases an admitted interaction.
+     */
+    public void release() {
+        if (this.permits != null) {
+            this.permits.release();
+        }
+    }
+
+    /**
+     * Gets the maximum number of pending interactions.
+     *
+     * @return the limit, or 0 if unlimited
+     */
+    public int getLimit() {
+        return this.limit;
+    }
+
+    /**
+     * Gets the number of pending interactions.
+     *
+     * @return the number of pending interactions, or 0 if unlimited
+     */
+    public int getPending() {
+        return this.permits == null ? 0 : this.limit - this.permits.availablePermits();
+    }
+}
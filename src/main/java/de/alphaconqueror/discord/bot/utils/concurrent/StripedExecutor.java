@@ -0,0 +1,203 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.alphaconqueror.discord.bot.utils.concurrent;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * Executes tasks with the same key in submission order and tasks with different keys in
+ * parallel. Keys are hashed onto a fixed number of stripes, each a serial queue which is
+ * drained on the delegate executor, so a stripe occupies at most one thread at a time.
+ * Keys sharing a stripe are ordered with each other as well, hence there should be more
+ * stripes than threads.
+ */
+public class StripedExecutor {
+
+    // tasks run per turn, before the stripe yields its thread to other stripes
+    private static final int BATCH_SIZE = 16;
+
+    @NonNull
+    private final Executor delegate;
+    @NonNull
+    private final Stripe[] stripes;
+
+    /**
+     * Creates a striped executor.
+     *
+     * @param delegate the executor stripes are drained on
+     * @param stripes  the number of stripes, rounded up to a power of two
+     */
+    public StripedExecutor(@NonNull final Executor delegate, final int stripes) {
+        if (stripes < 1) {
+            throw new IllegalArgumentException("There has to be at least one stripe.");
+        }
+
+        int size = 1;
+
+        while (size < stripes) {
+            size <<= 1;
+        }
+
+        this.delegate = delegate;
+        this.stripes = new Stripe[size];
+
+        for (int i = 0; i < this.stripes.length; i++) {
+            this.stripes[i] = new Stripe();
+        }
+    }
+
+    /**
+     * Executes a task after all previously submitted tasks of its key.
+     *
+     * @param key  the key, e.g. the id of a guild
+     * @param task the task
+     * @throws RejectedExecutionException if the delegate rejected the task
+     */
+    public void execute(final long key, @NonNull final Runnable task) {
+        this.stripes[this.indexOf(key)].execute(task);
+    }
+
+    /**
+     * Gets the stripe a key is executed on.
+     *
+     * @param key the key
+     * @return the index of the stripe
+     */
+    public int indexOf(final long key) {
+        // spread the bits of snowflakes, whose lower bits are mostly increments
+        final long hash = key * 0x9E3779B97F4A7C15L;
+
+        return (int) (hash ^ hash >>> 32) & (this.stripes.length - 1);
+    }
+
+    public int getStripeCount() {
+        return this.stripes.length;
+    }
+
+    /**
+     * Gets the number of pending tasks of a stripe, including the running task.
+     *
+     * @param stripe the index of the stripe
+     * @return the queue depth
+     */
+    public int getQueueDepth(final int stripe) {
+        return this.stripes[stripe].depth.get();
+    }
+
+    /**
+     * Gets the number of pending tasks of all stripes.
+     *
+     * @return the queue depth
+     */
+    public int getQueueDepth() {
+        int depth = 0;
+
+        for (final Stripe stripe : this.stripes) {
+            depth += stripe.depth.get();
+        }
+
+        return depth;
+    }
+
+    /**
+     * Gets the number of pending tasks of the fullest stripe.
+     *
+     * @return the maximum queue depth
+     */
+    public int getMaxQueueDepth() {
+        int depth = 0;
+
+        for (final Stripe stripe : this.stripes) {
+            depth = Math.max(depth, stripe.depth.get());
+        }
+
+        return depth;
+    }
+
+    private final class Stripe implements Runnable {
+
+        @NonNull
+        private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+        // pending tasks, the stripe is scheduled while not zero
+        @NonNull
+        private final AtomicInteger depth = new AtomicInteger();
+
+        private void execute(@NonNull final Runnable task) {
+            this.tasks.add(task);
+
+            if (this.depth.getAndIncrement() != 0) {
+                return;
+            }
+
+            try {
+                StripedExecutor.this.delegate.execute(this);
+            } catch (final RejectedExecutionException e) {
+                this.tasks.remove(task);
+
+                // tasks queued in the meantime are run by the caller instead
+                if (this.depth.decrementAndGet() != 0) {
+                    this.run();
+                }
+
+                throw e;
+            }
+        }
+
+        @Override
+        public void run() {
+            for (int i = 0; i < BATCH_SIZE; i++) {
+                final Runnable task = this.tasks.poll();
+
+                try {
+                    task.run();
+                } catch (final RuntimeException e) {
+                    // a failing task must not stall the tasks queued behind it
+                    final Thread thread = Thread.currentThread();
+
+                    thread.getUncaughtExceptionHandler().uncaughtException(thread, e);
+                }
+
+                if (this.depth.decrementAndGet() == 0) {
+                    return;
+                }
+            }
+
+            this.yield();
+        }
+
+        private void yield() {
+            try {
+                StripedExecutor.this.delegate.execute(this);
+            } catch (final RejectedExecutionException e) {
+                this.run();
+            }
+        }
+    }
+}
@@ -24,7 +24,12 @@
 
 package de.alphaconqueror.discord.bot.utils.config;
 
+import de.alphaconqueror.discord.bot.utils.command.AcknowledgeMode;
+import de.alphaconqueror.discord.bot.utils.concurrent.ExecutionMode;
 import de.alphaconqueror.discord.bot.utils.permission.Permission;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
 import java.util.Collection;
 import java.util.Map;
 import java.util.Set;
@@ -42,5 +47,157 @@ public interface ConfigFactory {
 
     long getGuildId();
 
+    /**
+     * The maximum number of cached permission decisions.
+     *
+     * @return the cache size
+     */
+    default long getPermissionCacheSize() {
+        return 10_000;
+    }
+
+    /**
+     * The time a permission decision stays cached.
+     * Decisions are cached per set of roles, so role changes take effect right away.
+     *
+     * @return the time to live
+     */
+    default Duration getPermissionCacheTtl() {
+        return Duration.ofMinutes(5);
+    }
+
+    /**
+     * The maximum number of cached autocomplete prefixes.
+     *
+     * @return the cache size
+     */
+    default long getAutoCompleteCacheSize() {
+        return 10_000;
+    }
+
+    /**
+     * The time the autocomplete choices of a prefix stay cached.
+     *
+     * @return the time to live
+     */
+    default Duration getAutoCompleteCacheTtl() {
+        return Duration.ofSeconds(30);
+    }
+
+    /**
+     * The mode command interactions are executed in.
+     *
+     * @return the execution mode
+     */
+    default ExecutionMode getExecutionMode() {
+        return ExecutionMode.EVENT_THREAD;
+    }
+
+    /**
+     * The number of platform threads interactions and asynchronous command functions are
+     * executed on.
+     *
+     * @return the number of threads
+     */
+    default int getCommandThreads() {
+        return Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * The maximum number of pending interactions of all commands, interactions exceeding it are
+     * rejected. Not positive values disable the limit.
+     *
+     * @return the maximum number of pending interactions
+     */
+    default int getMaxPendingInteractions() {
+        return 1000;
+    }
+
+    /**
+     * The maximum number of pending interactions of a command, unless set by the command
+     * itself. Not positive values disable the limit.
+     *
+     * @return the maximum number of pending interactions per command
+     */
+    default int getMaxPendingInteractionsPerCommand() {
+        return 100;
+    }
+
+    /**
+     * The number of queues the interactions of guilds are ordered in, rounded up to a power of
+     * two. Guilds sharing a queue are executed one after another.
+     *
+     * @return the number of stripes
+     */
+    default int getCommandStripes() {
+        return 4 * Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * How slash command interactions are acknowledged.
+     *
+     * @return the acknowledge mode
+     */
+    default AcknowledgeMode getAcknowledgeMode() {
+        return AcknowledgeMode.DEFER;
+    }
+
+    /**
+     * The time a command may take to be answered directly, if acknowledged adaptively.
+     * Discord requires interactions to be acknowledged within 3 seconds.
+     *
+     * @return the acknowledge budget
+     */
+    default Duration getAcknowledgeBudget() {
+        return Duration.ofMillis(1500);
+    }
+
+    /**
+     * The file the fingerprints of synchronized commands are stored in.
+     *
+     * @return the path of the file
+     */
+    default Path getCommandCacheFile() {
+        return Paths.get("command-cache.properties");
+    }
+
+    /**
+     * If the Prometheus metrics endpoint is served.
+     *
+     * @return true, if enabled
+     */
+    default boolean isMetricsEnabled() {
+        return false;
+    }
+
+    /**
+     * The address the Prometheus metrics endpoint is bound to, only local by default.
+     *
+     * @return the host
+     */
+    default String getMetricsHost() {
+        return "127.0.0.1";
+    }
+
+    /**
+     * The port of the Prometheus metrics endpoint.
+     *
+     * @return the port
+     */
+    default int getMetricsPort() {
+        return 9464;
+    }
+
+    /**
+     * The version of the loaded config. State compiled from the config, e.g. the permission
+     * index, is kept until the version changes or the config returns another permission map,
+     * so a config modifying its permission map in place on reload needs to change the version.
+     *
+     * @return the config version
+     */
+    default long getVersion() {
+        return 0;
+    }
+
     void reload();
 }
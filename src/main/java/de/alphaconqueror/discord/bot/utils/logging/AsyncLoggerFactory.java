@@ -0,0 +1,347 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.alphaconqueror.discord.bot.utils.logging;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A logger passing messages to a delegate on a single background writer, so logging never
+ * blocks the calling thread on I/O.
+ * <p>
+ * Messages are stored in a preallocated ring buffer. If the buffer is full, messages are
+ * dropped and counted instead of blocking. Arguments are formatted by the delegate on the writer
+ * thread, so they should not be mutated after being logged. The logger should be
+ * {@link #close() closed} on shutdown to write the remaining messages.
+ */
+public class AsyncLoggerFactory implements LoggerFactory, AutoCloseable {
+
+    private static final int INFO = 0;
+    private static final int WARN = 1;
+    private static final int SEVERE = 2;
+    // idle writers wake up periodically, in case a wakeup raced with parking
+    private static final long PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    // set in the claimed sequence once closed, so no entry can be claimed afterwards
+    private static final long CLOSED = Long.MIN_VALUE;
+
+    @NonNull
+    private final LoggerFactory delegate;
+    @NonNull
+    private final Entry[] entries;
+    private final int mask;
+    // the number of claimed entries
+    @NonNull
+    private final AtomicLong claimed = new AtomicLong();
+    // the number of written entries, only advanced by the writer
+    @NonNull
+    private final AtomicLong written = new AtomicLong();
+    @NonNull
+    private final LongAdder dropped = new LongAdder();
+    @NonNull
+    private final LongAdder failed = new LongAdder();
+    @NonNull
+    private final Thread writer;
+    private volatile boolean sleeping;
+    private volatile boolean closed;
+
+    /**
+     * Creates the logger and starts its writer.
+     *
+     * @param delegate the logger messages are written to
+     * @param capacity the number of buffered messages, rounded up to a power of two
+     */
+    public AsyncLoggerFactory(@NonNull final LoggerFactory delegate, final int capacity) {
+        final int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+
+        this.delegate = delegate;
+        this.entries = new Entry[size];
+        this.mask = size - 1;
+
+        for (int i = 0; i < size; i++) {
+            this.entries[i] = new Entry(i - size);
+        }
+
+        this.writer = new Thread(this::write, "async-logger");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    @Override
+    public boolean isInfoEnabled() {
+        return this.delegate.isInfoEnabled();
+    }
+
+    @Override
+    public boolean isWarnEnabled() {
+        return this.delegate.isWarnEnabled();
+    }
+
+    @Override
+    public void info(final String s) {
+        if (this.delegate.isInfoEnabled()) {
+            this.publish(INFO, s, 0, null, null, null, null);
+        }
+    }
+
+    @Override
+    public void info(final String s, final Object arg) {
+        if (this.delegate.isInfoEnabled()) {
+            this.publish(INFO, s, 1, arg, null, null, null);
+        }
+    }
+
+    @Override
+    public void info(final String s, final Object arg1, final Object arg2) {
+        if (this.delegate.isInfoEnabled()) {
+            this.publish(INFO, s, 2, arg1, arg2, null, null);
+        }
+    }
+
+    @Override
+    public void info(final String s, final Object... args) {
+        if (this.delegate.isInfoEnabled()) {
+            this.publish(INFO, s, -1, null, null, args, null);
+        }
+    }
+
+    @Override
+    public void warn(final String s) {
+        if (this.delegate.isWarnEnabled()) {
+            this.publish(WARN, s, 0, null, null, null, null);
+        }
+    }
+
+    @Override
+    public void warn(final String s, final Object arg) {
+        if (this.delegate.isWarnEnabled()) {
+            this.publish(WARN, s, 1, arg, null, null, null);
+        }
+    }
+
+    @Override
+    public void warn(final String s, final Object arg1, final Object arg2) {
+        if (this.delegate.isWarnEnabled()) {
+            this.publish(WARN, s, 2, arg1, arg2, null, null);
+        }
+    }
+
+    @Override
+    public void warn(final String s, final Object... args) {
+        if (this.delegate.isWarnEnabled()) {
+            this.publish(WARN, s, -1, null, null, args, null);
+        }
+    }
+
+    @Override
+    public void severe(final String s, final Throwable throwable) {
+        this.publish(SEVERE, s, 0, null, null, null, throwable);
+    }
+
+    /**
+     * Gets the number of messages dropped because the buffer was full or the logger has been
+     * closed.
+     *
+     * @return the number of dropped messages
+     */
+    public long getDropped() {
+        return this.dropped.sum();
+    }
+
+    /**
+     * Gets the number of messages the delegate failed to write.
+     *
+     * @return the number of failed messages
+     */
+    public long getFailed() {
+        return this.failed.sum();
+    }
+
+    /**
+     * Stops the writer once the buffered messages are written, waiting at most 5 seconds.
+     */
+    @Override
+    public void close() {
+        this.close(Duration.ofSeconds(5));
+    }
+
+    /**
+     * Stops the writer once the buffered messages are written. Messages logged afterwards are
+     * dropped.
+     *
+     * @param timeout the time to wait for the writer
+     */
+    public void close(@NonNull final Duration timeout) {
+        long sequence;
+
+        do {
+            sequence = this.claimed.get();
+        } while ((sequence & CLOSED) == 0
+                && !this.claimed.compareAndSet(sequence, sequence | CLOSED));
+
+        this.closed = true;
+        LockSupport.unpark(this.writer);
+
+        try {
+            this.writer.join(Math.max(1, timeout.toMillis()));
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void publish(final int level, final String message, final int arity,
+            @Nullable final Object arg1, @Nullable final Object arg2,
+            final Object @Nullable [] args, @Nullable final Throwable throwable) {
+        long sequence;
+
+        do {
+            sequence = this.claimed.get();
+
+            if ((sequence & CLOSED) != 0
+                    || sequence - this.written.get() >= this.entries.length) {
+                this.dropped.increment();
+                return;
+            }
+        } while (!this.claimed.compareAndSet(sequence, sequence + 1));
+
+        final Entry entry = this.entries[(int) sequence & this.mask];
+
+        entry.level = level;
+        entry.message = message;
+        entry.arity = arity;
+        entry.arg1 = arg1;
+        entry.arg2 = arg2;
+        entry.args = args;
+        entry.throwable = throwable;
+        // publishes the fields to the writer
+        entry.sequence = sequence;
+
+        if (this.sleeping) {
+            LockSupport.unpark(this.writer);
+        }
+    }
+
+    private void write() {
+        long sequence = 0;
+
+        while (true) {
+            final Entry entry = this.entries[(int) sequence & this.mask];
+
+            if (entry.sequence != sequence) {
+                // once closed, the claimed sequence does not change anymore
+                if (this.closed && (this.claimed.get() & ~CLOSED) == sequence) {
+                    return;
+                }
+
+                this.sleeping = true;
+
+                // checked again, a publisher may have missed the flag
+                if (entry.sequence != sequence && !this.closed) {
+                    LockSupport.parkNanos(this, PARK_NANOS);
+                }
+
+                this.sleeping = false;
+                continue;
+            }
+
+            try {
+                this.write(entry);
+            } catch (final RuntimeException e) {
+                // a failing delegate must not stop the writer
+                this.failed.increment();
+            }
+
+            entry.clear();
+            this.written.lazySet(++sequence);
+        }
+    }
+
+    private void write(@NonNull final Entry entry) {
+        if (entry.level == SEVERE) {
+            this.delegate.severe(entry.message, entry.throwable);
+            return;
+        }
+
+        final boolean info = entry.level == INFO;
+
+        switch (entry.arity) {
+            case 0:
+                if (info) {
+                    this.delegate.info(entry.message);
+                } else {
+                    this.delegate.warn(entry.message);
+                }
+                break;
+            case 1:
+                if (info) {
+                    this.delegate.info(entry.message, entry.arg1);
+                } else {
+                    this.delegate.warn(entry.message, entry.arg1);
+                }
+                break;
+            case 2:
+                if (info) {
+                    this.delegate.info(entry.message, entry.arg1, entry.arg2);
+                } else {
+                    this.delegate.warn(entry.message, entry.arg1, entry.arg2);
+                }
+                break;
+            default:
+                if (info) {
+                    this.delegate.info(entry.message, entry.args);
+                } else {
+                    this.delegate.warn(entry.message, entry.args);
+                }
+        }
+    }
+
+    private static final class Entry {
+
+        private volatile long sequence;
+        private int level;
+        private int arity;
+        private String message;
+        private Object arg1;
+        private Object arg2;
+        private Object[] args;
+        private Throwable throwable;
+
+        private Entry(final long sequence) {
+            this.sequence = sequence;
+        }
+
+        private void clear() {
+            this.message = null;
+            this.arg1 = null;
+            this.arg2 = null;
+            this.args = null;
+            this.throwable = null;
+        }
+    }
+}
@@ -24,10 +24,51 @@
 
 package de.alphaconqueror.discord.bot.utils.logging;
 
+/**
+ * The logger of a client. Messages use {@code {}} placeholders for their arguments.
+ * <p>
+ * Only the varargs methods have to be implemented, the fixed-arity overloads delegate to them.
+ * Implementations should override the overloads to avoid allocating the arguments array and
+ * callers should check the level before computing expensive arguments.
+ */
 public interface LoggerFactory {
 
+    Object[] NO_ARGS = new Object[0];
+
+    default boolean isInfoEnabled() {
+        return true;
+    }
+
+    default boolean isWarnEnabled() {
+        return true;
+    }
+
+    default void info(final String s) {
+        this.info(s, NO_ARGS);
+    }
+
+    default void info(final String s, final Object arg) {
+        this.info(s, new Object[] {arg});
+    }
+
+    default void info(final String s, final Object arg1, final Object arg2) {
+        this.info(s, new Object[] {arg1, arg2});
+    }
+
     void info(final String s, final Object... args);
 
+    default void warn(final String s) {
+        this.warn(s, NO_ARGS);
+    }
+
+    default void warn(final String s, final Object arg) {
+        this.warn(s, new Object[] {arg});
+    }
+
+    default void warn(final String s, final Object arg1, final Object arg2) {
+        this.warn(s, new Object[] {arg1, arg2});
+    }
+
     void warn(final String s, final Object... args);
 
     void severe(final String s, final Throwable throwable);
@@ -0,0 +1,110 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.alphaconqueror.discord.bot.utils.manager;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Properties;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * Stores the fingerprints of the last successfully synchronized command sets in a local file,
+ * keyed by application id and scope, so unchanged commands do not have to be synchronized at
+ * startup.
+ */
+public class CommandFingerprintStore {
+
+    @NonNull
+    private final Path file;
+    @NonNull
+    private final Properties fingerprints = new Properties();
+
+    /**
+     * Creates the store and loads the fingerprints from the file, if it exists.
+     *
+     * @param file the file
+     * @throws IOException if the file could not be read
+     */
+    public CommandFingerprintStore(@NonNull final Path file) throws IOException {
+        this.file = file;
+
+        if (Files.exists(file)) {
+            try (final InputStream in = Files.newInputStream(file)) {
+                this.fingerprints.load(in);
+            }
+        }
+    }
+
+    /**
+     * Gets the key of a scope.
+     *
+     * @param applicationId the application id
+     * @param guildId       the guild id, or 0 for global commands
+     * @return the key
+     */
+    @NonNull
+    public static String key(final long applicationId, final long guildId) {
+        return applicationId + "." + (guildId == 0 ? "global" : Long.toString(guildId));
+    }
+
+    /**
+     * If the fingerprint of a scope matches the last synchronized one.
+     *
+     * @param key         the key of the scope
+     * @param fingerprint the fingerprint
+     * @return true, if unchanged
+     */
+    public synchronized boolean matches(@NonNull final String key,
+            @NonNull final String fingerprint) {
+        return fingerprint.equals(this.fingerprints.getProperty(key));
+    }
+
+    /**
+     * Stores the fingerprint of a scope and writes the file.
+     * The file is replaced atomically, so an interrupted write does not corrupt it.
+     *
+     * @param key         the key of the scope
+     * @param fingerprint the fingerprint
+     * @throws IOException if the file could not be written
+     */
+    public synchronized void store(@NonNull final String key, @NonNull final String fingerprint)
+            throws IOException {
+        this.fingerprints.setProperty(key, fingerprint);
+
+        final Path directory = this.file.toAbsolutePath().getParent();
+        final Path temp = Files.createTempFile(directory, "commands", ".tmp");
+
+        try (final OutputStream out = Files.newOutputStream(temp)) {
+            this.fingerprints.store(out, "Fingerprints of synchronized commands");
+        }
+
+        Files.move(temp, this.file, StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+    }
+}
@@ -0,0 +1,280 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.alphaconqueror.discord.bot.utils.manager;
+
+import com.google.common.hash.Hashing;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import net.dv8tion.jda.api.JDA;
+import net.dv8tion.jda.api.entities.Guild;
+import net.dv8tion.jda.api.interactions.commands.Command;
+import net.dv8tion.jda.api.interactions.commands.build.CommandData;
+import net.dv8tion.jda.api.requests.RestAction;
+import net.dv8tion.jda.api.utils.data.DataArray;
+import net.dv8tion.jda.api.utils.data.DataObject;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * Synchronizes commands by comparing them to the registered commands.
+ * Only commands which differ are created, edited or deleted, which keeps the number of
+ * requests against the application command rate limit down.
+ */
+public class CommandSynchronizer {
+
+    // guild commands are always guild only, which is not reported by discord
+    private static final String GUILD_ONLY_KEY = "dm_permission";
+
+    private final boolean guild;
+    @NonNull
+    private final Supplier<RestAction<List<Command>>> retrieve;
+    @NonNull
+    private final Function<CommandData, RestAction<Command>> upsert;
+    @NonNull
+    private final BiFunction<String, CommandData, RestAction<Command>> edit;
+    @NonNull
+    private final Function<String, RestAction<Void>> delete;
+
+    private CommandSynchronizer(final boolean guild,
+            @NonNull final Supplier<RestAction<List<Command>>> retrieve,
+            @NonNull final Function<CommandData, RestAction<Command>> upsert,
+            @NonNull final BiFunction<String, CommandData, RestAction<Command>> edit,
+            @NonNull final Function<String, RestAction<Void>> delete) {
+        this.guild = guild;
+        this.retrieve = retrieve;
+        this.upsert = upsert;
+        this.edit = edit;
+        this.delete = delete;
+    }
+
+    /**
+     * Creates a synchronizer for global commands.
+     *
+     * @param jda the jda
+     * @return the synchronizer
+     */
+    @NonNull
+    public static CommandSynchronizer global(@NonNull final JDA jda) {
+        return new CommandSynchronizer(false, () -> jda.retrieveCommands(true),
+                jda::upsertCommand, (id, data) -> jda.editCommandById(id).apply(data),
+                jda::deleteCommandById);
+    }
+
+    /**
+     * Creates a synchronizer for guild commands.
+     *
+     * @param guild the guild
+     * @return the synchronizer
+     */
+    @NonNull
+    public static CommandSynchronizer guild(@NonNull final Guild guild) {
+        return new CommandSynchronizer(true, () -> guild.retrieveCommands(true),
+                guild::upsertCommand, (id, data) -> guild.editCommandById(id).apply(data),
+                guild::deleteCommandById);
+    }
+
+    /**
+     * Computes the fingerprint of a command, which is the hash of its canonical json.
+     *
+     * @param data  the command data
+     * @param guild if it is a guild command
+     * @return the fingerprint
+     */
+    @NonNull
+    public static String fingerprint(@NonNull final CommandData data, final boolean guild) {
+        final Map<String, Object> json = new HashMap<>(data.toData().toMap());
+
+        if (guild) {
+            json.remove(GUILD_ONLY_KEY);
+        }
+
+        final StringBuilder canonical = new StringBuilder();
+
+        canonicalize(canonical, json);
+        return Hashing.sha256().hashString(canonical, StandardCharsets.UTF_8).toString();
+    }
+
+    /**
+     * Computes the fingerprint of a set of commands, independent of their order.
+     *
+     * @param commands the commands
+     * @param guild    if they are guild commands
+     * @return the fingerprint
+     */
+    @NonNull
+    public static String fingerprint(@NonNull final Collection<? extends CommandData> commands,
+            final boolean guild) {
+        return Hashing.sha256().hashString(
+                commands.stream().map(data -> fingerprint(data, guild)).sorted()
+                        .collect(Collectors.joining(",")), StandardCharsets.UTF_8).toString();
+    }
+
+    private static void canonicalize(@NonNull final StringBuilder out, final Object value) {
+        if (value instanceof DataObject) {
+            canonicalize(out, ((DataObject) value).toMap());
+        } else if (value instanceof DataArray) {
+            canonicalize(out, ((DataArray) value).toList());
+        } else if (value instanceof Map) {
+            // sort keys, the order of json objects is arbitrary
+            final Map<String, Object> sorted = new TreeMap<>();
+            boolean first = true;
+
+            ((Map<?, ?>) value).forEach((key, entry) -> sorted.put(String.valueOf(key), entry));
+            out.append('{');
+
+            for (final Map.Entry<String, Object> entry : sorted.entrySet()) {
+                if (!first) {
+                    out.append(',');
+                }
+
+                canonicalize(out, entry.getKey());
+                out.append(':');
+                canonicalize(out, entry.getValue());
+                first = false;
+            }
+
+            out.append('}');
+        } else if (value instanceof Collection) {
+            boolean first = true;
+
+            out.append('[');
+
+            for (final Object entry : (Collection<?>) value) {
+                if (!first) {
+                    out.append(',');
+                }
+
+                canonicalize(out, entry);
+                first = false;
+            }
+
+            out.append(']');
+        } else if (value instanceof String) {
+            out.append('"').append(((String) value).replace("\\", "\\\\").replace("\"", "\\\""))
+                    .append('"');
+        } else {
+            out.append(value);
+        }
+    }
+
+    /**
+     * Synchronizes the registered commands with the given commands.
+     *
+     * @param commands the commands which should be registered
+     * @return the result, completes once all requests completed
+     */
+    @NonNull
+    public CompletableFuture<Result> synchronize(
+            @NonNull final Collection<? extends CommandData> commands) {
+        return this.retrieve.get().submit().thenCompose(registered -> {
+            final Map<String, Command> remaining = new HashMap<>();
+            final List<CompletableFuture<?>> requests = new ArrayList<>();
+            final AtomicInteger created = new AtomicInteger();
+            final AtomicInteger edited = new AtomicInteger();
+            final AtomicInteger unchanged = new AtomicInteger();
+
+            registered.forEach(command -> remaining.put(key(command.getType(), command.getName()),
+                    command));
+
+            for (final CommandData data : commands) {
+                final Command command = remaining.remove(key(data.getType(), data.getName()));
+
+                if (command == null) {
+                    requests.add(this.upsert.apply(data).submit());
+                    created.incrementAndGet();
+                } else if (!fingerprint(CommandData.fromCommand(command), this.guild).equals(
+                        fingerprint(data, this.guild))) {
+                    requests.add(this.edit.apply(command.getId(), data).submit());
+                    edited.incrementAndGet();
+                } else {
+                    unchanged.incrementAndGet();
+                }
+            }
+
+            remaining.values()
+                    .forEach(command -> requests.add(this.delete.apply(command.getId()).submit()));
+
+            return CompletableFuture.allOf(requests.toArray(new CompletableFuture<?>[0]))
+                    .thenApply(v -> new Result(created.get(), edited.get(), remaining.size(),
+                            unchanged.get()));
+        });
+    }
+
+    @NonNull
+    private static String key(final Command.Type type, @NonNull final String name) {
+        return type.name() + ':' + name;
+    }
+
+    /**
+     * The number of commands per operation of a synchronization.
+     */
+    public static class Result {
+
+        private final int created;
+        private final int edited;
+        private final int deleted;
+        private final int unchanged;
+
+        public Result(final int created, final int edited, final int deleted,
+                final int unchanged) {
+            this.created = created;
+            this.edited = edited;
+            this.deleted = deleted;
+            this.unchanged = unchanged;
+        }
+
+        public int getCreated() {
+            return this.created;
+        }
+
+        public int getEdited() {
+            return this.edited;
+        }
+
+        public int getDeleted() {
+            return this.deleted;
+        }
+
+        public int getUnchanged() {
+            return this.unchanged;
+        }
+
+        @Override
+        public String toString() {
+            return "created: " + this.created + ", edited: " + this.edited + ", deleted: "
+                    + this.deleted + ", unchanged: " + this.unchanged;
+        }
+    }
+}
@@ -26,23 +26,49 @@ package de.alphaconqueror.discord.bot.utils.manager;
 
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Maps;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import de.alphaconqueror.discord.bot.utils.DiscordBotClient;
+import de.alphaconqueror.discord.bot.utils.StartupPhase;
+import de.alphaconqueror.discord.bot.utils.StartupTimings;
+import de.alphaconqueror.discord.bot.utils.command.CommandRouter;
 import de.alphaconqueror.discord.bot.utils.command.abstraction.AbstractCommand;
+import de.alphaconqueror.discord.bot.utils.command.autocomplete.AutoCompleteCache;
+import de.alphaconqueror.discord.bot.utils.command.registry.BotCommand;
+import de.alphaconqueror.discord.bot.utils.command.registry.CommandFactory;
+import de.alphaconqueror.discord.bot.utils.command.registry.CommandRegistry;
 import de.alphaconqueror.discord.bot.utils.commands.ReloadCommand;
 import de.alphaconqueror.discord.bot.utils.commands.RestartCommand;
 import de.alphaconqueror.discord.bot.utils.commands.ShutdownCommand;
+import de.alphaconqueror.discord.bot.utils.commands.StatsCommand;
 import de.alphaconqueror.discord.bot.utils.commands.SyncCommand;
 import de.alphaconqueror.discord.bot.utils.commands.TestCommand;
 import de.alphaconqueror.discord.bot.utils.commands.UnsyncCommand;
+import de.alphaconqueror.discord.bot.utils.concurrent.AdmissionLimit;
+import de.alphaconqueror.discord.bot.utils.concurrent.CommandExecutors;
+import de.alphaconqueror.discord.bot.utils.concurrent.ExecutionMode;
+import de.alphaconqueror.discord.bot.utils.concurrent.StripedExecutor;
+import de.alphaconqueror.discord.bot.utils.config.ConfigFactory;
 import de.alphaconqueror.discord.bot.utils.exception.JDANotReadyException;
+import de.alphaconqueror.discord.bot.utils.metrics.MetricsListener;
+import de.alphaconqueror.discord.bot.utils.metrics.MetricsRegistry;
+import java.io.IOException;
 import java.lang.reflect.InvocationTargetException;
-import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.ServiceLoader;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import net.dv8tion.jda.api.JDA;
 import net.dv8tion.jda.api.JDABuilder;
@@ -54,84 +80,168 @@ import org.checkerframework.checker.nullness.qual.Nullable;
 
 public class DiscordManager {
 
+    // the commands shipped with this library
+    private static final Set<Class<? extends AbstractCommand>> BUILT_IN_COMMANDS =
+            ImmutableSet.of(ReloadCommand.class, RestartCommand.class, ShutdownCommand.class,
+                    StatsCommand.class, SyncCommand.class, TestCommand.class,
+                    UnsyncCommand.class);
+
     @NonNull
     protected final DiscordBotClient client;
+    @NonNull
+    protected final CommandRouter router = new CommandRouter();
+    @NonNull
+    protected final MetricsRegistry metrics = new MetricsRegistry();
+    @NonNull
+    protected final ExecutionMode executionMode;
+    @NonNull
+    protected final ExecutorService commandExecutor;
+    @NonNull
+    protected final StripedExecutor commandStripes;
+    @NonNull
+    protected final AdmissionLimit admission;
+    @NonNull
+    protected final ScheduledExecutorService scheduler;
     @Nullable
-    protected final JDA jda;
+    protected final CommandFingerprintStore fingerprints;
     @NonNull
-    protected final Set<Class<? extends AbstractCommand>> commandClasses;
+    protected final AutoCompleteCache autoCompleteCache;
+    @Nullable
+    protected volatile JDA jda;
     @NonNull
-    protected final Map<AbstractCommand, CommandData> globalCommands;
+    protected volatile Set<Class<? extends AbstractCommand>> commandClasses = ImmutableSet.of();
     @NonNull
-    protected final Map<AbstractCommand, CommandData> guildCommands;
+    protected volatile Map<AbstractCommand, CommandData> globalCommands = ImmutableMap.of();
+    @NonNull
+    protected volatile Map<AbstractCommand, CommandData> guildCommands = ImmutableMap.of();
     // commands that are exempt from unsync
     @NonNull
-    protected final Map<AbstractCommand, CommandData> keep;
+    protected volatile Map<AbstractCommand, CommandData> keep = ImmutableMap.of();
 
-    public DiscordManager(@NonNull final DiscordBotClient client) throws InterruptedException {
+    public DiscordManager(@NonNull final DiscordBotClient client) {
         this.client = client;
+        this.executionMode = this.resolveExecutionMode();
+        this.commandExecutor = this.createCommandExecutor();
+        this.commandStripes = this.createCommandStripes();
+        this.admission = new AdmissionLimit(this.client.getConfig().getMaxPendingInteractions());
+        this.scheduler = this.createScheduler();
+        this.fingerprints = this.createFingerprintStore();
+        this.autoCompleteCache = this.createAutoCompleteCache();
+    }
 
-        final JDABuilder builder = JDABuilder.createDefault(client.getConfig().getToken())
-                .enableIntents(client.getConfig().getIntents());
-        final String status = client.getConfig().getStatus();
-
-        if (!status.trim().isEmpty()) {
-            builder.setActivity(Activity.customStatus(client.getConfig().getStatus()));
-        }
-
-        this.jda = builder.build().awaitReady();
-
-        this.commandClasses = ImmutableSet.copyOf(this.constructCommandClasses());
+    /**
+     * Starts the manager. The commands are constructed while logging in, once both completed,
+     * the commands which changed since the last start are synchronized.
+     * JDA logs in on the first start only, restarts keep the gateway session.
+     *
+     * @param timings the timings to record the phases in
+     * @return the future completing once started
+     */
+    @NonNull
+    public CompletableFuture<Void> start(@NonNull final StartupTimings timings) {
+        final CompletableFuture<Map<AbstractCommand, CommandData>> commands =
+                timings.time(StartupPhase.COMMANDS, this::createCommands);
+        final JDA current = this.jda;
+        final CompletableFuture<JDA> login = current != null
+                ? CompletableFuture.completedFuture(current)
+                : timings.time(StartupPhase.LOGIN,
+                        () -> CompletableFuture.supplyAsync(this::login, this.commandExecutor));
+
+        return commands.thenAcceptBoth(login, (data, jda) -> {
+            this.jda = jda;
+            this.setCommands(data);
+        }).thenCompose(ignored -> timings.time(StartupPhase.SYNC,
+                // failed synchronizations are logged and do not fail the startup
+                () -> this.syncAllCommands(false).exceptionally(throwable -> null)));
+    }
 
-        final Map<AbstractCommand, CommandData> commands = new HashMap<>();
+    public boolean isJDAReady() {
+        return this.jda != null;
+    }
 
-        this.commandClasses.forEach(c -> {
-            try {
-                final AbstractCommand abstractCommand = c.getConstructor(DiscordBotClient.class)
-                        .newInstance(this.client);
+    @NonNull
+    public JDA getJda() throws JDANotReadyException {
+        if (this.jda == null) {
+            throw new JDANotReadyException();
+        }
 
-                commands.put(abstractCommand, abstractCommand.createData());
-            } catch (final InstantiationException | IllegalAccessException |
-                           InvocationTargetException | NoSuchMethodException e) {
-                throw new RuntimeException(e);
-            }
-        });
+        return this.jda;
+    }
 
-        final Map<AbstractCommand, CommandData> globalCommands = new HashMap<>();
-        final Map<AbstractCommand, CommandData> guildCommands = new HashMap<>();
-        final Map<AbstractCommand, CommandData> keep = new HashMap<>();
+    /**
+     * Gets the mode command interactions are executed in.
+     *
+     * @return the execution mode
+     */
+    @NonNull
+    public ExecutionMode getExecutionMode() {
+        return this.executionMode;
+    }
 
-        // filter commands by global/guild
-        commands.forEach((key, value) -> {
-            if (value.isGuildOnly()) {
-                guildCommands.put(key, value);
-            } else {
-                globalCommands.put(key, value);
-            }
+    /**
+     * Gets the executor interactions and asynchronous command functions are executed on.
+     *
+     * @return the command executor
+     */
+    @NonNull
+    public ExecutorService getCommandExecutor() {
+        return this.commandExecutor;
+    }
 
-            if (key.keep()) {
-                keep.put(key, value);
-            }
-        });
+    /**
+     * Gets the executor which orders the interactions of each guild, on top of the command
+     * executor.
+     *
+     * @return the striped command executor
+     */
+    @NonNull
+    public StripedExecutor getCommandStripes() {
+        return this.commandStripes;
+    }
 
-        this.globalCommands = ImmutableMap.copyOf(globalCommands);
-        this.guildCommands = ImmutableMap.copyOf(guildCommands);
-        this.keep = ImmutableMap.copyOf(keep);
+    /**
+     * Gets the limit of pending interactions of all commands.
+     *
+     * @return the global admission limit
+     */
+    @NonNull
+    public AdmissionLimit getAdmission() {
+        return this.admission;
+    }
 
-        this.syncAllCommands();
+    /**
+     * Gets the scheduler for deadlines of interactions, e.g. deferring replies.
+     *
+     * @return the scheduler
+     */
+    @NonNull
+    public ScheduledExecutorService getScheduler() {
+        return this.scheduler;
     }
 
-    public boolean isJDAReady() {
-        return this.jda != null;
+    /**
+     * Gets the metrics of all command paths.
+     *
+     * @return the metrics registry
+     */
+    @NonNull
+    public MetricsRegistry getMetrics() {
+        return this.metrics;
     }
 
+    /**
+     * Gets the cache of autocomplete choices.
+     *
+     * @return the autocomplete cache
+     */
     @NonNull
-    public JDA getJda() throws JDANotReadyException {
-        if (this.jda == null) {
-            throw new JDANotReadyException();
-        }
+    public AutoCompleteCache getAutoCompleteCache() {
+        return this.autoCompleteCache;
+    }
 
-        return this.jda;
+    @NonNull
+    public CommandRouter getRouter() {
+        return this.router;
     }
 
     public Optional<Guild> getGuild() {
@@ -140,8 +250,24 @@ public class DiscordManager {
     }
 
     public boolean syncAllCommands() {
-        this.syncGlobalCommands();
-        return this.syncGuildCommands();
+        this.syncGlobalCommands(true);
+        return this.syncGuildCommands(true).isPresent();
+    }
+
+    /**
+     * Synchronizes all commands.
+     *
+     * @param force false, to skip scopes whose commands did not change since their last
+     *              synchronization
+     * @return the future completing once all scopes are synchronized
+     */
+    @NonNull
+    public CompletableFuture<Void> syncAllCommands(final boolean force) {
+        final CompletableFuture<CommandSynchronizer.Result> global =
+                this.syncGlobalCommands(force);
+
+        return this.syncGuildCommands(force).map(guild -> CompletableFuture.allOf(global, guild))
+                .orElseGet(() -> global.thenApply(result -> null));
     }
 
     public boolean unsyncAllCommands() {
@@ -150,36 +276,57 @@ public class DiscordManager {
     }
 
     public void syncGlobalCommands() {
-        this.getJda().updateCommands().addCommands(this.globalCommands.values()).queue();
+        this.syncGlobalCommands(true);
+    }
+
+    @NonNull
+    public CompletableFuture<CommandSynchronizer.Result> syncGlobalCommands(final boolean force) {
+        final CompletableFuture<CommandSynchronizer.Result> result =
+                this.synchronize("global", 0, CommandSynchronizer.global(this.getJda()),
+                        this.globalCommands.values(), force);
+
         this.registerListeners(this.globalCommands.keySet());
-        this.client.getLogger().info("Synchronized global commands.");
+        return result;
     }
 
     public void unsyncGlobalCommands() {
-        this.getJda().updateCommands().addCommands(
+        this.synchronize("global", 0, CommandSynchronizer.global(this.getJda()),
                 this.keep.values().stream().filter(command -> !command.isGuildOnly())
-                        .collect(Collectors.toList())).queue();
+                        .collect(Collectors.toList()), true);
 
         final Set<AbstractCommand> unregister = new HashSet<>(this.globalCommands.keySet());
         unregister.removeAll(this.keep.keySet());
 
         this.unregisterListeners(unregister);
-        this.client.getLogger().info("Unsynchronized global commands.");
     }
 
     public boolean syncGuildCommands() {
+        return this.syncGuildCommands(true).isPresent();
+    }
+
+    /**
+     * Synchronizes the guild commands.
+     *
+     * @param force false, to skip the synchronization if the commands did not change
+     * @return the result of the synchronization, or empty if the guild could not be found
+     */
+    @NonNull
+    public Optional<CompletableFuture<CommandSynchronizer.Result>> syncGuildCommands(
+            final boolean force) {
         final Optional<Guild> guild = this.getGuild();
 
         if (!guild.isPresent()) {
             this.client.getLogger().info("Guild not found, could not synchronize guild commands.");
-            return false;
+            return Optional.empty();
         }
 
-        guild.get().updateCommands().addCommands(this.guildCommands.values()).queue();
-        this.registerListeners(this.guildCommands.keySet());
-        this.client.getLogger().info("Synchronized guild commands.");
+        final CompletableFuture<CommandSynchronizer.Result> result =
+                this.synchronize("guild", guild.get().getIdLong(),
+                        CommandSynchronizer.guild(guild.get()), this.guildCommands.values(),
+                        force);
 
-        return true;
+        this.registerListeners(this.guildCommands.keySet());
+        return Optional.of(result);
     }
 
     public boolean unsyncGuildCommands() {
@@ -191,15 +338,14 @@ public class DiscordManager {
             return false;
         }
 
-        guild.get().updateCommands().addCommands(
+        this.synchronize("guild", guild.get().getIdLong(), CommandSynchronizer.guild(guild.get()),
                 this.keep.values().stream().filter(CommandData::isGuildOnly)
-                        .collect(Collectors.toList())).queue();
+                        .collect(Collectors.toList()), true);
 
         final Set<AbstractCommand> unregister = new HashSet<>(this.guildCommands.keySet());
         unregister.removeAll(this.keep.keySet());
 
         this.unregisterListeners(unregister);
-        this.client.getLogger().info("Unsynchronized guild commands.");
 
         return true;
     }
@@ -212,37 +358,293 @@ public class DiscordManager {
             return false;
         }
 
-        guild.get().updateCommands().addCommands(this.globalCommands.values()).queue();
-        this.client.getLogger().info("Global commands for guilds have been fixed.");
+        this.synchronize("guild", guild.get().getIdLong(), CommandSynchronizer.guild(guild.get()),
+                this.globalCommands.values(), true);
 
         return true;
     }
 
     public void registerListeners(final Collection<AbstractCommand> abstractCommands) {
-        final JDA jda = this.getJda();
+        this.router.register(abstractCommands);
+        if (this.client.getLogger().isInfoEnabled()) {
+            this.client.getLogger().info("Registered listeners for commands: {}",
+                    abstractCommands.stream().map(AbstractCommand::getName)
+                            .collect(Collectors.toList()));
+        }
+    }
+
+    public void unregisterListeners(final Collection<AbstractCommand> abstractCommands) {
+        this.router.unregister(abstractCommands);
+        if (this.client.getLogger().isInfoEnabled()) {
+            this.client.getLogger().info("Unregistered listeners for commands: {}",
+                    abstractCommands.stream().map(AbstractCommand::getName)
+                            .collect(Collectors.toList()));
+        }
+    }
+
+    /**
+     * Synchronizes the registered commands of a scope and logs the number of commands per
+     * operation once done. The fingerprint of the commands is stored once synchronized.
+     *
+     * @param scope        the name of the scope
+     * @param guildId      the guild id of the scope, or 0 for global commands
+     * @param synchronizer the synchronizer of the scope
+     * @param commands     the commands which should be registered
+     * @param force        false, to skip the synchronization if the fingerprint did not change
+     * @return the result of the synchronization
+     */
+    @NonNull
+    protected CompletableFuture<CommandSynchronizer.Result> synchronize(
+            @NonNull final String scope, final long guildId,
+            @NonNull final CommandSynchronizer synchronizer,
+            @NonNull final Collection<CommandData> commands, final boolean force) {
+        final String key = CommandFingerprintStore.key(
+                this.getJda().getSelfUser().getApplicationIdLong(), guildId);
+        final String fingerprint = CommandSynchronizer.fingerprint(commands, guildId != 0);
+
+        if (!force && this.fingerprints != null && this.fingerprints.matches(key, fingerprint)) {
+            this.client.getLogger()
+                    .info("Skipped synchronization of {} commands, they did not change.", scope);
+            return CompletableFuture.completedFuture(
+                    new CommandSynchronizer.Result(0, 0, 0, commands.size()));
+        }
+
+        final long start = System.nanoTime();
 
-        for (final AbstractCommand abstractCommand : abstractCommands) {
-            if (!jda.getRegisteredListeners().contains(abstractCommand)) {
-                jda.addEventListener(abstractCommand);
+        return synchronizer.synchronize(commands).whenComplete((result, throwable) -> {
+            this.metrics.getSynchronization(scope).record(System.nanoTime() - start);
+
+            if (throwable != null) {
+                this.client.getLogger()
+                        .severe("Could not synchronize " + scope + " commands.", throwable);
+                return;
             }
+
+            this.client.getLogger().info("Synchronized {} commands. ({})", scope, result);
+
+            if (this.fingerprints != null) {
+                try {
+                    this.fingerprints.store(key, fingerprint);
+                } catch (final IOException e) {
+                    this.client.getLogger().severe("Could not store command fingerprints.", e);
+                }
+            }
+        });
+    }
+
+    /**
+     * Logs in to the gateway and waits until JDA is ready.
+     *
+     * @return the JDA instance
+     */
+    @NonNull
+    protected JDA login() {
+        final JDABuilder builder = JDABuilder.createDefault(this.client.getConfig().getToken())
+                .enableIntents(this.client.getConfig().getIntents())
+                .addEventListeners(this.router, new MetricsListener(this.metrics));
+        final String status = this.client.getConfig().getStatus();
+
+        if (!status.trim().isEmpty()) {
+            builder.setActivity(Activity.customStatus(status));
         }
 
-        this.client.getLogger().info("Registered listeners for commands: {}",
-                abstractCommands.stream().map(AbstractCommand::getName)
-                        .collect(Collectors.toList()));
+        try {
+            return builder.build().awaitReady();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CompletionException(e);
+        }
     }
 
-    public void unregisterListeners(final Collection<AbstractCommand> abstractCommands) {
-        this.getJda().removeEventListener(abstractCommands.toArray());
-        this.client.getLogger().info("Unregistered listeners for commands: {}",
-                abstractCommands.stream().map(AbstractCommand::getName)
-                        .collect(Collectors.toList()));
+    /**
+     * Constructs the commands and creates their data, each on the command executor.
+     *
+     * @return the future of the commands mapped to their data
+     */
+    @NonNull
+    protected CompletableFuture<Map<AbstractCommand, CommandData>> createCommands() {
+        final Map<Class<? extends AbstractCommand>, CommandFactory> factories =
+                this.constructCommands();
+        final List<CompletableFuture<Map.Entry<AbstractCommand, CommandData>>> commands =
+                factories.values().stream().map(factory -> CompletableFuture.supplyAsync(() -> {
+                    final AbstractCommand command = factory.create(this.client);
+
+                    return Maps.immutableEntry(command, command.createData());
+                }, this.commandExecutor)).collect(Collectors.toList());
+
+        this.commandClasses = ImmutableSet.copyOf(factories.keySet());
+
+        return CompletableFuture.allOf(commands.toArray(new CompletableFuture<?>[0]))
+                .thenApply(ignored -> {
+                    final Map<AbstractCommand, CommandData> data = new HashMap<>();
+
+                    commands.forEach(future -> {
+                        final Map.Entry<AbstractCommand, CommandData> entry = future.join();
+
+                        data.put(entry.getKey(), entry.getValue());
+                    });
+
+                    return data;
+                });
+    }
+
+    /**
+     * Sets the commands and filters them by global/guild.
+     *
+     * @param commands the commands mapped to their data
+     */
+    protected void setCommands(@NonNull final Map<AbstractCommand, CommandData> commands) {
+        final Map<AbstractCommand, CommandData> globalCommands = new HashMap<>();
+        final Map<AbstractCommand, CommandData> guildCommands = new HashMap<>();
+        final Map<AbstractCommand, CommandData> keep = new HashMap<>();
+
+        // filter commands by global/guild
+        commands.forEach((key, value) -> {
+            if (value.isGuildOnly()) {
+                guildCommands.put(key, value);
+            } else {
+                globalCommands.put(key, value);
+            }
+
+            if (key.keep()) {
+                keep.put(key, value);
+            }
+        });
+
+        this.globalCommands = ImmutableMap.copyOf(globalCommands);
+        this.guildCommands = ImmutableMap.copyOf(guildCommands);
+        this.keep = ImmutableMap.copyOf(keep);
+    }
+
+    /**
+     * Creates the store of synchronized command fingerprints.
+     *
+     * @return the store, or null if it could not be loaded
+     */
+    @Nullable
+    protected CommandFingerprintStore createFingerprintStore() {
+        try {
+            return new CommandFingerprintStore(this.client.getConfig().getCommandCacheFile());
+        } catch (final IOException e) {
+            this.client.getLogger().severe("Could not load command fingerprints.", e);
+            return null;
+        }
+    }
+
+    /**
+     * Creates the cache of autocomplete choices.
+     *
+     * @return the autocomplete cache
+     */
+    @NonNull
+    protected AutoCompleteCache createAutoCompleteCache() {
+        final ConfigFactory config = this.client.getConfig();
+
+        return new AutoCompleteCache(config.getAutoCompleteCacheSize(),
+                config.getAutoCompleteCacheTtl());
+    }
+
+    /**
+     * Creates the executor interactions and asynchronous command functions are executed on.
+     *
+     * @return the command executor
+     */
+    @NonNull
+    protected ExecutorService createCommandExecutor() {
+        if (this.executionMode == ExecutionMode.VIRTUAL_THREADS) {
+            return CommandExecutors.newVirtualThreadExecutor("command-executor");
+        }
+
+        return CommandExecutors.newPlatformThreadExecutor("command-executor",
+                this.client.getConfig().getCommandThreads());
+    }
+
+    /**
+     * Creates the executor which orders the interactions of each guild.
+     *
+     * @return the striped command executor
+     */
+    @NonNull
+    protected StripedExecutor createCommandStripes() {
+        return new StripedExecutor(this.commandExecutor,
+                this.client.getConfig().getCommandStripes());
+    }
+
+    /**
+     * Creates the scheduler for deadlines of interactions.
+     * Tasks must not block, the scheduler only has a single thread which times out when idle.
+     *
+     * @return the scheduler
+     */
+    @NonNull
+    protected ScheduledExecutorService createScheduler() {
+        final ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1,
+                new ThreadFactoryBuilder().setNameFormat("interaction-scheduler-%d")
+                        .setDaemon(true).build());
+
+        scheduler.setKeepAliveTime(60, TimeUnit.SECONDS);
+        scheduler.allowCoreThreadTimeOut(true);
+        scheduler.setRemoveOnCancelPolicy(true);
+        return scheduler;
+    }
+
+    @NonNull
+    private ExecutionMode resolveExecutionMode() {
+        final ExecutionMode mode = this.client.getConfig().getExecutionMode();
+
+        if (mode == ExecutionMode.VIRTUAL_THREADS && !CommandExecutors.supportsVirtualThreads()) {
+            this.client.getLogger()
+                    .warn("Virtual threads require Java 21, falling back to platform threads.");
+            return ExecutionMode.PLATFORM_THREADS;
+        }
+
+        return mode;
+    }
+
+    /**
+     * Constructs the factories of all commands of the bot. By default, these are the commands of
+     * all {@link CommandRegistry command registries} generated for {@link BotCommand} annotated
+     * commands, found by the class loader of the manager. Built-in commands are only included if
+     * they are part of {@link #constructCommandClasses()}.
+     *
+     * @return the factories of the commands, mapped by their classes
+     */
+    @NonNull
+    protected Map<Class<? extends AbstractCommand>, CommandFactory> constructCommands() {
+        final Set<Class<? extends AbstractCommand>> classes = this.constructCommandClasses();
+        final Map<Class<? extends AbstractCommand>, CommandFactory> commands =
+                new LinkedHashMap<>();
+
+        ServiceLoader.load(CommandRegistry.class, this.getClass().getClassLoader())
+                .forEach(registry -> registry.getCommands().forEach((c, factory) -> {
+                    if (!BUILT_IN_COMMANDS.contains(c) || classes.contains(c)) {
+                        commands.put(c, factory);
+                    }
+                }));
+
+        // commands which are not annotated are constructed reflectively
+        classes.stream().filter(c -> !commands.containsKey(c))
+                .forEach(c -> commands.put(c, client -> {
+                    try {
+                        return c.getConstructor(DiscordBotClient.class).newInstance(client);
+                    } catch (final InstantiationException | IllegalAccessException |
+                                   InvocationTargetException | NoSuchMethodException e) {
+                        throw new RuntimeException(e);
+                    }
+                }));
+
+        return commands;
     }
 
+    /**
+     * Constructs the built-in commands to enable and additional command classes, which are
+     * constructed reflectively. Override this to leave out built-in commands, commands of the
+     * bot itself should be annotated with {@link BotCommand} instead.
+     *
+     * @return the command classes
+     */
     @NonNull
     protected Set<Class<? extends AbstractCommand>> constructCommandClasses() {
-        return new HashSet<>(
-                Arrays.asList(ReloadCommand.class, RestartCommand.class, ShutdownCommand.class,
-                        SyncCommand.class, TestCommand.class, UnsyncCommand.class));
+        return new HashSet<>(BUILT_IN_COMMANDS);
     }
 }
@@ -0,0 +1,199 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.alphaconqueror.discord.bot.utils.metrics;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * The metrics of a command path, one latency histogram per {@link CommandStage}.
+ */
+public class CommandMetrics {
+
+    private static final CommandStage[] STAGES = CommandStage.values();
+
+    @NonNull
+    private final String path;
+    @NonNull
+    private final LatencyHistogram[] histograms = new LatencyHistogram[STAGES.length];
+    @NonNull
+    private final LongAdder errors = new LongAdder();
+    @NonNull
+    private final LongAdder denied = new LongAdder();
+    @NonNull
+    private final LongAdder rateLimited = new LongAdder();
+    @NonNull
+    private final LongAdder shortCircuited = new LongAdder();
+    @NonNull
+    private final LongAdder admitted = new LongAdder();
+    @NonNull
+    private final LongAdder rejected = new LongAdder();
+    @NonNull
+    private final LongAdder completionHits = new LongAdder();
+    @NonNull
+    private final LongAdder completionMisses = new LongAdder();
+
+    public CommandMetrics(@NonNull final String path) {
+        this.path = path;
+
+        for (int i = 0; i < this.histograms.length; i++) {
+            this.histograms[i] = new LatencyHistogram();
+        }
+    }
+
+    /**
+     * Records the latency of a stage.
+     *
+     * @param stage the stage
+     * @param nanos the latency in nanoseconds
+     */
+    public void record(@NonNull final CommandStage stage, final long nanos) {
+        this.histograms[stage.ordinal()].record(nanos);
+    }
+
+    /**
+     * Records the latency of a stage since a start time.
+     *
+     * @param stage the stage
+     * @param start the start time, as of {@link System#nanoTime()}
+     */
+    public void recordSince(@NonNull final CommandStage stage, final long start) {
+        this.record(stage, System.nanoTime() - start);
+    }
+
+    /**
+     * Counts an interaction which failed with an error.
+     */
+    public void incrementErrors() {
+        this.errors.increment();
+    }
+
+    /**
+     * Counts an interaction which was denied due to missing permissions.
+     */
+    public void incrementDenied() {
+        this.denied.increment();
+    }
+
+    /**
+     * Counts an interaction which was rejected by a rate limit.
+     */
+    public void incrementRateLimited() {
+        this.rateLimited.increment();
+    }
+
+    /**
+     * Counts an interaction which failed fast due to an open circuit breaker.
+     */
+    public void incrementShortCircuited() {
+        this.shortCircuited.increment();
+    }
+
+    /**
+     * Counts an interaction which was admitted for execution.
+     */
+    public void incrementAdmitted() {
+        this.admitted.increment();
+    }
+
+    /**
+     * Counts an interaction which was rejected due to too many pending interactions.
+     */
+    public void incrementRejected() {
+        this.rejected.increment();
+    }
+
+    /**
+     * Counts autocomplete choices served by the autocomplete cache.
+     */
+    public void incrementCompletionHits() {
+        this.completionHits.increment();
+    }
+
+    /**
+     * Counts autocomplete choices computed on a miss of the autocomplete cache.
+     */
+    public void incrementCompletionMisses() {
+        this.completionMisses.increment();
+    }
+
+    @NonNull
+    public String getPath() {
+        return this.path;
+    }
+
+    @NonNull
+    public LatencyHistogram getHistogram(@NonNull final CommandStage stage) {
+        return this.histograms[stage.ordinal()];
+    }
+
+    public long getErrors() {
+        return this.errors.sum();
+    }
+
+    public long getDenied() {
+        return this.denied.sum();
+    }
+
+    public long getRateLimited() {
+        return this.rateLimited.sum();
+    }
+
+    public long getShortCircuited() {
+        return this.shortCircuited.sum();
+    }
+
+    public long getAdmitted() {
+        return this.admitted.sum();
+    }
+
+    public long getRejected() {
+        return this.rejected.sum();
+    }
+
+    public long getCompletionHits() {
+        return this.completionHits.sum();
+    }
+
+    public long getCompletionMisses() {
+        return this.completionMisses.sum();
+    }
+
+    @NonNull
+    public CommandMetricsSnapshot snapshot() {
+        final Map<CommandStage, HistogramSnapshot> histograms = new EnumMap<>(CommandStage.class);
+
+        for (final CommandStage stage : STAGES) {
+            histograms.put(stage, this.histograms[stage.ordinal()].snapshot());
+        }
+
+        return new CommandMetricsSnapshot(this.path, histograms, this.errors.sum(),
+                this.denied.sum(), this.rateLimited.sum(), this.shortCircuited.sum(),
+                this.admitted.sum(), this.rejected.sum(),
+                this.completionHits.sum(), this.completionMisses.sum());
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.alphaconqueror.discord.bot.utils.metrics;
+
+import java.util.Collections;
+import java.util.Map;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * An immutable snapshot of {@link CommandMetrics}.
+ */
+public class CommandMetricsSnapshot {
+
+    @NonNull
+    private final String path;
+    @NonNull
+    private final Map<CommandStage, HistogramSnapshot> histograms;
+    private final long errors;
+    private final long denied;
+    private final long rateLimited;
+    private final long shortCircuited;
+    private final long admitted;
+    private final long rejected;
+    private final long completionHits;
+    private final long completionMisses;
+
+    CommandMetricsSnapshot(@NonNull final String path,
+            @NonNull final Map<CommandStage, HistogramSnapshot> histograms, final long errors,
+            final long denied, final long rateLimited, final long shortCircuited,
+            final long admitted, final long rejected, final long completionHits,
+            final long completionMisses) {
+        this.path = path;
+        this.histograms = Collections.unmodifiableMap(histograms);
+        this.errors = errors;
+        this.denied = denied;
+        this.rateLimited = rateLimited;
+        this.shortCircuited = shortCircuited;
+        this.admitted = admitted;
+        this.rejected = rejected;
+        this.completionHits = completionHits;
+        this.completionMisses = completionMisses;
+    }
+
+    @NonNull
+    public String getPath() {
+        return this.path;
+    }
+
+    @NonNull
+    public HistogramSnapshot getHistogram(@NonNull final CommandStage stage) {
+        return this.histograms.get(stage);
+    }
+
+    @NonNull
+    public Map<CommandStage, HistogramSnapshot> getHistograms() {
+        return this.histograms;
+    }
+
+    /**
+     * Gets the number of interactions, as recorded by the {@link CommandStage#INTERACT} stage.
+     *
+     * @return the number of interactions
+     */
+    public long getInvocations() {
+        return this.getHistogram(CommandStage.INTERACT).getCount();
+    }
+
+    /**
+     * Gets the number of timed out interactions, as recorded by the {@link CommandStage#TIMEOUT}
+     * stage.
+     *
+     * @return the number of timed out interactions
+     */
+    public long getTimedOut() {
+        return this.getHistogram(CommandStage.TIMEOUT).getCount();
+    }
+
+    public long getErrors() {
+        return this.errors;
+    }
+
+    public long getDenied() {
+        return this.denied;
+    }
+
+    public long getRateLimited() {
+        return this.rateLimited;
+    }
+
+    public long getShortCircuited() {
+        return this.shortCircuited;
+    }
+
+    public long getAdmitted() {
+        return this.admitted;
+    }
+
+    public long getRejected() {
+        return this.rejected;
+    }
+
+    public long getCompletionHits() {
+        return this.completionHits;
+    }
+
+    public long getCompletionMisses() {
+        return this.completionMisses;
+    }
+
+    /**
+     * Gets the ratio of autocomplete requests served by the autocomplete cache.
+     *
+     * @return the hit rate, or 0 if no cached autocomplete request was made
+     */
+    public double getCompletionHitRate() {
+        final long requests = this.completionHits + this.completionMisses;
+
+        return requests == 0 ? 0 : (double) this.completionHits / requests;
+    }
+
+    @Override
+    public String toString() {
+        return this.path + " (" + this.getHistogram(CommandStage.INTERACT) + ", errors="
+                + this.errors + ", denied=" + this.denied + ", rate limited=" + this.rateLimited
+                + ", short circuited=" + this.shortCircuited + ", rejected=" + this.rejected + ")";
+    }
+}
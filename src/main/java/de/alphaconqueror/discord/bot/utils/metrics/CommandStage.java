@@ -0,0 +1,59 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.alphaconqueror.discord.bot.utils.metrics;
+
+/**
+ * The instrumented stages of a command interaction.
+ */
+public enum CommandStage {
+    /**
+     * The whole interaction, from dispatching until the response is created.
+     */
+    INTERACT,
+    /**
+     * Checking the permissions of the nodes of the invoked path.
+     */
+    PERMISSION,
+    /**
+     * Applying the command function, until its response is created.
+     */
+    APPLY,
+    /**
+     * Deferring the reply, until acknowledged by Discord.
+     */
+    DEFER,
+    /**
+     * Queueing the response, until acknowledged by Discord.
+     */
+    QUEUE,
+    /**
+     * Computing the choices of an autocomplete interaction.
+     */
+    AUTOCOMPLETE,
+    /**
+     * The time until an interaction timed out, only recorded for timed out interactions.
+     */
+    TIMEOUT
+}
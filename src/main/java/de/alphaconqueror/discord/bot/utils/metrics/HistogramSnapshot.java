@@ -0,0 +1,107 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.alphaconqueror.discord.bot.utils.metrics;
+
+import java.time.Duration;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * An immutable snapshot of a {@link LatencyHistogram}.
+ */
+public class HistogramSnapshot {
+
+    private final long @NonNull [] counts;
+    private final long count;
+    private final long sum;
+    private final long max;
+
+    HistogramSnapshot(final long @NonNull [] counts, final long sum, final long max) {
+        long count = 0;
+
+        for (final long bucket : counts) {
+            count += bucket;
+        }
+
+        this.counts = counts;
+        this.count = count;
+        this.sum = sum;
+        this.max = max;
+    }
+
+    /**
+     * Gets the latency at a quantile, e.g. 0.99 for the 99th percentile.
+     * The latency is the midpoint of the bucket the quantile falls into, capped by the maximum.
+     *
+     * @param quantile the quantile, between 0 and 1
+     * @return the latency in nanoseconds, or 0 if empty
+     */
+    public long getValueAtQuantile(final double quantile) {
+        return LatencyHistogram.valueAtQuantile(this.counts, this.count, this.max, quantile);
+    }
+
+    @NonNull
+    public Duration getP50() {
+        return Duration.ofNanos(this.getValueAtQuantile(0.5));
+    }
+
+    @NonNull
+    public Duration getP99() {
+        return Duration.ofNanos(this.getValueAtQuantile(0.99));
+    }
+
+    @NonNull
+    public Duration getP999() {
+        return Duration.ofNanos(this.getValueAtQuantile(0.999));
+    }
+
+    @NonNull
+    public Duration getMean() {
+        return Duration.ofNanos(this.count == 0 ? 0 : this.sum / this.count);
+    }
+
+    @NonNull
+    public Duration getMax() {
+        return Duration.ofNanos(this.max);
+    }
+
+    public long getCount() {
+        return this.count;
+    }
+
+    /**
+     * Gets the sum of all latencies.
+     *
+     * @return the sum in nanoseconds
+     */
+    public long getSum() {
+        return this.sum;
+    }
+
+    @Override
+    public String toString() {
+        return "count=" + this.count + ", p50=" + this.getP50().toMillis() + "ms, p99="
+                + this.getP99().toMillis() + "ms, p999=" + this.getP999().toMillis() + "ms";
+    }
+}
@@ -0,0 +1,199 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.alphaconqueror.discord.bot.utils.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * A lock-free latency histogram with a fixed memory footprint.
+ * Latencies are recorded in nanoseconds into log-linear buckets: every power of two is split
+ * into 16 linear sub-buckets, which bounds the relative error of percentiles to 6.25%.
+ * Latencies above 2^41ns (about 36 minutes) are recorded into the last bucket.
+ */
+public class LatencyHistogram {
+
+    static final int SUB_BITS = 4;
+    static final int SUB_COUNT = 1 << SUB_BITS;
+    static final int MAX_EXPONENT = 40;
+    static final int BUCKETS = (MAX_EXPONENT - SUB_BITS + 2) * SUB_COUNT;
+
+    @NonNull
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    @NonNull
+    private final LongAdder count = new LongAdder();
+    @NonNull
+    private final LongAdder sum = new LongAdder();
+    @NonNull
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Records a latency.
+     *
+     * @param nanos the latency in nanoseconds
+     */
+    public void record(final long nanos) {
+        final long value = Math.max(0, nanos);
+
+        this.counts.incrementAndGet(index(value));
+        this.count.increment();
+        this.sum.add(value);
+
+        long max = this.max.get();
+
+        while (value > max && !this.max.compareAndSet(max, value)) {
+            max = this.max.get();
+        }
+    }
+
+    /**
+     * Takes a snapshot of the histogram. Concurrent recordings may be partially included.
+     *
+     * @return the snapshot
+     */
+    @NonNull
+    public HistogramSnapshot snapshot() {
+        final long[] counts = new long[BUCKETS];
+
+        this.copyCounts(counts);
+        return new HistogramSnapshot(counts, this.sum.sum(), this.max.get());
+    }
+
+    /**
+     * Copies the bucket counts into an array, e.g. to reuse it between snapshots.
+     *
+     * @param counts the array, of at least {@link #getBucketCount()} length
+     * @return the total count
+     */
+    public long copyCounts(final long @NonNull [] counts) {
+        long total = 0;
+
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = this.counts.get(i);
+            total += counts[i];
+        }
+
+        return total;
+    }
+
+    public long getCount() {
+        return this.count.sum();
+    }
+
+    public long getSum() {
+        return this.sum.sum();
+    }
+
+    public long getMax() {
+        return this.max.get();
+    }
+
+    public static int getBucketCount() {
+        return BUCKETS;
+    }
+
+    /**
+     * Gets the value at a quantile of bucket counts.
+     * The value is the midpoint of the bucket the quantile falls into, capped by the maximum.
+     *
+     * @param counts   the bucket counts
+     * @param total    the sum of the bucket counts
+     * @param max      the maximum value
+     * @param quantile the quantile, between 0 and 1
+     * @return the value, or 0 if empty
+     */
+    public static long valueAtQuantile(final long @NonNull [] counts, final long total,
+            final long max, final double quantile) {
+        if (total == 0) {
+            return 0;
+        }
+
+        final long rank = Math.max(1, (long) Math.ceil(quantile * total));
+        long seen = 0;
+
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+
+            if (seen >= rank) {
+                return Math.min(max, lowerBound(i) + width(i) / 2);
+            }
+        }
+
+        return max;
+    }
+
+    /**
+     * Gets the bucket of a value.
+     *
+     * @param value the value, not negative
+     * @return the index of the bucket
+     */
+    public static int index(final long value) {
+        if (value < SUB_COUNT) {
+            return (int) value;
+        }
+
+        final int exponent = 63 - Long.numberOfLeadingZeros(value);
+
+        if (exponent > MAX_EXPONENT) {
+            return BUCKETS - 1;
+        }
+
+        return (exponent - SUB_BITS + 1) * SUB_COUNT
+                + (int) ((value >>> (exponent - SUB_BITS)) - SUB_COUNT);
+    }
+
+    /**
+     * Gets the smallest value of a bucket.
+     *
+     * @param index the index of the bucket
+     * @return the lower bound
+     */
+    public static long lowerBound(final int index) {
+        if (index < SUB_COUNT) {
+            return index;
+        }
+
+        final int exponent = index / SUB_COUNT + SUB_BITS - 1;
+
+        return (long) (SUB_COUNT + index % SUB_COUNT) << (exponent - SUB_BITS);
+    }
+
+    /**
+     * Gets the number of values of a bucket.
+     *
+     * @param index the index of the bucket
+     * @return the width
+     */
+    public static long width(final int index) {
+        if (index < SUB_COUNT) {
+            return 1;
+        }
+
+        return 1L << (index / SUB_COUNT - 1);
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.alphaconqueror.discord.bot.utils.metrics;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * Holds the metrics of all command paths ({@code root[/group][/sub]}).
+ */
+public class MetricsRegistry {
+
+    @NonNull
+    private final Map<String, CommandMetrics> commands = new ConcurrentHashMap<>();
+    @NonNull
+    private final Map<String, LatencyHistogram> synchronizations = new ConcurrentHashMap<>();
+    @NonNull
+    private final LongAdder events = new LongAdder();
+    private final long startTime = System.nanoTime();
+
+    /**
+     * Gets the metrics of a command path, creating them on first use.
+     *
+     * @param path the command path
+     * @return the metrics
+     */
+    @NonNull
+    public CommandMetrics getCommand(@NonNull final String path) {
+        final CommandMetrics metrics = this.commands.get(path);
+
+        return metrics != null ? metrics
+                : this.commands.computeIfAbsent(path, CommandMetrics::new);
+    }
+
+    @NonNull
+    public Collection<CommandMetrics> getCommands() {
+        return Collections.unmodifiableCollection(this.commands.values());
+    }
+
+    /**
+     * Gets the histogram of the command synchronizations of a scope.
+     *
+     * @param scope the scope, e.g. global or guild
+     * @return the histogram
+     */
+    @NonNull
+    public LatencyHistogram getSynchronization(@NonNull final String scope) {
+        return this.synchronizations.computeIfAbsent(scope, ignored -> new LatencyHistogram());
+    }
+
+    @NonNull
+    public Map<String, LatencyHistogram> getSynchronizations() {
+        return Collections.unmodifiableMap(this.synchronizations);
+    }
+
+    /**
+     * Counts a received gateway event.
+     */
+    public void incrementEvents() {
+        this.events.increment();
+    }
+
+    public long getEvents() {
+        return this.events.sum();
+    }
+
+    /**
+     * Gets the time since the metrics are recorded.
+     *
+     * @return the uptime
+     */
+    @NonNull
+    public Duration getUptime() {
+        return Duration.ofNanos(System.nanoTime() - this.startTime);
+    }
+
+    /**
+     * Takes a snapshot of the metrics of all command paths.
+     *
+     * @return the snapshots, sorted by path
+     */
+    @NonNull
+    public Map<String, CommandMetricsSnapshot> snapshot() {
+        final Map<String, CommandMetricsSnapshot> snapshots = new TreeMap<>();
+
+        this.commands.forEach((path, metrics) -> snapshots.put(path, metrics.snapshot()));
+        return Collections.unmodifiableMap(snapshots);
+    }
+}
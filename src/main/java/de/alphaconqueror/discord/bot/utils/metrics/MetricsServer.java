@@ -0,0 +1,152 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.alphaconqueror.discord.bot.utils.metrics;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import de.alphaconqueror.discord.bot.utils.DiscordBotClient;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * Serves the metrics of a client in the Prometheus text format at {@code /metrics}.
+ * Scrapes are handled one at a time on a single thread, reusing the same buffers.
+ */
+public class MetricsServer {
+
+    private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    @NonNull
+    private final PrometheusExporter exporter;
+    @NonNull
+    private final HttpServer server;
+    @NonNull
+    private final ExecutorService executor;
+    @NonNull
+    private final StringBuilder text = new StringBuilder(16 * 1024);
+    private byte @NonNull [] bytes = new byte[16 * 1024];
+
+    /**
+     * Creates the server, which has to be {@link #start() started}.
+     *
+     * @param client the client
+     * @param host   the address to bind to
+     * @param port   the port to bind to
+     * @throws IOException if the address could not be bound
+     */
+    public MetricsServer(@NonNull final DiscordBotClient client, @NonNull final String host,
+            final int port) throws IOException {
+        this.exporter = new PrometheusExporter(client);
+        this.server = HttpServer.create(new InetSocketAddress(host, port), 0);
+        this.executor = Executors.newSingleThreadExecutor(
+                new ThreadFactoryBuilder().setNameFormat("metrics-server-%d").setDaemon(true)
+                        .build());
+        this.server.createContext("/metrics", this::handle);
+        this.server.setExecutor(this.executor);
+    }
+
+    public void start() {
+        this.server.start();
+    }
+
+    public void stop() {
+        this.server.stop(0);
+        this.executor.shutdown();
+    }
+
+    @NonNull
+    public InetSocketAddress getAddress() {
+        return this.server.getAddress();
+    }
+
+    private void handle(@NonNull final HttpExchange exchange) throws IOException {
+        try {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+
+            this.text.setLength(0);
+            this.exporter.write(this.text);
+
+            final int length = this.encode();
+
+            exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+            exchange.sendResponseHeaders(200, length);
+
+            try (final OutputStream body = exchange.getResponseBody()) {
+                body.write(this.bytes, 0, length);
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * Encodes the text as UTF-8 into the reused byte buffer.
+     *
+     * @return the number of bytes
+     */
+    private int encode() {
+        final int length = this.text.length();
+
+        // at most 3 bytes per char, surrogate pairs take 4 bytes for 2 chars
+        if (this.bytes.length < length * 3) {
+            this.bytes = new byte[length * 3];
+        }
+
+        int position = 0;
+
+        for (int i = 0; i < length; i++) {
+            final char c = this.text.charAt(i);
+
+            if (c < 0x80) {
+                this.bytes[position++] = (byte) c;
+            } else if (c < 0x800) {
+                this.bytes[position++] = (byte) (0xC0 | c >> 6);
+                this.bytes[position++] = (byte) (0x80 | c & 0x3F);
+            } else if (Character.isHighSurrogate(c) && i + 1 < length
+                    && Character.isLowSurrogate(this.text.charAt(i + 1))) {
+                final int codePoint = Character.toCodePoint(c, this.text.charAt(++i));
+
+                this.bytes[position++] = (byte) (0xF0 | codePoint >> 18);
+                this.bytes[position++] = (byte) (0x80 | codePoint >> 12 & 0x3F);
+                this.bytes[position++] = (byte) (0x80 | codePoint >> 6 & 0x3F);
+                this.bytes[position++] = (byte) (0x80 | codePoint & 0x3F);
+            } else {
+                this.bytes[position++] = (byte) (0xE0 | c >> 12);
+                this.bytes[position++] = (byte) (0x80 | c >> 6 & 0x3F);
+                this.bytes[position++] = (byte) (0x80 | c & 0x3F);
+            }
+        }
+
+        return position;
+    }
+}
@@ -0,0 +1,382 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.alphaconqueror.discord.bot.utils.metrics;
+
+import com.google.common.cache.CacheStats;
+import de.alphaconqueror.discord.bot.utils.DiscordBotClient;
+import de.alphaconqueror.discord.bot.utils.StartupPhase;
+import de.alphaconqueror.discord.bot.utils.StartupTimings;
+import de.alphaconqueror.discord.bot.utils.command.abstraction.AbstractCommand;
+import de.alphaconqueror.discord.bot.utils.command.breaker.CircuitState;
+import de.alphaconqueror.discord.bot.utils.command.builder.node.DispatchTable;
+import de.alphaconqueror.discord.bot.utils.concurrent.AdmissionLimit;
+import de.alphaconqueror.discord.bot.utils.concurrent.StripedExecutor;
+import de.alphaconqueror.discord.bot.utils.manager.DiscordManager;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Writes the metrics of a client in the Prometheus text format.
+ * Apart from the enumeration of the registered metrics, writing does not allocate: numbers
+ * are appended directly and the bucket counts are read into a reused buffer, so instances are
+ * not thread-safe.
+ */
+public class PrometheusExporter {
+
+    private static final CommandStage[] STAGES = CommandStage.values();
+    private static final String[] STAGE_NAMES = new String[STAGES.length];
+    private static final double[] QUANTILES = {0.5, 0.99, 0.999};
+    private static final String[] QUANTILE_NAMES = {"0.5", "0.99", "0.999"};
+    private static final StartupPhase[] PHASES = StartupPhase.values();
+    private static final String[] PHASE_NAMES = new String[PHASES.length];
+    private static final CircuitState[] CIRCUIT_STATES = CircuitState.values();
+    private static final String[] CIRCUIT_STATE_NAMES = new String[CIRCUIT_STATES.length];
+    private static final String[] EXECUTOR_NAMES = {"command", "scheduler"};
+    private static final String[] EXECUTOR_FAMILIES = {"discord_executor_active_threads",
+            "discord_executor_max_threads", "discord_executor_queued_tasks",
+            "discord_executor_completed_tasks_total"};
+    private static final String[] EXECUTOR_TYPES = {"gauge", "gauge", "gauge", "counter"};
+
+    static {
+        for (final CommandStage stage : STAGES) {
+            STAGE_NAMES[stage.ordinal()] = stage.name().toLowerCase(Locale.ROOT);
+        }
+
+        for (final StartupPhase phase : PHASES) {
+            PHASE_NAMES[phase.ordinal()] = phase.name().toLowerCase(Locale.ROOT);
+        }
+
+        for (final CircuitState state : CIRCUIT_STATES) {
+            CIRCUIT_STATE_NAMES[state.ordinal()] = state.name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    @NonNull
+    private final DiscordBotClient client;
+    private final long @NonNull [] counts = new long[LatencyHistogram.getBucketCount()];
+    // the labels of the stripes, created once per stripe count
+    private String @NonNull [] stripeLabels = new String[0];
+    // the pools of the executors, by the index of their name
+    private final @Nullable ThreadPoolExecutor @NonNull [] pools =
+            new ThreadPoolExecutor[EXECUTOR_NAMES.length];
+
+    public PrometheusExporter(@NonNull final DiscordBotClient client) {
+        this.client = client;
+    }
+
+    /**
+     * Writes all metrics.
+     *
+     * @param out the builder to append to
+     */
+    public void write(@NonNull final StringBuilder out) {
+        final DiscordManager discordManager = this.client.getDiscordManager();
+        final MetricsRegistry metrics = discordManager.getMetrics();
+
+        type(out, "discord_command_latency_seconds", "summary");
+
+        for (final CommandMetrics command : metrics.getCommands()) {
+            for (final CommandStage stage : STAGES) {
+                this.summary(out, "discord_command_latency_seconds", "path", command.getPath(),
+                        "stage", STAGE_NAMES[stage.ordinal()], command.getHistogram(stage));
+            }
+        }
+
+        type(out, "discord_command_errors_total", "counter");
+
+        for (final CommandMetrics command : metrics.getCommands()) {
+            sample(out, "discord_command_errors_total", "path", command.getPath())
+                    .append(command.getErrors()).append('\n');
+        }
+
+        type(out, "discord_command_denied_total", "counter");
+
+        for (final CommandMetrics command : metrics.getCommands()) {
+            sample(out, "discord_command_denied_total", "path", command.getPath())
+                    .append(command.getDenied()).append('\n');
+        }
+
+        type(out, "discord_command_rate_limited_total", "counter");
+
+        for (final CommandMetrics command : metrics.getCommands()) {
+            sample(out, "discord_command_rate_limited_total", "path", command.getPath())
+                    .append(command.getRateLimited()).append('\n');
+        }
+
+        type(out, "discord_command_short_circuited_total", "counter");
+
+        for (final CommandMetrics command : metrics.getCommands()) {
+            sample(out, "discord_command_short_circuited_total", "path", command.getPath())
+                    .append(command.getShortCircuited()).append('\n');
+        }
+
+        type(out, "discord_circuit_breaker_state", "gauge");
+
+        for (final AbstractCommand command : discordManager.getRouter().getCommands().values()) {
+            final DispatchTable dispatchTable = command.getRootCommandNode().getDispatchTable();
+
+            if (!dispatchTable.hasCircuitBreakers()) {
+                continue;
+            }
+
+            for (final DispatchTable.Entry entry : dispatchTable.getEntries().values()) {
+                if (!entry.hasCircuitBreakers()) {
+                    continue;
+                }
+
+                final CircuitState current = entry.getCircuitState();
+
+                for (final CircuitState state : CIRCUIT_STATES) {
+                    open(out, "discord_circuit_breaker_state", "", "path", entry.getPath(),
+                            "state", CIRCUIT_STATE_NAMES[state.ordinal()]).append("} ")
+                            .append(state == current ? 1 : 0).append('\n');
+                }
+            }
+        }
+
+        type(out, "discord_command_admitted_total", "counter");
+
+        for (final CommandMetrics command : metrics.getCommands()) {
+            sample(out, "discord_command_admitted_total", "path", command.getPath())
+                    .append(command.getAdmitted()).append('\n');
+        }
+
+        type(out, "discord_command_rejected_total", "counter");
+
+        for (final CommandMetrics command : metrics.getCommands()) {
+            sample(out, "discord_command_rejected_total", "path", command.getPath())
+                    .append(command.getRejected()).append('\n');
+        }
+
+        final CacheStats permissions = this.client.getPermissionManager().getCacheStats();
+
+        type(out, "discord_permission_cache_requests_total", "counter");
+        sample(out, "discord_permission_cache_requests_total", "result", "hit")
+                .append(permissions.hitCount()).append('\n');
+        sample(out, "discord_permission_cache_requests_total", "result", "miss")
+                .append(permissions.missCount()).append('\n');
+
+        type(out, "discord_autocomplete_cache_requests_total", "counter");
+
+        for (final CommandMetrics command : metrics.getCommands()) {
+            open(out, "discord_autocomplete_cache_requests_total", "", "path", command.getPath(),
+                    "result", "hit").append("} ").append(command.getCompletionHits()).append('\n');
+            open(out, "discord_autocomplete_cache_requests_total", "", "path", command.getPath(),
+                    "result", "miss").append("} ").append(command.getCompletionMisses())
+                    .append('\n');
+        }
+
+        type(out, "discord_sync_duration_seconds", "summary");
+
+        for (final Map.Entry<String, LatencyHistogram> entry : metrics.getSynchronizations()
+                .entrySet()) {
+            this.summary(out, "discord_sync_duration_seconds", "scope", entry.getKey(), null,
+                    null, entry.getValue());
+        }
+
+        final StartupTimings timings = this.client.getStartupTimings();
+
+        if (timings != null) {
+            type(out, "discord_startup_phase_seconds", "gauge");
+
+            for (final StartupPhase phase : PHASES) {
+                timings.get(phase).ifPresent(
+                        duration -> seconds(sample(out, "discord_startup_phase_seconds", "phase",
+                                PHASE_NAMES[phase.ordinal()]),
+                                duration.toNanos()).append('\n'));
+            }
+        }
+
+        type(out, "discord_gateway_events_total", "counter");
+        out.append("discord_gateway_events_total ").append(metrics.getEvents()).append('\n');
+
+        // the ping is negative until the first heartbeat
+        if (discordManager.isJDAReady() && discordManager.getJda().getGatewayPing() >= 0) {
+            type(out, "discord_gateway_ping_seconds", "gauge");
+            seconds(out.append("discord_gateway_ping_seconds "),
+                    discordManager.getJda().getGatewayPing() * 1_000_000L).append('\n');
+        }
+
+        this.pools[0] = pool(discordManager.getCommandExecutor());
+        this.pools[1] = pool(discordManager.getScheduler());
+        this.executors(out);
+
+        final AdmissionLimit admission = discordManager.getAdmission();
+
+        type(out, "discord_pending_interactions", "gauge");
+        out.append("discord_pending_interactions ").append(admission.getPending()).append('\n');
+        type(out, "discord_pending_interactions_limit", "gauge");
+        out.append("discord_pending_interactions_limit ").append(admission.getLimit())
+                .append('\n');
+
+        final StripedExecutor stripes = discordManager.getCommandStripes();
+
+        type(out, "discord_command_stripe_queue_depth", "gauge");
+
+        if (this.stripeLabels.length != stripes.getStripeCount()) {
+            this.stripeLabels = new String[stripes.getStripeCount()];
+
+            for (int i = 0; i < this.stripeLabels.length; i++) {
+                this.stripeLabels[i] = Integer.toString(i);
+            }
+        }
+
+        for (int i = 0; i < this.stripeLabels.length; i++) {
+            sample(out, "discord_command_stripe_queue_depth", "stripe", this.stripeLabels[i])
+                    .append(stripes.getQueueDepth(i)).append('\n');
+        }
+    }
+
+    private void summary(@NonNull final StringBuilder out, @NonNull final String name,
+            @NonNull final String label, @NonNull final String value,
+            @Nullable final String label2, @Nullable final String value2,
+            @NonNull final LatencyHistogram histogram) {
+        final long total = histogram.copyCounts(this.counts);
+        final long max = histogram.getMax();
+
+        for (int i = 0; i < QUANTILES.length; i++) {
+            open(out, name, "", label, value, label2, value2).append(",quantile=\"")
+                    .append(QUANTILE_NAMES[i]).append("\"} ");
+            seconds(out, LatencyHistogram.valueAtQuantile(this.counts, total, max, QUANTILES[i]))
+                    .append('\n');
+        }
+
+        seconds(open(out, name, "_sum", label, value, label2, value2).append("} "),
+                histogram.getSum()).append('\n');
+        open(out, name, "_count", label, value, label2, value2).append("} ").append(total)
+                .append('\n');
+    }
+
+    /**
+     * Appends the executor families, each family once with a sample per thread pool.
+     */
+    private void executors(@NonNull final StringBuilder out) {
+        for (int family = 0; family < EXECUTOR_FAMILIES.length; family++) {
+            type(out, EXECUTOR_FAMILIES[family], EXECUTOR_TYPES[family]);
+
+            for (int i = 0; i < this.pools.length; i++) {
+                final ThreadPoolExecutor pool = this.pools[i];
+
+                if (pool != null) {
+                    sample(out, EXECUTOR_FAMILIES[family], "executor", EXECUTOR_NAMES[i])
+                            .append(executorValue(pool, family)).append('\n');
+                }
+            }
+        }
+    }
+
+    private static long executorValue(@NonNull final ThreadPoolExecutor pool,
+            final int family) {
+        switch (family) {
+            case 0:
+                return pool.getActiveCount();
+            case 1:
+                // scheduled pools never grow beyond their core threads
+                return pool instanceof ScheduledThreadPoolExecutor ? pool.getCorePoolSize()
+                        : pool.getMaximumPoolSize();
+            case 2:
+                return pool.getQueue().size();
+            default:
+                return pool.getCompletedTaskCount();
+        }
+    }
+
+    @Nullable
+    private static ThreadPoolExecutor pool(@NonNull final ExecutorService executor) {
+        return executor instanceof ThreadPoolExecutor ? (ThreadPoolExecutor) executor : null;
+    }
+
+    private static void type(@NonNull final StringBuilder out, @NonNull final String name,
+            @NonNull final String type) {
+        out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    /**
+     * Appends the name and label of a sample, followed by a space for the value.
+     */
+    @NonNull
+    private static StringBuilder sample(@NonNull final StringBuilder out,
+            @NonNull final String name, @NonNull final String label,
+            @NonNull final String value) {
+        return open(out, name, "", label, value, null, null).append("} ");
+    }
+
+    /**
+     * Appends the name and labels of a sample, leaving the labels open for further labels.
+     */
+    @NonNull
+    private static StringBuilder open(@NonNull final StringBuilder out,
+            @NonNull final String name, @NonNull final String suffix,
+            @NonNull final String label, @NonNull final String value,
+            @Nullable final String label2, @Nullable final String value2) {
+        out.append(name).append(suffix).append('{');
+        label(out, label, value);
+
+        if (label2 != null && value2 != null) {
+            out.append(',');
+            label(out, label2, value2);
+        }
+
+        return out;
+    }
+
+    private static void label(@NonNull final StringBuilder out, @NonNull final String label,
+            @NonNull final String value) {
+        out.append(label).append("=\"");
+
+        for (int i = 0; i < value.length(); i++) {
+            final char c = value.charAt(i);
+
+            if (c == '\\' || c == '"') {
+                out.append('\\');
+            }
+
+            out.append(c == '\n' ? ' ' : c);
+        }
+
+        out.append('"');
+    }
+
+    /**
+     * Appends nanoseconds as seconds without going through floating point.
+     */
+    @NonNull
+    private static StringBuilder seconds(@NonNull final StringBuilder out, final long nanos) {
+        final long fraction = nanos % 1_000_000_000L;
+
+        out.append(nanos / 1_000_000_000L).append('.');
+
+        for (long digit = 100_000_000L; digit > 1 && fraction < digit; digit /= 10) {
+            out.append('0');
+        }
+
+        return out.append(fraction);
+    }
+}
@@ -35,6 +35,7 @@ public enum DiscordPermission implements Permission {
     RELOAD("reload"),
     RESTART("restart"),
     SHUTDOWN("shutdown"),
+    STATS("stats"),
     SYNC("sync"),
     TEST("test"),
     UNSYNC("unsync");
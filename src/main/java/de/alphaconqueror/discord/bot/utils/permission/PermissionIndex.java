@@ -0,0 +1,196 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.alphaconqueror.discord.bot.utils.permission;
+
+import com.google.common.collect.ImmutableMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A compiled form of the configured permissions.
+ * Every permission gets a dense id and every guild, user or role id is mapped to a bitset
+ * of its permissions, so a check is a hash probe and a bit test without any allocation.
+ */
+public class PermissionIndex {
+
+    // the id of DiscordPermission.ALL, which grants every permission
+    private static final int ALL_ID = 0;
+
+    private final long version;
+    // the compiled map, a reloaded config returning another map invalidates the index
+    @NonNull
+    private final Map<Long, Set<Permission>> source;
+    @NonNull
+    private final Map<Permission, Integer> ids;
+    // open addressing table of holder id -> permission bitset
+    private final long[] holders;
+    private final long[][] bitsets;
+    private final int mask;
+
+    private PermissionIndex(@NonNull final Map<Long, Set<Permission>> source,
+            final long version) {
+        final Map<Permission, Integer> ids = new HashMap<>();
+
+        ids.put(DiscordPermission.ALL, ALL_ID);
+        source.values().forEach(permissions -> {
+            if (permissions != null) {
+                permissions.forEach(permission -> ids.putIfAbsent(permission, ids.size()));
+            }
+        });
+
+        this.version = version;
+        this.source = source;
+        this.ids = ImmutableMap.copyOf(ids);
+
+        final int words = ((ids.size() - 1) >>> 6) + 1;
+        int capacity = 2;
+
+        while (capacity < source.size() * 2) {
+            capacity <<= 1;
+        }
+
+        this.holders = new long[capacity];
+        this.bitsets = new long[capacity][];
+        this.mask = capacity - 1;
+
+        source.forEach((holder, permissions) -> {
+            if (permissions == null) {
+                return;
+            }
+
+            final long[] bitset = new long[words];
+
+            for (final Permission permission : permissions) {
+                final int id = ids.get(permission);
+
+                bitset[id >>> 6] |= 1L << id;
+            }
+
+            int slot = this.slot(holder);
+
+            while (this.bitsets[slot] != null) {
+                slot = (slot + 1) & this.mask;
+            }
+
+            this.holders[slot] = holder;
+            this.bitsets[slot] = bitset;
+        });
+    }
+
+    /**
+     * Compiles the permission index of a permission map.
+     *
+     * @param permissions the permissions by guild, user or role id
+     * @param version     the version of the config the permissions have been loaded from
+     * @return the permission index
+     */
+    @NonNull
+    public static PermissionIndex compile(@NonNull final Map<Long, Set<Permission>> permissions,
+            final long version) {
+        return new PermissionIndex(permissions, version);
+    }
+
+    /**
+     * Gets the version of the config this index has been compiled from.
+     *
+     * @return the config version, see
+     *         {@link de.alphaconqueror.discord.bot.utils.config.ConfigFactory#getVersion()}
+     */
+    public long getVersion() {
+        return this.version;
+    }
+
+    /**
+     * Checks whether this index is still current, i.e. it has been compiled from the same
+     * permission map of the same config version.
+     *
+     * @param permissions the permissions of the config
+     * @param version     the version of the config
+     * @return true, if the index does not need to be recompiled
+     */
+    public boolean isCompiledFrom(@NonNull final Map<Long, Set<Permission>> permissions,
+            final long version) {
+        return this.source == permissions && this.version == version;
+    }
+
+    /**
+     * Gets the dense id of a permission.
+     *
+     * @param permission the permission
+     * @return the id, or -1 if no holder has been granted the permission
+     */
+    public int getId(@NonNull final Permission permission) {
+        final Integer id = this.ids.get(permission);
+
+        return id == null ? -1 : id;
+    }
+
+    /**
+     * Checks if a holder has been granted a permission.
+     *
+     * @param holder the guild, user or role id
+     * @param id     the permission id, see {@link #getId(Permission)}
+     * @return true, if the holder has the permission or {@link DiscordPermission#ALL}
+     */
+    public boolean matches(final long holder, final int id) {
+        final long[] bitset = this.bitset(holder);
+
+        if (bitset == null) {
+            return false;
+        }
+
+        if ((bitset[ALL_ID >>> 6] & (1L << ALL_ID)) != 0) {
+            return true;
+        }
+
+        return id >= 0 && (bitset[id >>> 6] & (1L << id)) != 0;
+    }
+
+    @Nullable
+    private long[] bitset(final long holder) {
+        int slot = this.slot(holder);
+        long[] bitset;
+
+        while ((bitset = this.bitsets[slot]) != null) {
+            if (this.holders[slot] == holder) {
+                return bitset;
+            }
+
+            slot = (slot + 1) & this.mask;
+        }
+
+        return null;
+    }
+
+    private int slot(final long holder) {
+        long hash = holder * 0x9E3779B97F4A7C15L;
+
+        hash ^= hash >>> 32;
+        return (int) hash & this.mask;
+    }
+}
@@ -24,28 +24,89 @@
 
 package de.alphaconqueror.discord.bot.utils.permission;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
 import de.alphaconqueror.discord.bot.utils.DiscordBotClient;
-import java.util.Collection;
+import de.alphaconqueror.discord.bot.utils.command.InteractionContext;
+import de.alphaconqueror.discord.bot.utils.config.ConfigFactory;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import net.dv8tion.jda.api.entities.Guild;
 import net.dv8tion.jda.api.entities.Member;
+import net.dv8tion.jda.api.entities.Role;
 import net.dv8tion.jda.api.entities.User;
+import net.dv8tion.jda.api.interactions.Interaction;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
 public class PermissionManager {
 
     private final DiscordBotClient client;
+    // decisions by (guild, member, roles, permission)
+    @NonNull
+    private final Cache<DecisionKey, Boolean> decisions;
+    @Nullable
+    private volatile PermissionIndex index;
 
-    public PermissionManager(final DiscordBotClient client) {this.client = client;}
+    public PermissionManager(final DiscordBotClient client) {
+        this.client = client;
+        this.decisions = CacheBuilder.newBuilder()
+                .maximumSize(client.getConfig().getPermissionCacheSize())
+                .expireAfterWrite(client.getConfig().getPermissionCacheTtl()).recordStats()
+                .build();
+    }
 
     public boolean hasPermission(@NonNull final User user, @NonNull final Permission permission) {
         return this.client.getDiscordManager().getGuild()
-                .map(guild -> this.hasPermission(guild, guild.retrieveMember(user).complete(),
+                .map(guild -> this.hasPermission(guild, this.retrieveMember(guild, user),
                         permission)).orElse(false);
     }
 
+    /**
+     * Checks the permission of the member who triggered an interaction.
+     * The member is resolved once per interaction, see {@link InteractionContext#getMember()}.
+     *
+     * @param context    the interaction context
+     * @param permission the permission
+     * @return true, if the member has the permission
+     */
+    public boolean hasPermission(@NonNull final InteractionContext context,
+            @NonNull final Permission permission) {
+        // no permission needed, skip resolving the member
+        if (permission == DiscordPermission.NONE) {
+            return true;
+        }
+
+        final Member member = context.getMember();
+
+        return member != null && this.hasPermission(member.getGuild(), member, permission);
+    }
+
+    /**
+     * Resolves the member of the configured guild who triggered an interaction.
+     * The member carried in the interaction payload is used if the interaction happened in
+     * the configured guild, otherwise the member cache is checked before falling back to a
+     * blocking REST request.
+     *
+     * @param event the interaction, e.g. a slash command or autocomplete event
+     * @return the member, or null if the configured guild could not be found
+     */
+    @Nullable
+    public Member resolveMember(@NonNull final Interaction event) {
+        final Member member = event.getMember();
+
+        if (member != null
+                && member.getGuild().getIdLong() == this.client.getConfig().getGuildId()) {
+            return member;
+        }
+
+        return this.client.getDiscordManager().getGuild()
+                .map(guild -> this.retrieveMember(guild, event.getUser())).orElse(null);
+    }
+
     public boolean hasPermission(@NonNull final Guild guild, @Nullable final Member member,
             @NonNull final Permission permission) {
         // no permission needed
@@ -58,35 +119,151 @@ public class PermissionManager {
             return false;
         }
 
-        final Map<Long, Set<Permission>> permissionMap = this.client.getConfig().getPermissions();
-        // check for default permissions (permissions of @everyone)
-        final Set<Permission> defaultPermissions = permissionMap.get(guild.getIdLong());
+        // discards the cached decisions if the config has been reloaded
+        final PermissionIndex index = this.getIndex();
+        final List<Role> roles = member.getRoles();
+        // the roles are part of the key, a member whose roles changed misses the cache
+        final DecisionKey key =
+                new DecisionKey(guild.getIdLong(), member.getIdLong(), roles, permission);
+        final Boolean cached = this.decisions.getIfPresent(key);
+
+        if (cached != null) {
+            return cached;
+        }
 
-        if (this.permissionMatch(defaultPermissions, permission)) {
+        final boolean decision = this.computePermission(index, guild, member, roles, permission);
+
+        this.decisions.put(key, decision);
+
+        // the index got recompiled meanwhile, do not keep a decision of the previous config
+        if (this.index != index) {
+            this.decisions.invalidate(key);
+        }
+
+        return decision;
+    }
+
+    private boolean computePermission(@NonNull final PermissionIndex index,
+            @NonNull final Guild guild, @NonNull final Member member,
+            @NonNull final List<Role> roles, @NonNull final Permission permission) {
+        final int id = index.getId(permission);
+
+        // check for default permissions (permissions of @everyone)
+        if (index.matches(guild.getIdLong(), id)) {
             return true;
         }
 
         // check for user specific permissions
-        final Set<Permission> userPermissions = permissionMap.get(member.getIdLong());
-
-        if (this.permissionMatch(userPermissions, permission)) {
+        if (index.matches(member.getIdLong(), id)) {
             return true;
         }
 
         // iterate through each role and check for permission
-        return member.getRoles().stream().anyMatch(
-                role -> this.permissionMatch(permissionMap.get(role.getIdLong()), permission));
+        for (int i = 0; i < roles.size(); i++) {
+            if (index.matches(roles.get(i).getIdLong(), id)) {
+                return true;
+            }
+        }
+
+        return false;
     }
 
-    private boolean permissionMatch(@Nullable final Collection<Permission> permissions,
-            @NonNull final Permission permission) {
-        // obtainedPermissions might be null when there is no config entry for this role id
-        if (permissions == null) {
-            return false;
+    /**
+     * Gets the permission index of the current config.
+     * The index is compiled again, discarding all cached decisions, whenever the config
+     * returns another permission map or changes its
+     * {@link de.alphaconqueror.discord.bot.utils.config.ConfigFactory#getVersion() version},
+     * and after {@link #reload()}.
+     *
+     * @return the permission index
+     */
+    @NonNull
+    public PermissionIndex getIndex() {
+        final ConfigFactory config = this.client.getConfig();
+        final Map<Long, Set<Permission>> permissions = config.getPermissions();
+        final long version = config.getVersion();
+        PermissionIndex index = this.index;
+
+        if (index == null || !index.isCompiledFrom(permissions, version)) {
+            index = PermissionIndex.compile(permissions, version);
+            this.index = index;
+            this.decisions.invalidateAll();
+        }
+
+        return index;
+    }
+
+    /**
+     * Discards the compiled permissions and cached decisions, needs to be called after the
+     * permission map of the config has been modified in place without changing its version.
+     */
+    public void reload() {
+        this.index = null;
+        this.decisions.invalidateAll();
+    }
+
+    /**
+     * Gets the statistics of the decision cache, e.g. to size it.
+     *
+     * @return the cache statistics
+     */
+    @NonNull
+    public CacheStats getCacheStats() {
+        return this.decisions.stats();
+    }
+
+    @NonNull
+    private Member retrieveMember(@NonNull final Guild guild, @NonNull final User user) {
+        final Member member = guild.getMember(user);
+
+        return member == null ? guild.retrieveMember(user).complete() : member;
+    }
+
+    private static final class DecisionKey {
+
+        private final long guild;
+        private final long member;
+        // sorted role ids
+        @NonNull
+        private final long[] roles;
+        @NonNull
+        private final Permission permission;
+
+        private DecisionKey(final long guild, final long member, @NonNull final List<Role> roles,
+                @NonNull final Permission permission) {
+            this.guild = guild;
+            this.member = member;
+            this.roles = new long[roles.size()];
+            this.permission = permission;
+
+            for (int i = 0; i < this.roles.length; i++) {
+                this.roles[i] = roles.get(i).getIdLong();
+            }
+
+            Arrays.sort(this.roles);
         }
 
-        // check if role contains missing permission
-        return permissions.stream()
-                .anyMatch(p -> p == DiscordPermission.ALL || permission.equals(p));
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+
+            if (!(o instanceof DecisionKey)) {
+                return false;
+            }
+
+            final DecisionKey that = (DecisionKey) o;
+
+            return this.guild == that.guild && this.member == that.member
+                    && this.permission.equals(that.permission)
+                    && Arrays.equals(this.roles, that.roles);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * (31 * (31 * Long.hashCode(this.guild) + Long.hashCode(this.member))
+                    + Arrays.hashCode(this.roles)) + this.permission.hashCode();
+        }
     }
 }
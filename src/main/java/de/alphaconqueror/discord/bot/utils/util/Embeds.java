@@ -26,10 +26,12 @@ package de.alphaconqueror.discord.bot.utils.util;
 
 import de.alphaconqueror.discord.bot.utils.permission.Permission;
 import java.awt.Color;
+import java.time.Duration;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import net.dv8tion.jda.api.EmbedBuilder;
 import net.dv8tion.jda.api.entities.MessageEmbed;
+import net.dv8tion.jda.api.utils.TimeFormat;
 
 public interface Embeds {
 
@@ -49,12 +51,31 @@ public interface Embeds {
                     "You are missing the permission `" + permission + "` to execute this command!")
             .setColor(Color.RED).build();
 
+    Supplier<MessageEmbed> OVERLOADED = () -> new EmbedBuilder().setDescription(
+            "The bot is busy right now. Please try again in a moment.").setColor(Color.ORANGE)
+            .build();
+
+    Function<Duration, MessageEmbed> RATE_LIMITED =
+            retryAfter -> new EmbedBuilder().setDescription(
+                    "You are using this command too often! Please try again "
+                            + TimeFormat.RELATIVE.after(retryAfter) + ".").setColor(Color.ORANGE)
+            .build();
+
     Function<String, MessageEmbed> SUCCESS = message -> new EmbedBuilder().setDescription(message)
             .setColor(Color.GREEN).build();
 
     Supplier<MessageEmbed> THIS_SHOULDNT_HAVE_HAPPENED = () -> new EmbedBuilder().setDescription(
             "This shouldn't have happened. Please contact an admin.").setColor(Color.RED).build();
 
+    Supplier<MessageEmbed> TIMED_OUT = () -> new EmbedBuilder().setDescription(
+            "The command took too long and was cancelled. Please try again later.")
+            .setColor(Color.RED).build();
+
+    // built once, as it is sent on every interaction while a circuit breaker is open
+    MessageEmbed UNAVAILABLE = new EmbedBuilder().setDescription(
+            "This command is temporarily unavailable. Please try again later.")
+            .setColor(Color.ORANGE).build();
+
     Function<String, MessageEmbed> WARNING = message -> new EmbedBuilder().setDescription(message)
             .setColor(Color.YELLOW).build();
 }
@@ -0,0 +1,82 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.alphaconqueror.discord.bot.utils.concurrent;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * Creates the executors commands are executed on.
+ * This is the Java 21 implementation of the multi-release jar, supporting virtual threads.
+ */
+public final class CommandExecutors {
+
+    private CommandExecutors() {}
+
+    /**
+     * If virtual threads are supported by the running JVM.
+     *
+     * @return true, if supported
+     */
+    public static boolean supportsVirtualThreads() {
+        return true;
+    }
+
+    /**
+     * Creates an executor starting a new virtual thread for every task.
+     *
+     * @param name the name prefix of the threads
+     * @return the executor
+     */
+    @NonNull
+    public static ExecutorService newVirtualThreadExecutor(@NonNull final String name) {
+        return Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name(name + "-", 0).factory());
+    }
+
+    /**
+     * Creates an executor with a fixed number of platform threads.
+     * Idle threads time out, so an executor left behind by a restart does not leak threads.
+     *
+     * @param name    the name prefix of the threads
+     * @param threads the number of threads
+     * @return the executor
+     */
+    @NonNull
+    public static ExecutorService newPlatformThreadExecutor(@NonNull final String name,
+            final int threads) {
+        final ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60,
+                TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                new ThreadFactoryBuilder().setNameFormat(name + "-%d").setDaemon(true).build());
+
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+}
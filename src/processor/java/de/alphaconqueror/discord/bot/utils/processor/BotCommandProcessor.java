@@ -0,0 +1,251 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.alphaconqueror.discord.bot.utils.processor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Collections;
+import java.util.Set;
+import java.util.TreeMap;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import javax.tools.StandardLocation;
+
+/**
+ * Generates a command registry constructing all {@code @BotCommand} annotated commands of a
+ * module by direct constructor references, and registers it as service.
+ * <p>
+ * The registry is generated into the package of the first annotated command, unless the
+ * {@value #REGISTRY_OPTION} option specifies its fully qualified name.
+ */
+public class BotCommandProcessor extends AbstractProcessor {
+
+    public static final String REGISTRY_OPTION = "botcommand.registry";
+
+    private static final String PACKAGE = "de.alphaconqueror.discord.bot.utils";
+    private static final String BOT_COMMAND = PACKAGE + ".command.registry.BotCommand";
+    private static final String COMMAND_REGISTRY = PACKAGE + ".command.registry.CommandRegistry";
+    private static final String COMMAND_FACTORY = PACKAGE + ".command.registry.CommandFactory";
+    private static final String ABSTRACT_COMMAND = PACKAGE + ".command.abstraction.AbstractCommand";
+    private static final String CLIENT = PACKAGE + ".DiscordBotClient";
+    private static final String REGISTRY_NAME = "GeneratedCommandRegistry";
+
+    // commands mapped by their canonical names, sorted to keep the output stable
+    private final TreeMap<String, TypeElement> commands = new TreeMap<>();
+    private Elements elements;
+    private Types types;
+    private Filer filer;
+    private Messager messager;
+    private boolean generated;
+
+    @Override
+    public synchronized void init(final ProcessingEnvironment processingEnv) {
+        super.init(processingEnv);
+        this.elements = processingEnv.getElementUtils();
+        this.types = processingEnv.getTypeUtils();
+        this.filer = processingEnv.getFiler();
+        this.messager = processingEnv.getMessager();
+    }
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        return Collections.singleton(BOT_COMMAND);
+    }
+
+    @Override
+    public Set<String> getSupportedOptions() {
+        return Collections.singleton(REGISTRY_OPTION);
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(final Set<? extends TypeElement> annotations,
+            final RoundEnvironment roundEnv) {
+        final TypeElement annotation = this.elements.getTypeElement(BOT_COMMAND);
+
+        if (annotation == null || roundEnv.processingOver()) {
+            return false;
+        }
+
+        for (final Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+            if (!this.isValid(element)) {
+                continue;
+            }
+
+            if (this.generated) {
+                // the registry is generated in the first round to be compiled with the module
+                this.error(element,
+                        "@BotCommand classes generated by other processors are not supported.");
+                continue;
+            }
+
+            final TypeElement type = (TypeElement) element;
+
+            this.commands.put(type.getQualifiedName().toString(), type);
+        }
+
+        if (!this.generated && !this.commands.isEmpty()) {
+            this.generated = true;
+            this.generate();
+        }
+
+        return false;
+    }
+
+    private boolean isValid(final Element element) {
+        if (element.getKind() != ElementKind.CLASS) {
+            this.error(element, "@BotCommand can only be applied to classes.");
+            return false;
+        }
+
+        final TypeElement type = (TypeElement) element;
+        final TypeElement abstractCommand = this.elements.getTypeElement(ABSTRACT_COMMAND);
+        final TypeElement client = this.elements.getTypeElement(CLIENT);
+
+        if (type.getModifiers().contains(Modifier.ABSTRACT)) {
+            this.error(element, "@BotCommand classes must not be abstract.");
+            return false;
+        }
+
+        if (!this.isAccessible(type)) {
+            this.error(element, "@BotCommand classes must be public and not inner classes.");
+            return false;
+        }
+
+        if (abstractCommand == null || !this.types.isAssignable(type.asType(),
+                this.types.erasure(abstractCommand.asType()))) {
+            this.error(element, "@BotCommand classes must extend " + ABSTRACT_COMMAND + ".");
+            return false;
+        }
+
+        final TypeMirror clientType = client == null ? null : client.asType();
+
+        for (final ExecutableElement constructor : ElementFilter.constructorsIn(
+                type.getEnclosedElements())) {
+            if (constructor.getModifiers().contains(Modifier.PUBLIC)
+                    && constructor.getParameters().size() == 1 && clientType != null
+                    && this.types.isSameType(constructor.getParameters().get(0).asType(),
+                    clientType)) {
+                return true;
+            }
+        }
+
+        this.error(element,
+                "@BotCommand classes must declare a public constructor taking the " + CLIENT
+                        + ".");
+        return false;
+    }
+
+    private boolean isAccessible(final TypeElement type) {
+        if (!type.getModifiers().contains(Modifier.PUBLIC)) {
+            return false;
+        }
+
+        if (type.getNestingKind() == NestingKind.TOP_LEVEL) {
+            return true;
+        }
+
+        return type.getNestingKind() == NestingKind.MEMBER && type.getModifiers()
+                .contains(Modifier.STATIC) && this.isAccessible(
+                (TypeElement) type.getEnclosingElement());
+    }
+
+    private void generate() {
+        final String option = this.processingEnv.getOptions().get(REGISTRY_OPTION);
+        final String name;
+
+        if (option != null && !option.trim().isEmpty()) {
+            name = option.trim();
+        } else {
+            final TypeElement first = this.commands.firstEntry().getValue();
+            final String packageName =
+                    this.elements.getPackageOf(first).getQualifiedName().toString();
+
+            name = packageName.isEmpty() ? REGISTRY_NAME : packageName + "." + REGISTRY_NAME;
+        }
+
+        final int separator = name.lastIndexOf('.');
+        final Element[] origins = this.commands.values().toArray(new Element[0]);
+
+        try (final Writer writer = this.filer.createSourceFile(name, origins).openWriter()) {
+            if (separator != -1) {
+                writer.write("package " + name.substring(0, separator) + ";\n\n");
+            }
+
+            writer.write("/**\n * Generated by " + BotCommandProcessor.class.getName()
+                    + ", do not edit.\n */\n");
+            writer.write("public final class " + name.substring(separator + 1) + " implements "
+                    + COMMAND_REGISTRY + " {\n\n");
+            writer.write("    @java.lang.Override\n");
+            writer.write("    public java.util.Map<java.lang.Class<? extends " + ABSTRACT_COMMAND
+                    + ">, " + COMMAND_FACTORY + "> getCommands() {\n");
+            writer.write("        final java.util.Map<java.lang.Class<? extends "
+                    + ABSTRACT_COMMAND + ">, " + COMMAND_FACTORY
+                    + "> commands = new java.util.LinkedHashMap<>();\n\n");
+
+            for (final String command : this.commands.keySet()) {
+                writer.write("        commands.put(" + command + ".class, " + command
+                        + "::new);\n");
+            }
+
+            writer.write("\n        return commands;\n    }\n}\n");
+        } catch (final IOException e) {
+            this.messager.printMessage(Diagnostic.Kind.ERROR,
+                    "Could not generate command registry " + name + ": " + e.getMessage());
+            return;
+        }
+
+        try (final Writer writer = this.filer.createResource(StandardLocation.CLASS_OUTPUT, "",
+                "META-INF/services/" + COMMAND_REGISTRY, origins).openWriter()) {
+            writer.write(name + "\n");
+        } catch (final IOException e) {
+            this.messager.printMessage(Diagnostic.Kind.ERROR,
+                    "Could not register command registry " + name + ": " + e.getMessage());
+        }
+    }
+
+    private void error(final Element element, final String message) {
+        this.messager.printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+}
@@ -0,0 +1,288 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.alphaconqueror.discord.bot.utils.simulator;
+
+import de.alphaconqueror.discord.bot.utils.command.abstraction.AbstractCommand;
+import de.alphaconqueror.discord.bot.utils.command.builder.node.OptionNode;
+import de.alphaconqueror.discord.bot.utils.command.builder.node.RootCommandNode;
+import de.alphaconqueror.discord.bot.utils.command.builder.node.SubcommandGroupNode;
+import de.alphaconqueror.discord.bot.utils.command.builder.node.SubcommandNode;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import net.dv8tion.jda.api.JDA;
+import net.dv8tion.jda.api.entities.Member;
+import net.dv8tion.jda.api.entities.Role;
+import net.dv8tion.jda.api.entities.User;
+import net.dv8tion.jda.api.events.interaction.command.CommandAutoCompleteInteractionEvent;
+import net.dv8tion.jda.api.events.interaction.command.SlashCommandInteractionEvent;
+import net.dv8tion.jda.api.interactions.AutoCompleteQuery;
+import net.dv8tion.jda.api.interactions.commands.OptionMapping;
+import net.dv8tion.jda.api.requests.restaction.interactions.AutoCompleteCallbackAction;
+import net.dv8tion.jda.api.requests.restaction.interactions.ReplyCallbackAction;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Builds synthetic slash command and autocomplete interactions of a command and dispatches
+ * them through {@link AbstractCommand#onSlashCommandInteraction(SlashCommandInteractionEvent)}
+ * and {@link AbstractCommand#onCommandAutoCompleteInteraction(
+ * CommandAutoCompleteInteractionEvent)}. The path and options are validated against the
+ * command tree, the builder can be reused to simulate the same interaction repeatedly.
+ */
+public class InteractionBuilder {
+
+    private static final AtomicLong IDS = new AtomicLong();
+
+    @NonNull
+    private final AbstractCommand command;
+    @NonNull
+    private final RootCommandNode root;
+    @NonNull
+    private final JDA jda = Stubs.jda();
+    @NonNull
+    private final Map<String, OptionMapping> options = new LinkedHashMap<>();
+    @Nullable
+    private SubcommandGroupNode group;
+    @Nullable
+    private SubcommandNode subcommand;
+    @Nullable
+    private Member member;
+    @NonNull
+    private User user;
+
+    public InteractionBuilder(@NonNull final AbstractCommand command) {
+        this.command = command;
+        this.root = command.getRootCommandNode();
+        this.member(0);
+    }
+
+    /**
+     * Sets the subcommand group of the interaction.
+     *
+     * @param name the name of the subcommand group
+     * @return this builder
+     */
+    @NonNull
+    public InteractionBuilder group(@NonNull final String name) {
+        final SubcommandGroupNode group = this.root.getSubcommandGroups().get(name);
+
+        if (group == null) {
+            throw new IllegalArgumentException("Unknown subcommand group: " + name);
+        }
+
+        this.group = group;
+        this.subcommand = null;
+        this.options.clear();
+        return this;
+    }
+
+    /**
+     * Sets the subcommand of the interaction, of the subcommand group if one has been set.
+     *
+     * @param name the name of the subcommand
+     * @return this builder
+     */
+    @NonNull
+    public InteractionBuilder subcommand(@NonNull final String name) {
+        final SubcommandNode subcommand = (this.group == null ? this.root.getSubcommands()
+                : this.group.getSubcommands()).get(name);
+
+        if (subcommand == null) {
+            throw new IllegalArgumentException("Unknown subcommand: " + name);
+        }
+
+        this.subcommand = subcommand;
+        this.options.clear();
+        return this;
+    }
+
+    /**
+     * Adds an option of the invoked command or subcommand. The type of the option is taken
+     * from the command tree, mentionable options take the id as value.
+     *
+     * @param name  the name of the option
+     * @param value the raw value of the option
+     * @return this builder
+     */
+    @NonNull
+    public InteractionBuilder option(@NonNull final String name, @NonNull final Object value) {
+        final OptionNode option = this.getOptionNodes().get(name);
+
+        if (option == null) {
+            throw new IllegalArgumentException("Unknown option: " + name);
+        }
+
+        this.options.put(name, Stubs.option(name, option.getType(), value));
+        return this;
+    }
+
+    /**
+     * Sets the member of the configured guild who triggers the interaction.
+     *
+     * @param id    the id of the member
+     * @param roles the ids of the roles of the member
+     * @return this builder
+     */
+    @NonNull
+    public InteractionBuilder member(final long id, @NonNull final long... roles) {
+        final List<Role> stubs = new ArrayList<>(roles.length);
+
+        for (final long role : roles) {
+            stubs.add(Stubs.role(role));
+        }
+
+        this.member = Stubs.member(Stubs.guild(), id, stubs);
+        this.user = this.member.getUser();
+        return this;
+    }
+
+    /**
+     * Sets the user who triggers the interaction outside of a guild, e.g. in direct messages.
+     *
+     * @param id the id of the user
+     * @return this builder
+     */
+    @NonNull
+    public InteractionBuilder user(final long id) {
+        this.member = null;
+        this.user = Stubs.user(id);
+        return this;
+    }
+
+    /**
+     * Creates the event of a simulated interaction.
+     *
+     * @param interaction the interaction to record the queued actions in
+     * @return the event
+     */
+    @NonNull
+    public SlashCommandInteractionEvent build(@NonNull final SimulatedInteraction interaction) {
+        for (final OptionNode option : this.getOptionNodes().values()) {
+            if (option.isRequired() && !this.options.containsKey(option.getName())) {
+                throw new IllegalStateException("Missing required option: " + option.getName());
+            }
+        }
+
+        final Map<String, Object> answers = this.answers(this.options.values());
+
+        answers.put("deferReply", (Stubs.Answer) args -> RecordingAction.create(interaction,
+                ReplyCallbackAction.class, ActionType.REPLY, args));
+        answers.put("getHook", RecordingHook.create(interaction, this.jda));
+        return Stubs.event(this.jda, answers);
+    }
+
+    /**
+     * Creates the event of a simulated autocomplete interaction, while the user is typing in
+     * an option. The options added before are sent as already filled in.
+     *
+     * @param interaction the interaction to record the choices in
+     * @param option      the name of the focused option
+     * @param value       what the user has typed so far
+     * @return the event
+     */
+    @NonNull
+    public CommandAutoCompleteInteractionEvent buildAutoComplete(
+            @NonNull final SimulatedInteraction interaction, @NonNull final String option,
+            @NonNull final String value) {
+        final OptionNode node = this.getOptionNodes().get(option);
+
+        if (node == null) {
+            throw new IllegalArgumentException("Unknown option: " + option);
+        }
+
+        final OptionMapping focused = Stubs.option(option, node.getType(), value);
+        final List<OptionMapping> options = new ArrayList<>(this.options.values());
+
+        options.removeIf(mapping -> mapping.getName().equals(option));
+        options.add(focused);
+
+        final Map<String, Object> answers = this.answers(options);
+
+        answers.put("getFocusedOption", new AutoCompleteQuery(focused));
+        answers.put("replyChoices", (Stubs.Answer) args -> RecordingAction.create(interaction,
+                AutoCompleteCallbackAction.class, ActionType.CHOICES, args));
+        return Stubs.autoCompleteEvent(this.jda, answers);
+    }
+
+    /**
+     * Dispatches a new interaction to the command.
+     *
+     * @return the interaction, recording the actions queued for it
+     */
+    @NonNull
+    public SimulatedInteraction simulate() {
+        final SimulatedInteraction interaction = new SimulatedInteraction();
+        final SlashCommandInteractionEvent event = this.build(interaction);
+
+        interaction.dispatched(event, System.nanoTime());
+        this.command.onSlashCommandInteraction(event);
+        return interaction;
+    }
+
+    /**
+     * Dispatches a new autocomplete interaction to the command.
+     *
+     * @param option the name of the focused option
+     * @param value  what the user has typed so far
+     * @return the interaction, responded to with the choices
+     */
+    @NonNull
+    public SimulatedInteraction complete(@NonNull final String option,
+            @NonNull final String value) {
+        final SimulatedInteraction interaction = new SimulatedInteraction();
+        final CommandAutoCompleteInteractionEvent event =
+                this.buildAutoComplete(interaction, option, value);
+
+        interaction.dispatched(event, System.nanoTime());
+        this.command.onCommandAutoCompleteInteraction(event);
+        return interaction;
+    }
+
+    @NonNull
+    private Map<String, Object> answers(@NonNull final Collection<OptionMapping> options) {
+        final Map<String, Object> answers = new HashMap<>();
+
+        answers.put("getIdLong", IDS.incrementAndGet());
+        answers.put("getName", this.root.getName());
+        answers.put("getSubcommandGroup", this.group == null ? null : this.group.getName());
+        answers.put("getSubcommandName",
+                this.subcommand == null ? null : this.subcommand.getName());
+        answers.put("getOptions", new ArrayList<>(options));
+        answers.put("getMember", this.member);
+        answers.put("getGuild", this.member == null ? null : this.member.getGuild());
+        answers.put("getUser", this.user);
+        return answers;
+    }
+
+    @NonNull
+    private Map<String, OptionNode> getOptionNodes() {
+        return this.subcommand == null ? this.root.getOptions() : this.subcommand.getOptions();
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.alphaconqueror.discord.bot.utils.simulator;
+
+import de.alphaconqueror.discord.bot.utils.commands.TestCommand;
+import de.alphaconqueror.discord.bot.utils.concurrent.ExecutionMode;
+import de.alphaconqueror.discord.bot.utils.metrics.LatencyHistogram;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * Fires simulated interactions from multiple threads and reports the throughput and the
+ * latency until the responses are queued. Every thread dispatches an interaction and waits for
+ * its response before dispatching the next one, cycling through the scenarios.
+ * The scenarios must not be modified while running.
+ */
+public class LoadGenerator {
+
+    @NonNull
+    private final List<InteractionBuilder> scenarios;
+    private final int threads;
+    @NonNull
+    private final Duration timeout;
+
+    public LoadGenerator(@NonNull final List<InteractionBuilder> scenarios, final int threads,
+            @NonNull final Duration timeout) {
+        if (scenarios.isEmpty()) {
+            throw new IllegalArgumentException("At least one scenario is required.");
+        }
+
+        if (threads < 1) {
+            throw new IllegalArgumentException("At least one thread is required.");
+        }
+
+        this.scenarios = new ArrayList<>(scenarios);
+        this.threads = threads;
+        this.timeout = timeout;
+    }
+
+    /**
+     * Dispatches the interactions and waits until all of them have been responded to or timed
+     * out.
+     *
+     * @param interactions the number of interactions to dispatch
+     * @return the report
+     * @throws InterruptedException if interrupted while waiting for the threads
+     */
+    @NonNull
+    public LoadReport run(final long interactions) throws InterruptedException {
+        final LatencyHistogram latency = new LatencyHistogram();
+        final AtomicLong next = new AtomicLong();
+        final LongAdder timedOut = new LongAdder();
+        final LongAdder failed = new LongAdder();
+        final CountDownLatch ready = new CountDownLatch(1);
+        final List<Thread> workers = new ArrayList<>(this.threads);
+
+        for (int i = 0; i < this.threads; i++) {
+            final Thread worker = new Thread(() -> {
+                try {
+                    ready.await();
+
+                    for (long n = next.getAndIncrement(); n < interactions;
+                            n = next.getAndIncrement()) {
+                        this.fire(this.scenarios.get((int) (n % this.scenarios.size())), latency,
+                                timedOut, failed);
+                    }
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }, "load-generator-" + i);
+
+            worker.setDaemon(true);
+            worker.start();
+            workers.add(worker);
+        }
+
+        final long start = System.nanoTime();
+
+        ready.countDown();
+
+        for (final Thread worker : workers) {
+            worker.join();
+        }
+
+        return new LoadReport(interactions, timedOut.sum(), failed.sum(),
+                System.nanoTime() - start, latency.snapshot());
+    }
+
+    private void fire(@NonNull final InteractionBuilder scenario,
+            @NonNull final LatencyHistogram latency, @NonNull final LongAdder timedOut,
+            @NonNull final LongAdder failed) throws InterruptedException {
+        try {
+            final SimulatedInteraction interaction = scenario.simulate();
+            final QueuedAction response = interaction.awaitResponse(this.timeout);
+
+            latency.record(response.getTimestamp() - interaction.getStart());
+        } catch (final TimeoutException e) {
+            timedOut.increment();
+        } catch (final RuntimeException e) {
+            failed.increment();
+        }
+    }
+
+    /**
+     * Runs the load generator against the built-in test command.
+     * Arguments: [interactions] [threads] [execution mode]
+     *
+     * @param args the arguments
+     * @throws InterruptedException if interrupted while running
+     */
+    public static void main(final String[] args) throws InterruptedException {
+        final long interactions = args.length > 0 ? Long.parseLong(args[0]) : 1_000_000;
+        final int threads = args.length > 1 ? Integer.parseInt(args[1])
+                : Runtime.getRuntime().availableProcessors();
+        final ExecutionMode mode = args.length > 2 ? ExecutionMode.valueOf(args[2])
+                : ExecutionMode.PLATFORM_THREADS;
+        final SimulatedClient client = new SimulatedClient(
+                new SimulatedConfig(Collections.emptyMap(), 10_000, mode));
+        final LoadGenerator generator = new LoadGenerator(
+                Collections.singletonList(Interactions.slash(new TestCommand(client))), threads,
+                Duration.ofSeconds(10));
+
+        try {
+            // warm up before measuring
+            generator.run(Math.min(interactions, 100_000));
+            System.out.println(generator.run(interactions));
+        } finally {
+            client.getDiscordManager().getCommandExecutor().shutdown();
+            client.getDiscordManager().getScheduler().shutdown();
+        }
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.alphaconqueror.discord.bot.utils.simulator;
+
+import de.alphaconqueror.discord.bot.utils.metrics.HistogramSnapshot;
+import java.time.Duration;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * The result of a load generator run.
+ */
+public class LoadReport {
+
+    private final long interactions;
+    private final long timedOut;
+    private final long failed;
+    private final long elapsed;
+    @NonNull
+    private final HistogramSnapshot latency;
+
+    public LoadReport(final long interactions, final long timedOut, final long failed,
+            final long elapsed, @NonNull final HistogramSnapshot latency) {
+        this.interactions = interactions;
+        this.timedOut = timedOut;
+        this.failed = failed;
+        this.elapsed = elapsed;
+        this.latency = latency;
+    }
+
+    public long getInteractions() {
+        return this.interactions;
+    }
+
+    /**
+     * Gets the number of interactions which received a response in time.
+     *
+     * @return the number of completed interactions
+     */
+    public long getCompleted() {
+        return this.latency.getCount();
+    }
+
+    public long getTimedOut() {
+        return this.timedOut;
+    }
+
+    /**
+     * Gets the number of interactions which could not be dispatched, e.g. since the event
+     * could not be built.
+     *
+     * @return the number of failed interactions
+     */
+    public long getFailed() {
+        return this.failed;
+    }
+
+    @NonNull
+    public Duration getElapsed() {
+        return Duration.ofNanos(this.elapsed);
+    }
+
+    /**
+     * Gets the number of completed interactions per second.
+     *
+     * @return the throughput
+     */
+    public double getThroughput() {
+        return this.elapsed == 0 ? 0 : this.getCompleted() * 1e9 / this.elapsed;
+    }
+
+    /**
+     * Gets the latencies between dispatching the interactions and queueing their responses.
+     *
+     * @return the latency histogram
+     */
+    @NonNull
+    public HistogramSnapshot getLatency() {
+        return this.latency;
+    }
+
+    @Override
+    public String toString() {
+        return this.interactions + " interactions in " + this.getElapsed().toMillis() + "ms ("
+                + (long) this.getThroughput() + "/s), p50: " + micros(this.latency.getP50())
+                + ", p99: " + micros(this.latency.getP99()) + ", p999: "
+                + micros(this.latency.getP999()) + ", max: " + micros(this.latency.getMax())
+                + ", timed out: " + this.timedOut + ", failed: " + this.failed;
+    }
+
+    @NonNull
+    private static String micros(@NonNull final Duration duration) {
+        return String.format("%.1fus", duration.toNanos() / 1e3);
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.alphaconqueror.discord.bot.utils.simulator;
+
+import java.util.List;
+import net.dv8tion.jda.api.entities.MessageEmbed;
+import net.dv8tion.jda.api.interactions.commands.Command;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * A rest action queued during a simulated interaction.
+ */
+public class QueuedAction {
+
+    @NonNull
+    private final ActionType type;
+    @NonNull
+    private final String content;
+    @NonNull
+    private final List<MessageEmbed> embeds;
+    @NonNull
+    private final List<Command.Choice> choices;
+    private final boolean ephemeral;
+    private final long timestamp;
+
+    public QueuedAction(@NonNull final ActionType type, @NonNull final String content,
+            @NonNull final List<MessageEmbed> embeds, @NonNull final List<Command.Choice> choices,
+            final boolean ephemeral, final long timestamp) {
+        this.type = type;
+        this.content = content;
+        this.embeds = embeds;
+        this.choices = choices;
+        this.ephemeral = ephemeral;
+        this.timestamp = timestamp;
+    }
+
+    @NonNull
+    public ActionType getType() {
+        return this.type;
+    }
+
+    @NonNull
+    public String getContent() {
+        return this.content;
+    }
+
+    @NonNull
+    public List<MessageEmbed> getEmbeds() {
+        return this.embeds;
+    }
+
+    /**
+     * Gets the choices of an autocomplete response.
+     *
+     * @return the choices, empty for other actions
+     */
+    @NonNull
+    public List<Command.Choice> getChoices() {
+        return this.choices;
+    }
+
+    public boolean isEphemeral() {
+        return this.ephemeral;
+    }
+
+    /**
+     * Gets the time the action has been queued at.
+     *
+     * @return the timestamp in nanoseconds, see {@link System#nanoTime()}
+     */
+    public long getTimestamp() {
+        return this.timestamp;
+    }
+
+    /**
+     * If the action responds to the interaction, i.e. it is not only deferring it.
+     *
+     * @return true, if it is a response
+     */
+    public boolean isResponse() {
+        return this.type != ActionType.DEFER;
+    }
+
+    @Override
+    public String toString() {
+        return this.type + " (content: '" + this.content + "', embeds: " + this.embeds.size()
+                + ", choices: " + this.choices.size() + ", ephemeral: " + this.ephemeral + ")";
+    }
+}
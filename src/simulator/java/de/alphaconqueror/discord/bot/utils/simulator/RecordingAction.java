@@ -0,0 +1,195 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.alphaconqueror.discord.bot.utils.simulator;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import net.dv8tion.jda.api.entities.MessageEmbed;
+import net.dv8tion.jda.api.interactions.commands.Command;
+import net.dv8tion.jda.api.requests.RestAction;
+import net.dv8tion.jda.api.utils.messages.MessageCreateData;
+import net.dv8tion.jda.api.utils.messages.MessageRequest;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Backs a stubbed rest action, collecting the message built through it. Queueing the action
+ * records it in the interaction and completes it successfully right away.
+ */
+class RecordingAction implements InvocationHandler {
+
+    @NonNull
+    private final SimulatedInteraction interaction;
+    @NonNull
+    private final ActionType type;
+    @NonNull
+    private final List<MessageEmbed> embeds = new ArrayList<>();
+    @NonNull
+    private final List<Command.Choice> choices = new ArrayList<>();
+    @Nullable
+    private String content;
+    private boolean ephemeral;
+
+    private RecordingAction(@NonNull final SimulatedInteraction interaction,
+            @NonNull final ActionType type) {
+        this.interaction = interaction;
+        this.type = type;
+    }
+
+    /**
+     * Creates a recording action.
+     *
+     * @param interaction the interaction to record the action in
+     * @param actionType  the type of the action, an interface extending {@link RestAction}
+     * @param type        the type of the response, downgraded to a deferral if no message is
+     *                    set until queued
+     * @param args        the arguments the action is created from, e.g. the content or embeds
+     * @param <T>         the type of the action
+     * @return the action
+     */
+    @NonNull
+    static <T> T create(@NonNull final SimulatedInteraction interaction,
+            @NonNull final Class<T> actionType, @NonNull final ActionType type,
+            @Nullable final Object[] args) {
+        final RecordingAction handler = new RecordingAction(interaction, type);
+
+        if (args != null) {
+            for (final Object arg : args) {
+                handler.apply(arg);
+            }
+        }
+
+        return actionType.cast(Proxy.newProxyInstance(actionType.getClassLoader(),
+                new Class<?>[] {actionType}, handler));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Object invoke(final Object proxy, final Method method, final Object[] args) {
+        switch (method.getName()) {
+            case "setEphemeral":
+                this.ephemeral = (boolean) args[0];
+                return proxy;
+            case "setContent":
+                this.content = (String) args[0];
+                return proxy;
+            case "setEmbeds":
+                this.embeds.clear();
+                this.apply(args[0]);
+                return proxy;
+            case "addEmbeds":
+            case "addChoices":
+            case "applyData":
+                this.apply(args[0]);
+                return proxy;
+            case "getContent":
+                return this.content == null ? "" : this.content;
+            case "getEmbeds":
+                return Collections.unmodifiableList(this.embeds);
+            case "getComponents":
+            case "getAttachments":
+                return Collections.emptyList();
+            case "getMentionedUsers":
+            case "getMentionedRoles":
+                return Collections.emptySet();
+            case "getAllowedMentions":
+                return MessageRequest.getDefaultMentions();
+            case "isEphemeral":
+                return this.ephemeral;
+            case "queue":
+                this.record();
+
+                if (args != null && args.length > 0 && args[0] != null) {
+                    ((Consumer<Object>) args[0]).accept(null);
+                }
+
+                return null;
+            case "submit":
+                this.record();
+                return CompletableFuture.completedFuture(null);
+            case "complete":
+                this.record();
+                return null;
+            case "equals":
+                return proxy == args[0];
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            case "toString":
+                return "RecordingAction(" + this.type + ")";
+            default:
+                break;
+        }
+
+        final Class<?> returnType = method.getReturnType();
+
+        return returnType.isInstance(proxy) ? proxy : Stubs.defaultValue(returnType);
+    }
+
+    private void apply(@Nullable final Object arg) {
+        if (arg instanceof String) {
+            this.content = (String) arg;
+        } else if (arg instanceof MessageEmbed) {
+            this.embeds.add((MessageEmbed) arg);
+        } else if (arg instanceof MessageEmbed[]) {
+            this.embeds.addAll(Arrays.asList((MessageEmbed[]) arg));
+        } else if (arg instanceof Command.Choice) {
+            this.choices.add((Command.Choice) arg);
+        } else if (arg instanceof Command.Choice[]) {
+            this.choices.addAll(Arrays.asList((Command.Choice[]) arg));
+        } else if (arg instanceof Collection) {
+            for (final Object element : (Collection<?>) arg) {
+                this.apply(element);
+            }
+        } else if (arg instanceof MessageCreateData) {
+            final MessageCreateData data = (MessageCreateData) arg;
+
+            this.content = data.getContent();
+            this.embeds.clear();
+            this.embeds.addAll(data.getEmbeds());
+        } else if (arg instanceof Boolean) {
+            // e.g. deferReply(boolean ephemeral)
+            this.ephemeral = (Boolean) arg;
+        }
+    }
+
+    private void record() {
+        final String content = this.content == null ? "" : this.content;
+        // a reply without a message only defers the interaction
+        final ActionType type =
+                this.type == ActionType.REPLY && content.isEmpty() && this.embeds.isEmpty()
+                        ? ActionType.DEFER : this.type;
+
+        this.interaction.record(new QueuedAction(type, content, new ArrayList<>(this.embeds),
+                new ArrayList<>(this.choices), this.ephemeral, System.nanoTime()));
+    }
+}
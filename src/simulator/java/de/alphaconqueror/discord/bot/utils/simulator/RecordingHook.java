@@ -0,0 +1,91 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.alphaconqueror.discord.bot.utils.simulator;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import net.dv8tion.jda.api.JDA;
+import net.dv8tion.jda.api.interactions.InteractionHook;
+import net.dv8tion.jda.api.requests.RestAction;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * Backs a stubbed interaction hook, every rest action created through it is recorded in the
+ * interaction once queued.
+ */
+class RecordingHook implements InvocationHandler {
+
+    @NonNull
+    private final SimulatedInteraction interaction;
+    @NonNull
+    private final JDA jda;
+
+    private RecordingHook(@NonNull final SimulatedInteraction interaction,
+            @NonNull final JDA jda) {
+        this.interaction = interaction;
+        this.jda = jda;
+    }
+
+    @NonNull
+    static InteractionHook create(@NonNull final SimulatedInteraction interaction,
+            @NonNull final JDA jda) {
+        return (InteractionHook) Proxy.newProxyInstance(InteractionHook.class.getClassLoader(),
+                new Class<?>[] {InteractionHook.class}, new RecordingHook(interaction, jda));
+    }
+
+    @Override
+    public Object invoke(final Object proxy, final Method method, final Object[] args) {
+        final String name = method.getName();
+        final Class<?> returnType = method.getReturnType();
+
+        if (returnType.isInterface() && RestAction.class.isAssignableFrom(returnType)) {
+            // sendMessageFormat(String format, Object... args), same for editOriginalFormat
+            final Object[] arguments = name.equals("sendMessageFormat")
+                    || name.equals("editOriginalFormat")
+                    ? new Object[] {String.format((String) args[0], (Object[]) args[1])} : args;
+
+            return RecordingAction.create(this.interaction, returnType, ActionType.HOOK,
+                    arguments);
+        }
+
+        switch (name) {
+            case "getJDA":
+                return this.jda;
+            case "getInteraction":
+                return this.interaction.getEvent().getInteraction();
+            case "equals":
+                return proxy == args[0];
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            case "toString":
+                return "RecordingHook";
+            default:
+                break;
+        }
+
+        return returnType.isInstance(proxy) ? proxy : Stubs.defaultValue(returnType);
+    }
+}
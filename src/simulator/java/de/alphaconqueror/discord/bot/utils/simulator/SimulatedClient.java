@@ -0,0 +1,90 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.alphaconqueror.discord.bot.utils.simulator;
+
+import de.alphaconqueror.discord.bot.utils.DiscordBotClient;
+import de.alphaconqueror.discord.bot.utils.config.ConfigFactory;
+import de.alphaconqueror.discord.bot.utils.logging.LoggerFactory;
+import de.alphaconqueror.discord.bot.utils.manager.DiscordManager;
+import de.alphaconqueror.discord.bot.utils.permission.PermissionManager;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A client which is never enabled, for simulating and benchmarking the command pipeline
+ * offline. Its Discord manager is backed by a stubbed JDA instance, see
+ * {@link SimulatedDiscordManager}.
+ */
+public class SimulatedClient extends DiscordBotClient {
+
+    private static final LoggerFactory LOGGER = new LoggerFactory() {
+        @Override
+        public boolean isInfoEnabled() {
+            return false;
+        }
+
+        @Override
+        public void info(final String s, final Object... args) {}
+
+        @Override
+        public void warn(final String s, final Object... args) {}
+
+        @Override
+        public void severe(final String s, final Throwable throwable) {}
+    };
+
+    @NonNull
+    private final ConfigFactory config;
+    @NonNull
+    private final PermissionManager permissionManager;
+    @NonNull
+    private final DiscordManager discordManager;
+
+    public SimulatedClient(@NonNull final ConfigFactory config) {
+        this.config = config;
+        this.permissionManager = new PermissionManager(this);
+        this.discordManager = new SimulatedDiscordManager(this);
+    }
+
+    @Override
+    public @NonNull PermissionManager getPermissionManager() {
+        return this.permissionManager;
+    }
+
+    @Override
+    public @NonNull DiscordManager getDiscordManager() {
+        return this.discordManager;
+    }
+
+    @Override
+    public @NotNull LoggerFactory getLogger() {
+        return LOGGER;
+    }
+
+    @Override
+    public @NotNull ConfigFactory getConfig() {
+        return this.config;
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.alphaconqueror.discord.bot.utils.simulator;
+
+import de.alphaconqueror.discord.bot.utils.concurrent.ExecutionMode;
+import de.alphaconqueror.discord.bot.utils.config.ConfigFactory;
+import de.alphaconqueror.discord.bot.utils.permission.Permission;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import net.dv8tion.jda.api.requests.GatewayIntent;
+
+public class SimulatedConfig implements ConfigFactory {
+
+    private final Map<Long, Set<Permission>> permissions;
+    private final long permissionCacheSize;
+    private final ExecutionMode executionMode;
+
+    public SimulatedConfig(final Map<Long, Set<Permission>> permissions,
+            final long permissionCacheSize) {
+        this(permissions, permissionCacheSize, ExecutionMode.EVENT_THREAD);
+    }
+
+    public SimulatedConfig(final Map<Long, Set<Permission>> permissions,
+            final long permissionCacheSize, final ExecutionMode executionMode) {
+        this.permissions = permissions;
+        this.permissionCacheSize = permissionCacheSize;
+        this.executionMode = executionMode;
+    }
+
+    @Override
+    public Map<Long, Set<Permission>> getPermissions() {
+        return this.permissions;
+    }
+
+    @Override
+    public String getToken() {
+        return "";
+    }
+
+    @Override
+    public Collection<GatewayIntent> getIntents() {
+        return Collections.emptySet();
+    }
+
+    @Override
+    public String getStatus() {
+        return "";
+    }
+
+    @Override
+    public long getGuildId() {
+        return Stubs.GUILD_ID;
+    }
+
+    @Override
+    public long getPermissionCacheSize() {
+        return this.permissionCacheSize;
+    }
+
+    @Override
+    public ExecutionMode getExecutionMode() {
+        return this.executionMode;
+    }
+
+    @Override
+    public void reload() {}
+}
@@ -0,0 +1,143 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.alphaconqueror.discord.bot.utils.simulator;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import net.dv8tion.jda.api.events.interaction.GenericInteractionCreateEvent;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * An interaction dispatched by the simulator, recording the rest actions queued for it.
+ */
+public class SimulatedInteraction {
+
+    @NonNull
+    private final List<QueuedAction> actions = new ArrayList<>(2);
+    @NonNull
+    private final CompletableFuture<QueuedAction> response = new CompletableFuture<>();
+    @Nullable
+    private GenericInteractionCreateEvent event;
+    private long start;
+
+    SimulatedInteraction() {}
+
+    /**
+     * Gets the event of the interaction, a slash command or an autocomplete event.
+     *
+     * @return the event
+     */
+    @NonNull
+    public GenericInteractionCreateEvent getEvent() {
+        if (this.event == null) {
+            throw new IllegalStateException("Interaction has not been dispatched yet.");
+        }
+
+        return this.event;
+    }
+
+    /**
+     * Gets the time the interaction has been dispatched at.
+     *
+     * @return the timestamp in nanoseconds, see {@link System#nanoTime()}
+     */
+    public long getStart() {
+        return this.start;
+    }
+
+    /**
+     * Gets the actions queued so far, in the order they have been queued.
+     *
+     * @return a copy of the queued actions
+     */
+    @NonNull
+    public List<QueuedAction> getActions() {
+        synchronized (this.actions) {
+            return new ArrayList<>(this.actions);
+        }
+    }
+
+    /**
+     * Gets the first action responding to the interaction, deferrals are skipped.
+     *
+     * @return the future completing with the response
+     */
+    @NonNull
+    public CompletableFuture<QueuedAction> getResponse() {
+        return this.response;
+    }
+
+    /**
+     * Waits for the response to the interaction.
+     *
+     * @param timeout the maximum time to wait
+     * @return the response
+     * @throws TimeoutException     if no response has been queued in time
+     * @throws InterruptedException if interrupted while waiting
+     */
+    @NonNull
+    public QueuedAction awaitResponse(@NonNull final Duration timeout)
+            throws TimeoutException, InterruptedException {
+        try {
+            return this.response.get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (final ExecutionException e) {
+            // the response is never completed exceptionally
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * Gets the time between dispatching the interaction and queueing its response.
+     *
+     * @return the latency, or null if there has been no response yet
+     */
+    @Nullable
+    public Duration getLatency() {
+        final QueuedAction response = this.response.getNow(null);
+
+        return response == null ? null : Duration.ofNanos(response.getTimestamp() - this.start);
+    }
+
+    void dispatched(@NonNull final GenericInteractionCreateEvent event, final long start) {
+        this.event = event;
+        this.start = start;
+    }
+
+    void record(@NonNull final QueuedAction action) {
+        synchronized (this.actions) {
+            this.actions.add(action);
+        }
+
+        if (action.isResponse()) {
+            this.response.complete(action);
+        }
+    }
+}
@@ -0,0 +1,261 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.alphaconqueror.discord.bot.utils.simulator;
+
+import gnu.trove.map.hash.TLongObjectHashMap;
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import net.dv8tion.jda.api.JDA;
+import net.dv8tion.jda.api.entities.Guild;
+import net.dv8tion.jda.api.entities.Member;
+import net.dv8tion.jda.api.entities.Message;
+import net.dv8tion.jda.api.entities.Role;
+import net.dv8tion.jda.api.entities.User;
+import net.dv8tion.jda.api.events.interaction.command.CommandAutoCompleteInteractionEvent;
+import net.dv8tion.jda.api.events.interaction.command.SlashCommandInteractionEvent;
+import net.dv8tion.jda.api.interactions.commands.CommandAutoCompleteInteraction;
+import net.dv8tion.jda.api.interactions.commands.OptionMapping;
+import net.dv8tion.jda.api.interactions.commands.OptionType;
+import net.dv8tion.jda.api.interactions.commands.SlashCommandInteraction;
+import net.dv8tion.jda.api.requests.restaction.WebhookMessageCreateAction;
+import net.dv8tion.jda.api.utils.data.DataObject;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * In-process stubs of JDA entities, so interactions can be simulated and benchmarked offline.
+ * Stubs answer the configured methods, return themselves from fluent methods and default
+ * values otherwise.
+ */
+public final class Stubs {
+
+    public static final long GUILD_ID = 1;
+
+    private Stubs() {}
+
+    /**
+     * Computes the answer of a stubbed method from its arguments, e.g. to return a new action
+     * for every call.
+     */
+    @FunctionalInterface
+    public interface Answer {
+
+        @Nullable
+        Object answer(@Nullable Object[] args);
+    }
+
+    @NonNull
+    public static <T> T stub(@NonNull final Class<T> type,
+            @NonNull final Map<String, Object> answers) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type},
+                (proxy, method, args) -> {
+                    final String name = method.getName();
+
+                    if (answers.containsKey(name)) {
+                        final Object answer = answers.get(name);
+
+                        return answer instanceof Answer ? ((Answer) answer).answer(args) : answer;
+                    }
+
+                    switch (name) {
+                        case "equals":
+                            return proxy == args[0];
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "toString":
+                            return type.getSimpleName() + "Stub";
+                        default:
+                            break;
+                    }
+
+                    final Class<?> returnType = method.getReturnType();
+
+                    if (returnType.isInstance(proxy)) {
+                        return proxy;
+                    }
+
+                    return defaultValue(returnType);
+                }));
+    }
+
+    /**
+     * Creates a JDA instance which only knows the configured guild.
+     *
+     * @return the JDA instance
+     */
+    @NonNull
+    public static JDA jda() {
+        final Guild guild = guild();
+        final Map<String, Object> answers = answers("getGuildById",
+                (Answer) args -> String.valueOf(GUILD_ID).equals(String.valueOf(args[0])) ? guild
+                        : null);
+
+        answers.put("getGuilds", Collections.singletonList(guild));
+        answers.put("getStatus", JDA.Status.CONNECTED);
+        return stub(JDA.class, answers);
+    }
+
+    @NonNull
+    public static Guild guild() {
+        return stub(Guild.class, answers("getIdLong", GUILD_ID));
+    }
+
+    @NonNull
+    public static Role role(final long id) {
+        return stub(Role.class, answers("getIdLong", id));
+    }
+
+    @NonNull
+    public static User user(final long id) {
+        return stub(User.class, answers("getIdLong", id));
+    }
+
+    @NonNull
+    public static Member member(@NonNull final Guild guild, final long id,
+            @NonNull final List<Role> roles) {
+        final Map<String, Object> answers = answers("getIdLong", id);
+
+        answers.put("getGuild", guild);
+        answers.put("getRoles", Collections.unmodifiableList(roles));
+        answers.put("getUser", user(id));
+        return stub(Member.class, answers);
+    }
+
+    @NonNull
+    public static OptionMapping option(@NonNull final String name,
+            @NonNull final OptionType type, @NonNull final Object value) {
+        return new OptionMapping(
+                DataObject.empty().put("name", name).put("type", type.getKey())
+                        .put("value", value), new TLongObjectHashMap<>(), null, null);
+    }
+
+    /**
+     * Creates a slash command interaction event.
+     *
+     * @param name       the name of the command
+     * @param group      the subcommand group, if any
+     * @param subcommand the subcommand, if any
+     * @param member     the member, if any
+     * @param options    the options
+     * @return the event
+     */
+    @NonNull
+    public static SlashCommandInteractionEvent event(@NonNull final String name,
+            @Nullable final String group, @Nullable final String subcommand,
+            @Nullable final Member member, @NonNull final OptionMapping... options) {
+        final Map<String, Object> answers = answers("getName", name);
+
+        answers.put("getSubcommandGroup", group);
+        answers.put("getSubcommandName", subcommand);
+        answers.put("getOptions", Arrays.asList(options));
+        answers.put("getMember", member);
+        answers.put("getGuild", member == null ? null : member.getGuild());
+        answers.put("getUser", member == null ? user(0) : member.getUser());
+
+        return event(jda(), answers);
+    }
+
+    /**
+     * Creates a slash command interaction event from the answers of its interaction.
+     *
+     * @param jda     the JDA instance
+     * @param answers the answers of the interaction
+     * @return the event
+     */
+    @NonNull
+    public static SlashCommandInteractionEvent event(@NonNull final JDA jda,
+            @NonNull final Map<String, Object> answers) {
+        answers.put("getJDA", jda);
+        return new SlashCommandInteractionEvent(jda, 0,
+                stub(SlashCommandInteraction.class, answers));
+    }
+
+    /**
+     * Creates a command autocomplete interaction event from the answers of its interaction.
+     *
+     * @param jda     the JDA instance
+     * @param answers the answers of the interaction
+     * @return the event
+     */
+    @NonNull
+    public static CommandAutoCompleteInteractionEvent autoCompleteEvent(@NonNull final JDA jda,
+            @NonNull final Map<String, Object> answers) {
+        answers.put("getJDA", jda);
+        return new CommandAutoCompleteInteractionEvent(jda, 0,
+                stub(CommandAutoCompleteInteraction.class, answers));
+    }
+
+    @NonNull
+    @SuppressWarnings("unchecked")
+    public static WebhookMessageCreateAction<Message> messageAction() {
+        return stub(WebhookMessageCreateAction.class, Collections.emptyMap());
+    }
+
+    @NonNull
+    static Map<String, Object> answers(@NonNull final String name,
+            @Nullable final Object value) {
+        final Map<String, Object> answers = new HashMap<>();
+
+        answers.put(name, value);
+        return answers;
+    }
+
+    @Nullable
+    static Object defaultValue(@NonNull final Class<?> type) {
+        if (!type.isPrimitive() || type == void.class) {
+            return null;
+        }
+
+        if (type == boolean.class) {
+            return false;
+        }
+
+        if (type == char.class) {
+            return '\0';
+        }
+
+        if (type == long.class) {
+            return 0L;
+        }
+
+        if (type == float.class) {
+            return 0F;
+        }
+
+        if (type == double.class) {
+            return 0D;
+        }
+
+        if (type == byte.class) {
+            return (byte) 0;
+        }
+
+        return type == short.class ? (short) 0 : 0;
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.alphaconqueror.discord.bot.utils.command;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import de.alphaconqueror.discord.bot.utils.command.abstraction.AbstractCommand;
+import de.alphaconqueror.discord.bot.utils.command.builder.Commands;
+import de.alphaconqueror.discord.bot.utils.command.builder.RootCommandBuilder;
+import de.alphaconqueror.discord.bot.utils.command.builder.node.RootCommandNode;
+import de.alphaconqueror.discord.bot.utils.simulator.ActionType;
+import de.alphaconqueror.discord.bot.utils.simulator.Interactions;
+import de.alphaconqueror.discord.bot.utils.simulator.QueuedAction;
+import de.alphaconqueror.discord.bot.utils.simulator.SimulatedClient;
+import de.alphaconqueror.discord.bot.utils.simulator.SimulatedConfig;
+import de.alphaconqueror.discord.bot.utils.simulator.SimulatedInteraction;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import net.dv8tion.jda.api.interactions.commands.OptionType;
+import org.junit.jupiter.api.Test;
+
+class AcknowledgementTest {
+
+    private static final Duration BUDGET = Duration.ofMillis(100);
+
+    @Test
+    void defersEveryInteractionByDefault() throws Exception {
+        final AbstractCommand command = command(AcknowledgeMode.DEFER);
+
+        assertEquals(Arrays.asList(ActionType.DEFER, ActionType.HOOK), simulate(command, 0));
+    }
+
+    @Test
+    void repliesDirectlyWithinTheBudget() throws Exception {
+        final AbstractCommand command = command(AcknowledgeMode.ADAPTIVE);
+        final SimulatedInteraction interaction = Interactions.slash(command).subcommand("run")
+                .option("sleep", 0).simulate();
+        final QueuedAction response = interaction.awaitResponse(Duration.ofSeconds(5));
+
+        assertEquals(ActionType.REPLY, response.getType());
+        assertEquals("done", response.getContent());
+        assertEquals(1, interaction.getActions().size());
+    }
+
+    @Test
+    void defersOnceTheBudgetRunsOut() throws Exception {
+        final AbstractCommand command = command(AcknowledgeMode.ADAPTIVE);
+
+        assertEquals(Arrays.asList(ActionType.DEFER, ActionType.HOOK),
+                simulate(command, 3 * BUDGET.toMillis()));
+        // adaptive acknowledgement does not learn from slow interactions
+        assertEquals(Collections.singletonList(ActionType.REPLY), simulate(command, 0));
+    }
+
+    @Test
+    void defersRightAwayAfterSlowInteractions() throws Exception {
+        final AbstractCommand command = command(AcknowledgeMode.PREDICTIVE);
+
+        assertEquals(Arrays.asList(ActionType.DEFER, ActionType.HOOK),
+                simulate(command, 3 * BUDGET.toMillis()));
+        assertEquals(Arrays.asList(ActionType.DEFER, ActionType.HOOK), simulate(command, 0));
+    }
+
+    private static List<ActionType> simulate(final AbstractCommand command, final long sleep)
+            throws Exception {
+        final SimulatedInteraction interaction = Interactions.slash(command).subcommand("run")
+                .option("sleep", sleep).simulate();
+
+        interaction.awaitResponse(Duration.ofSeconds(5));
+        return interaction.getActions().stream().map(QueuedAction::getType)
+                .collect(Collectors.toList());
+    }
+
+    private static AbstractCommand command(final AcknowledgeMode mode) {
+        final SimulatedClient client = new SimulatedClient(
+                new SimulatedConfig(Collections.emptyMap(), 100) {
+
+                    @Override
+                    public AcknowledgeMode getAcknowledgeMode() {
+                        return mode;
+                    }
+
+                    @Override
+                    public Duration getAcknowledgeBudget() {
+                        return BUDGET;
+                    }
+                });
+
+        return new AbstractCommand(client, "slow", "Slow.") {
+
+            @Override
+            protected RootCommandNode build(final RootCommandBuilder data) {
+                return data.then(Commands.subCommand("run", "Runs.")
+                        .then(Commands.option("sleep", "Millis to sleep.", OptionType.INTEGER)
+                                .required().executes(context -> {
+                                    try {
+                                        Thread.sleep(context.getEvent().getOption("sleep")
+                                                .getAsLong());
+                                    } catch (final InterruptedException e) {
+                                        Thread.currentThread().interrupt();
+                                    }
+
+                                    return context.getEvent().getHook().sendMessage("done");
+                                }))).build();
+            }
+        };
+    }
+}
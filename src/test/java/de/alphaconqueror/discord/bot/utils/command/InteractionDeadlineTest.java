@@ -0,0 +1,111 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.alphaconqueror.discord.bot.utils.command;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.alphaconqueror.discord.bot.utils.command.abstraction.AbstractCommand;
+import de.alphaconqueror.discord.bot.utils.command.abstraction.AsyncCommandFunction;
+import de.alphaconqueror.discord.bot.utils.command.builder.Commands;
+import de.alphaconqueror.discord.bot.utils.command.builder.RootCommandBuilder;
+import de.alphaconqueror.discord.bot.utils.command.builder.node.RootCommandNode;
+import de.alphaconqueror.discord.bot.utils.concurrent.ExecutionMode;
+import de.alphaconqueror.discord.bot.utils.simulator.Interactions;
+import de.alphaconqueror.discord.bot.utils.simulator.QueuedAction;
+import de.alphaconqueror.discord.bot.utils.simulator.SimulatedClient;
+import de.alphaconqueror.discord.bot.utils.simulator.SimulatedConfig;
+import de.alphaconqueror.discord.bot.utils.util.Embeds;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import net.dv8tion.jda.api.entities.Message;
+import net.dv8tion.jda.api.requests.restaction.WebhookMessageCreateAction;
+import org.junit.jupiter.api.Test;
+
+class InteractionDeadlineTest {
+
+    private static final Duration TIMEOUT = Duration.ofMillis(100);
+
+    @Test
+    void cancelsTheFutureOfATimedOutFunction() throws Exception {
+        final SimulatedClient client = client(ExecutionMode.EVENT_THREAD);
+        final CompletableFuture<WebhookMessageCreateAction<Message>> response =
+                new CompletableFuture<>();
+        final AbstractCommand command = command(client, context -> response);
+
+        assertTimedOut(client, command);
+        assertTrue(response.isCancelled());
+    }
+
+    @Test
+    void interruptsATimedOutFunction() throws Exception {
+        final SimulatedClient client = client(ExecutionMode.PLATFORM_THREADS);
+        final CountDownLatch interrupted = new CountDownLatch(1);
+        final AbstractCommand command = command(client, context -> {
+            try {
+                Thread.sleep(Long.MAX_VALUE);
+            } catch (final InterruptedException e) {
+                interrupted.countDown();
+                Thread.currentThread().interrupt();
+            }
+
+            return CompletableFuture.completedFuture(
+                    context.getEvent().getHook().sendMessage("done"));
+        });
+
+        assertTimedOut(client, command);
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+    }
+
+    private static void assertTimedOut(final SimulatedClient client,
+            final AbstractCommand command) throws Exception {
+        final QueuedAction response = Interactions.slash(command).subcommand("run").simulate()
+                .awaitResponse(Duration.ofSeconds(5));
+
+        assertEquals(Embeds.TIMED_OUT.get().getDescription(),
+                response.getEmbeds().get(0).getDescription());
+        assertEquals(0, command.getAdmission().getPending());
+        assertEquals(0, client.getDiscordManager().getAdmission().getPending());
+    }
+
+    private static AbstractCommand command(final SimulatedClient client,
+            final AsyncCommandFunction function) {
+        return new AbstractCommand(client, "stuck", "Gets stuck.") {
+
+            @Override
+            protected RootCommandNode build(final RootCommandBuilder data) {
+                return data.timeout(TIMEOUT).then(Commands.subCommand("run", "Runs.")
+                        .executesAsync(function)).build();
+            }
+        };
+    }
+
+    private static SimulatedClient client(final ExecutionMode mode) {
+        return new SimulatedClient(new SimulatedConfig(Collections.emptyMap(), 100, mode));
+    }
+}
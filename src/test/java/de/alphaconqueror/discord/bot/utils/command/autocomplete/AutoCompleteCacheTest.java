@@ -0,0 +1,108 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.alphaconqueror.discord.bot.utils.command.autocomplete;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import de.alphaconqueror.discord.bot.utils.command.abstraction.AbstractCommand;
+import de.alphaconqueror.discord.bot.utils.command.abstraction.AutoCompleteFunction;
+import de.alphaconqueror.discord.bot.utils.command.builder.Commands;
+import de.alphaconqueror.discord.bot.utils.command.builder.RootCommandBuilder;
+import de.alphaconqueror.discord.bot.utils.command.builder.node.RootCommandNode;
+import de.alphaconqueror.discord.bot.utils.simulator.Interactions;
+import de.alphaconqueror.discord.bot.utils.simulator.SimulatedClient;
+import de.alphaconqueror.discord.bot.utils.simulator.SimulatedConfig;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import net.dv8tion.jda.api.interactions.commands.Command;
+import net.dv8tion.jda.api.interactions.commands.OptionType;
+import org.junit.jupiter.api.Test;
+
+class AutoCompleteCacheTest {
+
+    private final SimulatedClient client =
+            new SimulatedClient(new SimulatedConfig(Collections.emptyMap(), 100));
+    private final AtomicInteger calls = new AtomicInteger();
+
+    @Test
+    void refinesLongerPrefixesFromCompleteChoices() throws Exception {
+        final PrefixIndex index =
+                PrefixIndex.of(Arrays.asList("Apple", "apricot", "Avocado", "banana"));
+        final AbstractCommand command = this.command(index);
+
+        assertEquals(Arrays.asList("Apple", "apricot", "Avocado"), this.complete(command, "a"));
+        assertEquals(Arrays.asList("Apple", "apricot"), this.complete(command, "Ap"));
+        assertEquals(Collections.singletonList("apricot"), this.complete(command, "apr"));
+        assertEquals(Collections.emptyList(), this.complete(command, "apx"));
+        assertEquals(1, this.calls.get());
+        assertEquals(3, this.client.getDiscordManager().getMetrics().getCommand("fruit/pick")
+                .snapshot().getCompletionHits());
+    }
+
+    @Test
+    void doesNotRefineTruncatedChoices() throws Exception {
+        final List<String> values = new ArrayList<>();
+
+        for (int i = 0; i < 30; i++) {
+            values.add("apple " + i);
+        }
+
+        final AbstractCommand command = this.command(PrefixIndex.of(values));
+
+        assertEquals(25, this.complete(command, "a").size());
+        // the choices of "a" were cut off at 25, so "apple 2" has to be computed
+        assertEquals(11, this.complete(command, "apple 2").size());
+        assertEquals(2, this.calls.get());
+    }
+
+    private AbstractCommand command(final AutoCompleteFunction function) {
+        final AutoCompleteFunction counted = context -> {
+            this.calls.incrementAndGet();
+            return function.complete(context);
+        };
+
+        return new AbstractCommand(this.client, "fruit", "Fruit.") {
+
+            @Override
+            protected RootCommandNode build(final RootCommandBuilder data) {
+                return data.then(Commands.subCommand("pick", "Picks.").then(
+                        Commands.option("name", "Name.", OptionType.STRING)
+                                .autoCompletes(counted, CacheScope.GLOBAL))).build();
+            }
+        };
+    }
+
+    private List<String> complete(final AbstractCommand command, final String value)
+            throws Exception {
+        return Interactions.slash(command).subcommand("pick").complete("name", value)
+                .awaitResponse(Duration.ofSeconds(5)).getChoices().stream()
+                .map(Command.Choice::getName).collect(Collectors.toList());
+    }
+}
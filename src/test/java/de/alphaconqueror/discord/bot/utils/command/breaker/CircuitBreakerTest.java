@@ -0,0 +1,200 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.alphaconqueror.discord.bot.utils.command.breaker;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import de.alphaconqueror.discord.bot.utils.command.CommandErrorException;
+import de.alphaconqueror.discord.bot.utils.command.abstraction.AbstractCommand;
+import de.alphaconqueror.discord.bot.utils.command.builder.Commands;
+import de.alphaconqueror.discord.bot.utils.command.builder.RootCommandBuilder;
+import de.alphaconqueror.discord.bot.utils.command.builder.node.RootCommandNode;
+import de.alphaconqueror.discord.bot.utils.simulator.ActionType;
+import de.alphaconqueror.discord.bot.utils.simulator.Interactions;
+import de.alphaconqueror.discord.bot.utils.simulator.QueuedAction;
+import de.alphaconqueror.discord.bot.utils.simulator.SimulatedClient;
+import de.alphaconqueror.discord.bot.utils.simulator.SimulatedConfig;
+import de.alphaconqueror.discord.bot.utils.util.Embeds;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class CircuitBreakerTest {
+
+    private static final Duration INTERVAL = Duration.ofMinutes(1);
+    private static final long SLOW = TimeUnit.SECONDS.toNanos(5);
+
+    @Test
+    void opensOnceTheFailureRateIsReached() {
+        final CircuitBreaker breaker = breaker();
+
+        record(breaker, null, null, null, new CommandErrorException("failed"));
+        assertEquals(CircuitState.CLOSED, breaker.getState());
+
+        record(breaker, null, null, new CommandErrorException("failed"),
+                new CommandErrorException("failed"));
+        assertEquals(CircuitState.OPEN, breaker.getState());
+        assertEquals(1, breaker.getTrips());
+        assertEquals(CircuitBreaker.REJECTED, breaker.tryAcquire(System.nanoTime()));
+    }
+
+    @Test
+    void countsSlowCallsButNotOtherExceptions() {
+        final CircuitBreaker breaker = breaker();
+
+        for (int i = 0; i < 4; i++) {
+            breaker.record(breaker.tryAcquire(System.nanoTime()), new IllegalStateException(), 0);
+        }
+
+        assertEquals(CircuitState.CLOSED, breaker.getState());
+
+        for (int i = 0; i < 4; i++) {
+            breaker.record(breaker.tryAcquire(System.nanoTime()), null, SLOW);
+        }
+
+        assertEquals(CircuitState.OPEN, breaker.getState());
+    }
+
+    @Test
+    void probesOnceTheIntervalPassed() {
+        final CircuitBreaker breaker = open();
+        final long due = System.nanoTime() + INTERVAL.toNanos();
+        final long probe = breaker.tryAcquire(due);
+
+        assertNotEquals(CircuitBreaker.REJECTED, probe);
+        assertEquals(CircuitState.HALF_OPEN, breaker.getState());
+        assertEquals(CircuitBreaker.REJECTED, breaker.tryAcquire(due));
+
+        breaker.record(probe, null, 0);
+
+        assertEquals(CircuitState.CLOSED, breaker.getState());
+    }
+
+    @Test
+    void reopensIfTheProbeFails() {
+        final CircuitBreaker breaker = open();
+        final long probe = breaker.tryAcquire(System.nanoTime() + INTERVAL.toNanos());
+
+        breaker.recordTimeout(probe);
+
+        assertEquals(CircuitState.OPEN, breaker.getState());
+        assertEquals(2, breaker.getTrips());
+    }
+
+    @Test
+    void ignoresOutcomesAdmittedBeforeTheProbe() {
+        final CircuitBreaker breaker = breaker();
+        final long late = breaker.tryAcquire(System.nanoTime());
+
+        record(breaker, new CommandErrorException("failed"), new CommandErrorException("failed"),
+                new CommandErrorException("failed"), new CommandErrorException("failed"));
+
+        final long probe = breaker.tryAcquire(System.nanoTime() + INTERVAL.toNanos());
+
+        breaker.record(late, null, 0);
+        assertEquals(CircuitState.HALF_OPEN, breaker.getState());
+
+        breaker.record(late, new CommandErrorException("failed"), 0);
+        assertEquals(CircuitState.HALF_OPEN, breaker.getState());
+
+        breaker.record(probe, null, 0);
+        assertEquals(CircuitState.CLOSED, breaker.getState());
+    }
+
+    @Test
+    void releasedProbesCanBeAcquiredAgain() {
+        final CircuitBreaker breaker = open();
+        final long probe = breaker.tryAcquire(System.nanoTime() + INTERVAL.toNanos());
+
+        breaker.release(probe);
+
+        final long next = breaker.tryAcquire(System.nanoTime());
+
+        assertNotEquals(CircuitBreaker.REJECTED, next);
+
+        // the released probe does not decide anymore
+        breaker.record(probe, null, 0);
+        assertEquals(CircuitState.HALF_OPEN, breaker.getState());
+
+        breaker.record(next, null, 0);
+        assertEquals(CircuitState.CLOSED, breaker.getState());
+    }
+
+    @Test
+    void failsFastWithoutExecutingWhileOpen() throws Exception {
+        final SimulatedClient client =
+                new SimulatedClient(new SimulatedConfig(Collections.emptyMap(), 100));
+        final AtomicInteger calls = new AtomicInteger();
+        final AbstractCommand command = new AbstractCommand(client, "flaky", "Flaky.") {
+
+            @Override
+            protected RootCommandNode build(final RootCommandBuilder data) {
+                return data.then(Commands.subCommand("run", "Runs.").circuitBreaker(breaker())
+                        .executes(context -> {
+                            calls.incrementAndGet();
+                            throw new CommandErrorException("failed");
+                        })).build();
+            }
+        };
+
+        for (int i = 0; i < 4; i++) {
+            Interactions.slash(command).subcommand("run").simulate()
+                    .awaitResponse(Duration.ofSeconds(5));
+        }
+
+        final QueuedAction response = Interactions.slash(command).subcommand("run").simulate()
+                .awaitResponse(Duration.ofSeconds(5));
+
+        assertEquals(4, calls.get());
+        // rejected before acknowledging, so the reply is not deferred
+        assertEquals(ActionType.REPLY, response.getType());
+        assertSame(Embeds.UNAVAILABLE, response.getEmbeds().get(0));
+        assertEquals(1, client.getDiscordManager().getMetrics().getCommand("flaky/run")
+                .snapshot().getShortCircuited());
+    }
+
+    private static CircuitBreaker breaker() {
+        return new CircuitBreaker(0.5, Duration.ofSeconds(5), 4, INTERVAL);
+    }
+
+    private static CircuitBreaker open() {
+        final CircuitBreaker breaker = breaker();
+
+        record(breaker, new CommandErrorException("failed"), new CommandErrorException("failed"),
+                new CommandErrorException("failed"), new CommandErrorException("failed"));
+        assertEquals(CircuitState.OPEN, breaker.getState());
+        return breaker;
+    }
+
+    private static void record(final CircuitBreaker breaker, final Throwable... outcomes) {
+        for (final Throwable outcome : outcomes) {
+            breaker.record(breaker.tryAcquire(System.nanoTime()), outcome, 0);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.alphaconqueror.discord.bot.utils.command.builder.node;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.google.common.collect.ImmutableSet;
+import de.alphaconqueror.discord.bot.utils.command.abstraction.AbstractCommand;
+import de.alphaconqueror.discord.bot.utils.command.builder.Commands;
+import de.alphaconqueror.discord.bot.utils.command.builder.RootCommandBuilder;
+import de.alphaconqueror.discord.bot.utils.simulator.InteractionBuilder;
+import de.alphaconqueror.discord.bot.utils.simulator.Interactions;
+import de.alphaconqueror.discord.bot.utils.simulator.SimulatedClient;
+import de.alphaconqueror.discord.bot.utils.simulator.SimulatedConfig;
+import java.time.Duration;
+import java.util.Collections;
+import net.dv8tion.jda.api.interactions.commands.OptionType;
+import org.junit.jupiter.api.Test;
+
+class DispatchTableTest {
+
+    private final AbstractCommand command = new AbstractCommand(
+            new SimulatedClient(new SimulatedConfig(Collections.emptyMap(), 100)), "bot",
+            "Bot.") {
+
+        @Override
+        protected RootCommandNode build(final RootCommandBuilder data) {
+            return data.then(Commands.subGroupCommand("admin", "Administration.")
+                            .then(Commands.subCommand("ban", "Bans.")
+                                    .executes(c -> c.getEvent().getHook().sendMessage("ban"))))
+                    .then(Commands.subCommand("mode", "Sets the mode.")
+                            .then(Commands.option("level", "The level.", OptionType.STRING)
+                                    .required()
+                                    .addChoice("low",
+                                            c -> c.getEvent().getHook().sendMessage("low"))
+                                    .addChoice("high",
+                                            c -> c.getEvent().getHook().sendMessage("high"))
+                                    .executes(c -> c.getEvent().getHook().sendMessage(
+                                            "level " + c.getEvent().getOption("level")
+                                                    .getAsString()))))
+                    .build();
+        }
+    };
+
+    @Test
+    void compilesEveryInvocablePath() {
+        final DispatchTable table = this.command.getRootCommandNode().getDispatchTable();
+
+        assertEquals(ImmutableSet.of("bot", "bot/admin/ban", "bot/mode", "bot/mode/level",
+                        "bot/mode/level=low", "bot/mode/level=high"),
+                table.getEntries().keySet());
+    }
+
+    @Test
+    void routesSubcommandsOfGroups() throws Exception {
+        assertEquals("ban", reply(Interactions.slash(this.command).group("admin")
+                .subcommand("ban")));
+    }
+
+    @Test
+    void routesChoicesAndFallsBackToTheOption() throws Exception {
+        assertEquals("high", reply(Interactions.slash(this.command).subcommand("mode")
+                .option("level", "high")));
+        assertEquals("low", reply(Interactions.slash(this.command).subcommand("mode")
+                .option("level", "low")));
+        assertEquals("level medium", reply(Interactions.slash(this.command).subcommand("mode")
+                .option("level", "medium")));
+    }
+
+    private static String reply(final InteractionBuilder interaction) throws Exception {
+        return interaction.simulate().awaitResponse(Duration.ofSeconds(5)).getContent();
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.alphaconqueror.discord.bot.utils.command.ratelimit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.alphaconqueror.discord.bot.utils.command.abstraction.AbstractCommand;
+import de.alphaconqueror.discord.bot.utils.command.builder.Commands;
+import de.alphaconqueror.discord.bot.utils.command.builder.RootCommandBuilder;
+import de.alphaconqueror.discord.bot.utils.command.builder.node.RootCommandNode;
+import de.alphaconqueror.discord.bot.utils.simulator.Interactions;
+import de.alphaconqueror.discord.bot.utils.simulator.QueuedAction;
+import de.alphaconqueror.discord.bot.utils.simulator.SimulatedClient;
+import de.alphaconqueror.discord.bot.utils.simulator.SimulatedConfig;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class RateLimiterTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    @Test
+    void grantsThePermitsOfAPeriodPerKey() {
+        final RateLimiter limiter = new RateLimiter(RateLimitScope.USER, 3, Duration.ofSeconds(3));
+        final long now = System.nanoTime();
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, limiter.tryAcquire(1, now));
+        }
+
+        assertEquals(SECOND, limiter.tryAcquire(1, now));
+        assertEquals(0, limiter.tryAcquire(2, now));
+    }
+
+    @Test
+    void refillsContinuously() {
+        final RateLimiter limiter = new RateLimiter(RateLimitScope.USER, 2, Duration.ofSeconds(2));
+        final long now = System.nanoTime();
+
+        assertEquals(0, limiter.tryAcquire(1, now));
+        assertEquals(0, limiter.tryAcquire(1, now));
+        assertEquals(SECOND / 2, limiter.tryAcquire(1, now + SECOND / 2));
+        assertEquals(0, limiter.tryAcquire(1, now + SECOND));
+        assertTrue(limiter.tryAcquire(1, now + SECOND) > 0);
+    }
+
+    @Test
+    void releasedPermitsCanBeAcquiredAgain() {
+        final RateLimiter limiter =
+                new RateLimiter(RateLimitScope.USER, 1, Duration.ofMinutes(1));
+        final long now = System.nanoTime();
+
+        assertEquals(0, limiter.tryAcquire(1, now));
+        assertTrue(limiter.tryAcquire(1, now) > 0);
+
+        limiter.release(1);
+
+        assertEquals(0, limiter.tryAcquire(1, now));
+    }
+
+    @Test
+    void rejectedInteractionsDoNotDrainOuterLimits() throws Exception {
+        final SimulatedClient client =
+                new SimulatedClient(new SimulatedConfig(Collections.emptyMap(), 100));
+        final AbstractCommand command = new AbstractCommand(client, "limited", "Limited.") {
+
+            @Override
+            protected RootCommandNode build(final RootCommandBuilder data) {
+                return data.ratelimit(RateLimitScope.COMMAND, 5, Duration.ofMinutes(1))
+                        .then(Commands.subCommand("run", "Runs.")
+                                .ratelimit(RateLimitScope.USER, 1, Duration.ofMinutes(1))
+                                .executes(context -> context.getEvent().getHook()
+                                        .sendMessage("ok")))
+                        .build();
+            }
+        };
+
+        assertEquals("ok", respond(command, 1).getContent());
+
+        // rejected by the limit of the user, the permits of the command are released
+        for (int i = 0; i < 10; i++) {
+            assertEquals(1, respond(command, 1).getEmbeds().size());
+        }
+
+        for (long user = 2; user <= 5; user++) {
+            assertEquals("ok", respond(command, user).getContent());
+        }
+    }
+
+    private static QueuedAction respond(final AbstractCommand command, final long user)
+            throws Exception {
+        return Interactions.slash(command).subcommand("run").user(user).simulate()
+                .awaitResponse(TIMEOUT);
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.alphaconqueror.discord.bot.utils.concurrent;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import de.alphaconqueror.discord.bot.utils.command.abstraction.AbstractCommand;
+import de.alphaconqueror.discord.bot.utils.command.builder.Commands;
+import de.alphaconqueror.discord.bot.utils.command.builder.RootCommandBuilder;
+import de.alphaconqueror.discord.bot.utils.command.builder.node.RootCommandNode;
+import de.alphaconqueror.discord.bot.utils.metrics.CommandMetricsSnapshot;
+import de.alphaconqueror.discord.bot.utils.simulator.Interactions;
+import de.alphaconqueror.discord.bot.utils.simulator.QueuedAction;
+import de.alphaconqueror.discord.bot.utils.simulator.SimulatedClient;
+import de.alphaconqueror.discord.bot.utils.simulator.SimulatedConfig;
+import de.alphaconqueror.discord.bot.utils.util.Embeds;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.Test;
+
+class AdmissionLimitTest {
+
+    @Test
+    void rejectsInteractionsBeyondTheLimit() throws Exception {
+        final SimulatedClient client = client(ExecutionMode.EVENT_THREAD);
+        final CompletableFuture<Void> blocker = new CompletableFuture<>();
+        final AbstractCommand command = new AbstractCommand(client, "block", "Blocks.") {
+
+            @Override
+            protected RootCommandNode build(final RootCommandBuilder data) {
+                return data.maxPending(1).then(Commands.subCommand("run", "Runs.")
+                        .executesAsync(context -> blocker.thenApply(
+                                v -> context.getEvent().getHook().sendMessage("done"))))
+                        .build();
+            }
+        };
+        final QueuedAction rejected;
+
+        Interactions.slash(command).subcommand("run").simulate();
+        rejected = Interactions.slash(command).subcommand("run").simulate()
+                .awaitResponse(Duration.ofSeconds(5));
+        assertEquals(overloaded(), rejected.getEmbeds().get(0).getDescription());
+
+        blocker.complete(null);
+        // the first interaction released its permit
+        assertEquals("done", Interactions.slash(command).subcommand("run").simulate()
+                .awaitResponse(Duration.ofSeconds(5)).getContent());
+    }
+
+    @Test
+    void repliesOverloadedIfTheExecutorRejects() throws Exception {
+        final SimulatedClient client = client(ExecutionMode.PLATFORM_THREADS);
+        final AbstractCommand command = new AbstractCommand(client, "echo", "Echoes.") {
+
+            @Override
+            protected RootCommandNode build(final RootCommandBuilder data) {
+                return data.then(Commands.subCommand("run", "Runs.")
+                        .executes(context -> context.getEvent().getHook().sendMessage("done")))
+                        .build();
+            }
+        };
+
+        client.getDiscordManager().getCommandExecutor().shutdown();
+
+        final QueuedAction response = Interactions.slash(command).subcommand("run").simulate()
+                .awaitResponse(Duration.ofSeconds(5));
+        final CommandMetricsSnapshot metrics =
+                client.getDiscordManager().getMetrics().getCommand("echo/run").snapshot();
+
+        assertEquals(overloaded(), response.getEmbeds().get(0).getDescription());
+        assertEquals(1, metrics.getRejected());
+        assertEquals(0, metrics.getErrors());
+        assertEquals(0, command.getAdmission().getPending());
+        assertEquals(0, client.getDiscordManager().getAdmission().getPending());
+    }
+
+    private static SimulatedClient client(final ExecutionMode mode) {
+        return new SimulatedClient(new SimulatedConfig(Collections.emptyMap(), 100, mode));
+    }
+
+    private static String overloaded() {
+        return Embeds.OVERLOADED.get().getDescription();
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.alphaconqueror.discord.bot.utils.concurrent;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class StripedExecutorTest {
+
+    @Test
+    void roundsStripesUpToAPowerOfTwo() {
+        assertEquals(32, new StripedExecutor(Runnable::run, 30).getStripeCount());
+        assertEquals(1, new StripedExecutor(Runnable::run, 1).getStripeCount());
+    }
+
+    @Test
+    void executesTheTasksOfAKeyInOrder() throws InterruptedException {
+        final int keys = 64;
+        final int tasks = 2_000;
+        final ExecutorService pool = Executors.newFixedThreadPool(4);
+        final StripedExecutor executor = new StripedExecutor(pool, 16);
+        // only written by the tasks of the key, which must not run concurrently
+        final int[] last = new int[keys];
+        final AtomicInteger violations = new AtomicInteger();
+        final CountDownLatch done = new CountDownLatch(keys * tasks);
+        final Thread[] producers = new Thread[2];
+
+        try {
+            for (int p = 0; p < producers.length; p++) {
+                final int first = p;
+
+                producers[p] = new Thread(() -> {
+                    for (int key = first; key < keys; key += producers.length) {
+                        for (int task = 1; task <= tasks; task++) {
+                            final int index = key;
+                            final int sequence = task;
+
+                            executor.execute(index, () -> {
+                                if (last[index] != sequence - 1) {
+                                    violations.incrementAndGet();
+                                }
+
+                                last[index] = sequence;
+                                done.countDown();
+                            });
+                        }
+                    }
+                });
+                producers[p].start();
+            }
+
+            assertTrue(done.await(30, TimeUnit.SECONDS));
+            assertEquals(0, violations.get());
+
+            // the depth is decremented once a task returned
+            pool.shutdown();
+            assertTrue(pool.awaitTermination(30, TimeUnit.SECONDS));
+            assertEquals(0, executor.getQueueDepth());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void countsQueuedTasksPerStripe() {
+        final StripedExecutor executor = new StripedExecutor(task -> {}, 4);
+
+        executor.execute(1, () -> {});
+        executor.execute(1, () -> {});
+
+        assertEquals(2, executor.getQueueDepth(executor.indexOf(1)));
+        assertEquals(2, executor.getQueueDepth());
+        assertEquals(2, executor.getMaxQueueDepth());
+    }
+}
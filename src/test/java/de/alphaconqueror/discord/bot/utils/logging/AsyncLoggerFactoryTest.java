@@ -0,0 +1,164 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.alphaconqueror.discord.bot.utils.logging;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class AsyncLoggerFactoryTest {
+
+    @Test
+    void writesMessagesInOrder() {
+        final RecordingLogger delegate = new RecordingLogger();
+        final AsyncLoggerFactory logger = new AsyncLoggerFactory(delegate, 1 << 14);
+
+        for (int i = 0; i < 10_000; i++) {
+            logger.info("message {}", i);
+        }
+
+        logger.close();
+
+        assertEquals(10_000, delegate.messages.size());
+
+        for (int i = 0; i < 10_000; i++) {
+            assertEquals("message " + i, delegate.messages.get(i));
+        }
+
+        assertEquals(0, logger.getDropped());
+    }
+
+    @Test
+    void dropsMessagesIfTheBufferIsFull() throws InterruptedException {
+        final CountDownLatch writing = new CountDownLatch(1);
+        final CountDownLatch resume = new CountDownLatch(1);
+        final RecordingLogger delegate = new RecordingLogger() {
+
+            @Override
+            public void info(final String s, final Object... args) {
+                if (s.equals("blocking")) {
+                    writing.countDown();
+                    await(resume);
+                }
+
+                super.info(s, args);
+            }
+        };
+        // the capacity is rounded up to 4
+        final AsyncLoggerFactory logger = new AsyncLoggerFactory(delegate, 3);
+
+        logger.info("blocking");
+        assertTrue(writing.await(5, TimeUnit.SECONDS));
+
+        // the blocking message still occupies its entry
+        for (int i = 0; i < 10; i++) {
+            logger.info("message");
+        }
+
+        resume.countDown();
+        logger.close();
+
+        assertEquals(4, delegate.messages.size());
+        assertEquals(7, logger.getDropped());
+    }
+
+    @Test
+    void dropsMessagesAfterClose() {
+        final RecordingLogger delegate = new RecordingLogger();
+        final AsyncLoggerFactory logger = new AsyncLoggerFactory(delegate, 16);
+
+        logger.info("before");
+        logger.close();
+        logger.info("after");
+        logger.warn("after");
+
+        assertEquals(Collections.singletonList("before"), delegate.messages);
+        assertEquals(2, logger.getDropped());
+    }
+
+    @Test
+    void countsMessagesTheDelegateFailedToWrite() {
+        final RecordingLogger delegate = new RecordingLogger() {
+
+            @Override
+            public void info(final String s, final Object... args) {
+                if (s.equals("failing")) {
+                    throw new IllegalStateException();
+                }
+
+                super.info(s, args);
+            }
+        };
+        final AsyncLoggerFactory logger = new AsyncLoggerFactory(delegate, 16);
+
+        logger.info("failing");
+        logger.info("written");
+        logger.close();
+
+        assertEquals(Collections.singletonList("written"), delegate.messages);
+        assertEquals(1, logger.getFailed());
+    }
+
+    private static void await(final CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static class RecordingLogger implements LoggerFactory {
+
+        // only written by the writer thread and read once it has been closed
+        private final List<String> messages = new ArrayList<>();
+
+        @Override
+        public void info(final String s, final Object... args) {
+            String message = s;
+
+            for (final Object arg : args) {
+                message = message.replaceFirst("\\{}", String.valueOf(arg));
+            }
+
+            this.messages.add(message);
+        }
+
+        @Override
+        public void warn(final String s, final Object... args) {
+            this.info(s, args);
+        }
+
+        @Override
+        public void severe(final String s, final Throwable throwable) {
+            this.messages.add(s);
+        }
+    }
+}
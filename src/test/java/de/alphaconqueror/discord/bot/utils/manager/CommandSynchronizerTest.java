@@ -0,0 +1,134 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.alphaconqueror.discord.bot.utils.manager;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import com.google.common.collect.ImmutableSet;
+import de.alphaconqueror.discord.bot.utils.simulator.Stubs;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import net.dv8tion.jda.api.entities.Guild;
+import net.dv8tion.jda.api.interactions.commands.Command;
+import net.dv8tion.jda.api.interactions.commands.build.Commands;
+import net.dv8tion.jda.api.interactions.commands.build.SlashCommandData;
+import net.dv8tion.jda.api.requests.RestAction;
+import net.dv8tion.jda.api.requests.restaction.CommandEditAction;
+import org.junit.jupiter.api.Test;
+
+class CommandSynchronizerTest {
+
+    private final List<String> requests = new ArrayList<>();
+
+    @Test
+    void onlySendsRequestsForChangedCommands() throws Exception {
+        final Guild guild = this.guild(
+                registered(1, Commands.slash("kept", "Kept.")),
+                registered(2, Commands.slash("edited", "Old description.")),
+                registered(3, Commands.slash("deleted", "Deleted.")));
+        final CommandSynchronizer.Result result = CommandSynchronizer.guild(guild)
+                .synchronize(Arrays.asList(Commands.slash("kept", "Kept."),
+                        Commands.slash("edited", "New description."),
+                        Commands.slash("created", "Created.")))
+                .get(5, TimeUnit.SECONDS);
+
+        assertEquals(1, result.getCreated());
+        assertEquals(1, result.getEdited());
+        assertEquals(1, result.getDeleted());
+        assertEquals(1, result.getUnchanged());
+        assertEquals(ImmutableSet.of("upsert created", "edit 2", "delete 3"),
+                ImmutableSet.copyOf(this.requests));
+    }
+
+    @Test
+    void sendsNoRequestsIfNothingChanged() throws Exception {
+        final Guild guild = this.guild(registered(1, Commands.slash("kept", "Kept.")));
+
+        assertEquals(1, CommandSynchronizer.guild(guild)
+                .synchronize(Collections.singletonList(Commands.slash("kept", "Kept.")))
+                .get(5, TimeUnit.SECONDS).getUnchanged());
+        assertEquals(Collections.emptyList(), this.requests);
+    }
+
+    @Test
+    void ignoresTheGuildOnlyFlagOfGuildCommands() {
+        final SlashCommandData data = Commands.slash("kept", "Kept.");
+        final SlashCommandData guildOnly = Commands.slash("kept", "Kept.").setGuildOnly(true);
+
+        assertEquals(CommandSynchronizer.fingerprint(data, true),
+                CommandSynchronizer.fingerprint(guildOnly, true));
+        assertNotEquals(CommandSynchronizer.fingerprint(data, false),
+                CommandSynchronizer.fingerprint(guildOnly, false));
+    }
+
+    private Guild guild(final Command... registered) {
+        final Map<String, Object> answers = new HashMap<>();
+
+        answers.put("retrieveCommands", action(Arrays.asList(registered)));
+        answers.put("upsertCommand", (Stubs.Answer) args -> {
+            this.requests.add("upsert " + ((SlashCommandData) args[0]).getName());
+            return action(null);
+        });
+        answers.put("editCommandById", (Stubs.Answer) args -> {
+            this.requests.add("edit " + args[0]);
+            return Stubs.stub(CommandEditAction.class,
+                    Collections.singletonMap("submit", CompletableFuture.completedFuture(null)));
+        });
+        answers.put("deleteCommandById", (Stubs.Answer) args -> {
+            this.requests.add("delete " + args[0]);
+            return action(null);
+        });
+        return Stubs.stub(Guild.class, answers);
+    }
+
+    private static RestAction<?> action(final Object value) {
+        return Stubs.stub(RestAction.class,
+                Collections.singletonMap("submit", CompletableFuture.completedFuture(value)));
+    }
+
+    private static Command registered(final long id, final SlashCommandData data) {
+        final Map<String, Object> answers = new HashMap<>();
+
+        answers.put("getId", String.valueOf(id));
+        answers.put("getIdLong", id);
+        answers.put("getType", Command.Type.SLASH);
+        answers.put("getName", data.getName());
+        answers.put("getDescription", data.getDescription());
+        answers.put("getNameLocalizations", data.getNameLocalizations());
+        answers.put("getDescriptionLocalizations", data.getDescriptionLocalizations());
+        answers.put("getDefaultPermissions", data.getDefaultPermissions());
+        answers.put("getOptions", Collections.emptyList());
+        answers.put("getSubcommands", Collections.emptyList());
+        answers.put("getSubcommandGroups", Collections.emptyList());
+        return Stubs.stub(Command.class, answers);
+    }
+}
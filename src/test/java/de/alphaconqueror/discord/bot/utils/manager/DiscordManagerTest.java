@@ -0,0 +1,71 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.alphaconqueror.discord.bot.utils.manager;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.google.common.collect.ImmutableSet;
+import de.alphaconqueror.discord.bot.utils.command.abstraction.AbstractCommand;
+import de.alphaconqueror.discord.bot.utils.commands.ReloadCommand;
+import de.alphaconqueror.discord.bot.utils.commands.RestartCommand;
+import de.alphaconqueror.discord.bot.utils.commands.ShutdownCommand;
+import de.alphaconqueror.discord.bot.utils.commands.StatsCommand;
+import de.alphaconqueror.discord.bot.utils.commands.SyncCommand;
+import de.alphaconqueror.discord.bot.utils.commands.TestCommand;
+import de.alphaconqueror.discord.bot.utils.commands.UnsyncCommand;
+import de.alphaconqueror.discord.bot.utils.simulator.SimulatedClient;
+import de.alphaconqueror.discord.bot.utils.simulator.SimulatedConfig;
+import de.alphaconqueror.discord.bot.utils.simulator.SimulatedDiscordManager;
+import java.util.Collections;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class DiscordManagerTest {
+
+    private final SimulatedClient client =
+            new SimulatedClient(new SimulatedConfig(Collections.emptyMap(), 100));
+
+    @Test
+    void loadsAllBuiltInCommandsByDefault() {
+        assertEquals(ImmutableSet.of(ReloadCommand.class, RestartCommand.class,
+                        ShutdownCommand.class, StatsCommand.class, SyncCommand.class,
+                        TestCommand.class, UnsyncCommand.class),
+                new SimulatedDiscordManager(this.client).constructCommands().keySet());
+    }
+
+    @Test
+    void leavesOutBuiltInCommandsMissingFromTheOverride() {
+        final DiscordManager manager = new SimulatedDiscordManager(this.client) {
+
+            @Override
+            protected Set<Class<? extends AbstractCommand>> constructCommandClasses() {
+                return ImmutableSet.of(SyncCommand.class, UnsyncCommand.class);
+            }
+        };
+
+        assertEquals(ImmutableSet.of(SyncCommand.class, UnsyncCommand.class),
+                manager.constructCommands().keySet());
+    }
+}
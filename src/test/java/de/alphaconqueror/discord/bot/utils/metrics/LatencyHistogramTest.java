@@ -0,0 +1,83 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.alphaconqueror.discord.bot.utils.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class LatencyHistogramTest {
+
+    @Test
+    void bucketsAreContiguous() {
+        for (int i = 0; i < LatencyHistogram.getBucketCount() - 1; i++) {
+            assertEquals(LatencyHistogram.lowerBound(i) + LatencyHistogram.width(i),
+                    LatencyHistogram.lowerBound(i + 1), "bucket " + i);
+        }
+    }
+
+    @Test
+    void valuesAreIndexedIntoTheirBucket() {
+        for (int i = 0; i < LatencyHistogram.getBucketCount(); i++) {
+            final long lowerBound = LatencyHistogram.lowerBound(i);
+
+            assertEquals(i, LatencyHistogram.index(lowerBound), "lower bound of " + i);
+            assertEquals(i, LatencyHistogram.index(lowerBound + LatencyHistogram.width(i) - 1),
+                    "upper bound of " + i);
+        }
+    }
+
+    @Test
+    void largeValuesAreIndexedIntoTheLastBucket() {
+        assertEquals(LatencyHistogram.getBucketCount() - 1,
+                LatencyHistogram.index(Long.MAX_VALUE));
+    }
+
+    @Test
+    void quantilesAreWithinTheBucketPrecision() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+
+        for (long micros = 1; micros <= 1000; micros++) {
+            histogram.record(micros * 1000);
+        }
+
+        final long[] counts = new long[LatencyHistogram.getBucketCount()];
+        final long total = histogram.copyCounts(counts);
+
+        assertEquals(1000, total);
+        assertWithin(500_000, LatencyHistogram.valueAtQuantile(counts, total,
+                histogram.getMax(), 0.5));
+        assertWithin(990_000, LatencyHistogram.valueAtQuantile(counts, total,
+                histogram.getMax(), 0.99));
+        assertEquals(1_000_000, histogram.getMax());
+    }
+
+    private static void assertWithin(final long expected, final long actual) {
+        // a bucket spans at most 1/16 of its values
+        assertTrue(Math.abs(expected - actual) <= expected / 16,
+                "expected " + expected + " but was " + actual);
+    }
+}
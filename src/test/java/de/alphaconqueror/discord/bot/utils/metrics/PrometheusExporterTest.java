@@ -0,0 +1,90 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.alphaconqueror.discord.bot.utils.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.alphaconqueror.discord.bot.utils.command.abstraction.AbstractCommand;
+import de.alphaconqueror.discord.bot.utils.command.builder.Commands;
+import de.alphaconqueror.discord.bot.utils.command.builder.RootCommandBuilder;
+import de.alphaconqueror.discord.bot.utils.command.builder.node.RootCommandNode;
+import de.alphaconqueror.discord.bot.utils.concurrent.ExecutionMode;
+import de.alphaconqueror.discord.bot.utils.simulator.Interactions;
+import de.alphaconqueror.discord.bot.utils.simulator.SimulatedClient;
+import de.alphaconqueror.discord.bot.utils.simulator.SimulatedConfig;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class PrometheusExporterTest {
+
+    @Test
+    void writesEachFamilyOnceAndContiguously() throws Exception {
+        final SimulatedClient client = new SimulatedClient(
+                new SimulatedConfig(Collections.emptyMap(), 100, ExecutionMode.PLATFORM_THREADS));
+        final AbstractCommand command = new AbstractCommand(client, "ping", "Ping.") {
+
+            @Override
+            protected RootCommandNode build(final RootCommandBuilder data) {
+                return data.then(Commands.subCommand("run", "Runs.").executes(
+                        context -> context.getEvent().getHook().sendMessage("pong"))).build();
+            }
+        };
+
+        Interactions.slash(command).subcommand("run").simulate()
+                .awaitResponse(Duration.ofSeconds(5));
+
+        final StringBuilder out = new StringBuilder();
+
+        new PrometheusExporter(client).write(out);
+
+        final Set<String> typed = new HashSet<>();
+        final Set<String> written = new HashSet<>();
+        String family = null;
+
+        for (final String line : out.toString().split("\n")) {
+            if (line.startsWith("# TYPE ")) {
+                family = line.split(" ")[2];
+                assertTrue(typed.add(family), "declared twice: " + family);
+                continue;
+            }
+
+            final String name = line.split("[{ ]")[0];
+
+            assertTrue(name.equals(family) || name.equals(family + "_sum")
+                    || name.equals(family + "_count"), "not in its family: " + line);
+            written.add(family);
+        }
+
+        assertTrue(written.contains("discord_executor_active_threads"));
+        assertTrue(written.contains("discord_command_latency_seconds"));
+        assertFalse(out.toString().contains(Integer.toString(Integer.MAX_VALUE)));
+        assertEquals(1, client.getDiscordManager().getMetrics().getCommands().size());
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.alphaconqueror.discord.bot.utils.permission;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import de.alphaconqueror.discord.bot.utils.command.abstraction.AbstractCommand;
+import de.alphaconqueror.discord.bot.utils.command.builder.Commands;
+import de.alphaconqueror.discord.bot.utils.command.builder.RootCommandBuilder;
+import de.alphaconqueror.discord.bot.utils.command.builder.node.RootCommandNode;
+import de.alphaconqueror.discord.bot.utils.simulator.Interactions;
+import de.alphaconqueror.discord.bot.utils.simulator.SimulatedClient;
+import de.alphaconqueror.discord.bot.utils.simulator.SimulatedConfig;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class PermissionIndexTest {
+
+    private static final long GUILD = 1;
+    private static final long USER = 2;
+    private static final long ROLE = 3;
+
+    @Test
+    void matchesGrantedPermissionsOnly() {
+        final PermissionIndex index = PermissionIndex.compile(ImmutableMap.of(
+                USER, ImmutableSet.of(DiscordPermission.SYNC),
+                ROLE, ImmutableSet.of(DiscordPermission.SYNC, DiscordPermission.STATS)), 0);
+        final int sync = index.getId(DiscordPermission.SYNC);
+        final int stats = index.getId(DiscordPermission.STATS);
+
+        assertTrue(index.matches(USER, sync));
+        assertFalse(index.matches(USER, stats));
+        assertTrue(index.matches(ROLE, stats));
+        assertFalse(index.matches(GUILD, sync));
+        assertEquals(-1, index.getId(DiscordPermission.RESTART));
+        assertFalse(index.matches(ROLE, index.getId(DiscordPermission.RESTART)));
+    }
+
+    @Test
+    void allGrantsEveryPermission() {
+        final PermissionIndex index = PermissionIndex.compile(
+                ImmutableMap.of(GUILD, ImmutableSet.of(DiscordPermission.ALL)), 0);
+
+        assertTrue(index.matches(GUILD, index.getId(DiscordPermission.RESTART)));
+    }
+
+    @Test
+    void recompilesOnceTheConfigReturnsAnotherMap() throws Exception {
+        final ReloadingConfig config = new ReloadingConfig();
+        final SimulatedClient client = new SimulatedClient(config);
+        final AbstractCommand command = new AbstractCommand(client, "guarded", "Guarded.") {
+
+            @Override
+            protected RootCommandNode build(final RootCommandBuilder data) {
+                return data.then(Commands.subCommand("run", "Runs.")
+                        .requires(DiscordPermission.TEST)
+                        .executes(context -> context.getEvent().getHook().sendMessage("ran")))
+                        .build();
+            }
+        };
+        final PermissionIndex before = client.getPermissionManager().getIndex();
+
+        assertFalse(ran(command));
+        // same map and version, the index is kept
+        assertSame(before, client.getPermissionManager().getIndex());
+
+        // a reload without changing the version, as configs predating the version do
+        config.permissions = ImmutableMap.of(USER, ImmutableSet.of(DiscordPermission.TEST));
+
+        assertTrue(ran(command));
+        assertNotSame(before, client.getPermissionManager().getIndex());
+    }
+
+    private static boolean ran(final AbstractCommand command) throws Exception {
+        return "ran".equals(Interactions.slash(command).subcommand("run").member(USER).simulate()
+                .awaitResponse(Duration.ofSeconds(5)).getContent());
+    }
+
+    private static final class ReloadingConfig extends SimulatedConfig {
+
+        private volatile Map<Long, Set<Permission>> permissions = Collections.emptyMap();
+
+        private ReloadingConfig() {
+            super(Collections.emptyMap(), 100);
+        }
+
+        @Override
+        public Map<Long, Set<Permission>> getPermissions() {
+            return this.permissions;
+        }
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.alphaconqueror.discord.bot.utils.permission;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import de.alphaconqueror.discord.bot.utils.command.abstraction.AbstractCommand;
+import de.alphaconqueror.discord.bot.utils.command.builder.Commands;
+import de.alphaconqueror.discord.bot.utils.command.builder.RootCommandBuilder;
+import de.alphaconqueror.discord.bot.utils.command.builder.node.RootCommandNode;
+import de.alphaconqueror.discord.bot.utils.simulator.InteractionBuilder;
+import de.alphaconqueror.discord.bot.utils.simulator.Interactions;
+import de.alphaconqueror.discord.bot.utils.simulator.SimulatedClient;
+import de.alphaconqueror.discord.bot.utils.simulator.SimulatedConfig;
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+
+class PermissionManagerTest {
+
+    private static final long USER = 2;
+    private static final long MODERATOR = 3;
+    private static final long MEMBER = 4;
+
+    @Test
+    void cachesDecisionsOfUnchangedRoles() throws Exception {
+        final SimulatedClient client = client();
+        final AbstractCommand command = command(client);
+
+        assertTrue(ran(Interactions.slash(command).subcommand("run").member(USER, MODERATOR)));
+        assertTrue(ran(Interactions.slash(command).subcommand("run").member(USER, MODERATOR)));
+        assertEquals(1, client.getPermissionManager().getCacheStats().hitCount());
+    }
+
+    @Test
+    void revokesRemovedRolesWithoutInvalidation() throws Exception {
+        final SimulatedClient client = client();
+        final AbstractCommand command = command(client);
+
+        assertTrue(ran(Interactions.slash(command).subcommand("run").member(USER, MODERATOR)));
+        // the role got removed, no role event is needed to deny the permission
+        assertFalse(ran(Interactions.slash(command).subcommand("run").member(USER, MEMBER)));
+        assertTrue(ran(Interactions.slash(command).subcommand("run")
+                .member(USER, MEMBER, MODERATOR)));
+        assertEquals(0, client.getPermissionManager().getCacheStats().hitCount());
+    }
+
+    private static SimulatedClient client() {
+        return new SimulatedClient(new SimulatedConfig(
+                ImmutableMap.of(MODERATOR, ImmutableSet.of(DiscordPermission.TEST)), 100));
+    }
+
+    private static AbstractCommand command(final SimulatedClient client) {
+        return new AbstractCommand(client, "guarded", "Guarded.") {
+
+            @Override
+            protected RootCommandNode build(final RootCommandBuilder data) {
+                return data.then(Commands.subCommand("run", "Runs.")
+                        .requires(DiscordPermission.TEST)
+                        .executes(context -> context.getEvent().getHook().sendMessage("ran")))
+                        .build();
+            }
+        };
+    }
+
+    private static boolean ran(final InteractionBuilder interaction) throws Exception {
+        return "ran".equals(
+                interaction.simulate().awaitResponse(Duration.ofSeconds(5)).getContent());
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Marc Beckhaeuser (AlphaConqueror) <marcbeckhaeuser@gmail.com>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.alphaconqueror.discord.bot.utils.simulator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.alphaconqueror.discord.bot.utils.command.abstraction.AbstractCommand;
+import de.alphaconqueror.discord.bot.utils.command.builder.Commands;
+import de.alphaconqueror.discord.bot.utils.command.builder.RootCommandBuilder;
+import de.alphaconqueror.discord.bot.utils.command.builder.node.RootCommandNode;
+import de.alphaconqueror.discord.bot.utils.concurrent.ExecutionMode;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import net.dv8tion.jda.api.interactions.commands.OptionType;
+import org.junit.jupiter.api.Test;
+
+class SimulatorTest {
+
+    @Test
+    void rejectsInteractionsNotMatchingTheTree() {
+        final AbstractCommand command = echo(ExecutionMode.EVENT_THREAD);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> Interactions.slash(command).subcommand("missing"));
+        assertThrows(IllegalArgumentException.class,
+                () -> Interactions.slash(command).subcommand("say").option("missing", "x"));
+        assertThrows(IllegalStateException.class,
+                () -> Interactions.slash(command).subcommand("say").simulate());
+    }
+
+    @Test
+    void recordsTheQueuedActions() throws Exception {
+        final SimulatedInteraction interaction = Interactions.slash(
+                        echo(ExecutionMode.PLATFORM_THREADS)).subcommand("say")
+                .option("text", "hello").member(2).simulate();
+        final QueuedAction response = interaction.awaitResponse(Duration.ofSeconds(5));
+
+        assertEquals(ActionType.HOOK, response.getType());
+        assertEquals("hello", response.getContent());
+        assertEquals(Arrays.asList(ActionType.DEFER, ActionType.HOOK),
+                Arrays.asList(interaction.getActions().get(0).getType(), response.getType()));
+        assertTrue(interaction.getLatency().toNanos() >= 0);
+    }
+
+    @Test
+    void reportsEveryGeneratedInteraction() throws Exception {
+        final AbstractCommand command = echo(ExecutionMode.PLATFORM_THREADS);
+        final LoadReport report = new LoadGenerator(Arrays.asList(
+                Interactions.slash(command).subcommand("say").option("text", "a").member(2),
+                Interactions.slash(command).subcommand("say").option("text", "b").user(3)),
+                4, Duration.ofSeconds(5)).run(200);
+
+        assertEquals(200, report.getCompleted());
+        assertEquals(0, report.getTimedOut());
+        assertEquals(0, report.getFailed());
+    }
+
+    private static AbstractCommand echo(final ExecutionMode mode) {
+        return new AbstractCommand(new SimulatedClient(
+                new SimulatedConfig(Collections.emptyMap(), 100, mode)), "echo", "Echo.") {
+
+            @Override
+            protected RootCommandNode build(final RootCommandBuilder data) {
+                return data.then(Commands.subCommand("say", "Says.")
+                        .then(Commands.option("text", "The text.", OptionType.STRING).required()
+                                .executes(context -> context.getEvent().getHook().sendMessage(
+                                        context.getEvent().getOption("text").getAsString()))))
+                        .build();
+            }
+        };
+    }
+}